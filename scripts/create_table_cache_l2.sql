@@ -0,0 +1,46 @@
+-- ============================================================================
+-- Script SQL para criar a tabela t_mt_cache_l2
+-- Sistema: Nexus - Mind Track
+-- Descrição: Segundo nível de cache (L2) compartilhado entre as instâncias
+--            da aplicação (cache.l2.tipo=jdbc)
+-- ============================================================================
+
+-- Remover índices se existirem
+BEGIN
+    EXECUTE IMMEDIATE 'DROP INDEX idx_cache_l2_expiracao';
+EXCEPTION
+    WHEN OTHERS THEN NULL;
+END;
+/
+
+-- Remover tabela se existir
+BEGIN
+    EXECUTE IMMEDIATE 'DROP TABLE t_mt_cache_l2 CASCADE CONSTRAINTS';
+EXCEPTION
+    WHEN OTHERS THEN NULL;
+END;
+/
+
+-- Criar tabela
+CREATE TABLE t_mt_cache_l2 (
+    id_entrada NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome_cache VARCHAR2(50) NOT NULL,
+    chave VARCHAR2(500) NOT NULL,
+    valor BLOB NOT NULL,
+    expira_em TIMESTAMP NOT NULL,
+    CONSTRAINT uk_cache_l2_nome_chave UNIQUE (nome_cache, chave)
+);
+
+-- Índice para a limpeza das entradas expiradas
+CREATE INDEX idx_cache_l2_expiracao ON t_mt_cache_l2(expira_em);
+
+-- Adicionar comentários na tabela e colunas
+COMMENT ON TABLE t_mt_cache_l2 IS 'Segundo nível de cache compartilhado entre as instâncias';
+COMMENT ON COLUMN t_mt_cache_l2.id_entrada IS 'Identificador único da entrada';
+COMMENT ON COLUMN t_mt_cache_l2.nome_cache IS 'Nome do cache (humor, habitos, sprints, badges)';
+COMMENT ON COLUMN t_mt_cache_l2.chave IS 'Chave da entrada (ex: usuario:pagina:tamanho:ordenacao)';
+COMMENT ON COLUMN t_mt_cache_l2.valor IS 'Valor em serialização Java';
+COMMENT ON COLUMN t_mt_cache_l2.expira_em IS 'Data e hora a partir da qual a entrada é ignorada';
+
+-- Confirmar criação
+SELECT 'Tabela t_mt_cache_l2 criada com sucesso!' AS STATUS FROM DUAL;
@@ -42,9 +42,20 @@ EXCEPTION
 END;
 /
 
+-- Remover sequence se existir
+BEGIN
+    EXECUTE IMMEDIATE 'DROP SEQUENCE sq_mt_conversas_ia';
+EXCEPTION
+    WHEN OTHERS THEN NULL;
+END;
+/
+
+-- Sequence do id (INCREMENT BY igual ao allocationSize da entidade ConversaIA)
+CREATE SEQUENCE sq_mt_conversas_ia START WITH 1 INCREMENT BY 50;
+
 -- Criar tabela
 CREATE TABLE t_mt_conversas_ia (
-    id_conversa NUMBER GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    id_conversa NUMBER PRIMARY KEY,
     id_usuario NUMBER NOT NULL,
     data_mensagem TIMESTAMP NOT NULL,
     tipo_mensagem VARCHAR2(20) NOT NULL,
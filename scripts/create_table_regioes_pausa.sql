@@ -0,0 +1,40 @@
+-- ============================================================================
+-- Script SQL para criar a tabela t_mt_regioes_pausa
+-- Sistema: Nexus - Mind Track
+-- Descrição: Regiões de interesse do monitoramento de pausas por usuário,
+--            compartilhadas entre as instâncias da aplicação
+-- ============================================================================
+
+-- Remover constraints se existirem
+BEGIN
+    EXECUTE IMMEDIATE 'ALTER TABLE t_mt_regioes_pausa DROP CONSTRAINT fk_regioes_pausa_usuario';
+EXCEPTION
+    WHEN OTHERS THEN NULL;
+END;
+/
+
+-- Remover tabela se existir
+BEGIN
+    EXECUTE IMMEDIATE 'DROP TABLE t_mt_regioes_pausa CASCADE CONSTRAINTS';
+EXCEPTION
+    WHEN OTHERS THEN NULL;
+END;
+/
+
+-- Criar tabela
+CREATE TABLE t_mt_regioes_pausa (
+    id_usuario NUMBER PRIMARY KEY,
+    poligonos CLOB NOT NULL,
+    atualizado_em TIMESTAMP NOT NULL,
+    CONSTRAINT fk_regioes_pausa_usuario FOREIGN KEY (id_usuario)
+        REFERENCES t_mt_usuarios(id_usuario)
+);
+
+-- Adicionar comentários na tabela e colunas
+COMMENT ON TABLE t_mt_regioes_pausa IS 'Regiões de interesse do monitoramento de pausas';
+COMMENT ON COLUMN t_mt_regioes_pausa.id_usuario IS 'Referência ao usuário';
+COMMENT ON COLUMN t_mt_regioes_pausa.poligonos IS 'Polígonos normalizados (0..1): separados por ;, pontos por espaço, coordenadas por vírgula';
+COMMENT ON COLUMN t_mt_regioes_pausa.atualizado_em IS 'Data e hora da última definição';
+
+-- Confirmar criação
+SELECT 'Tabela t_mt_regioes_pausa criada com sucesso!' AS STATUS FROM DUAL;
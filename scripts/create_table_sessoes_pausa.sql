@@ -0,0 +1,66 @@
+-- ============================================================================
+-- Script SQL para criar a tabela t_mt_sessoes_pausa
+-- Sistema: Nexus - Mind Track
+-- Descrição: Snapshots das sessões de monitoramento de pausas (gravação
+--            write-behind em lote pelo PausaMonitorService)
+-- ============================================================================
+
+-- Remover índices se existirem
+BEGIN
+    EXECUTE IMMEDIATE 'DROP INDEX idx_sessao_pausa_atualizacao';
+EXCEPTION
+    WHEN OTHERS THEN NULL;
+END;
+/
+
+-- Remover constraints se existirem
+BEGIN
+    EXECUTE IMMEDIATE 'ALTER TABLE t_mt_sessoes_pausa DROP CONSTRAINT fk_sessao_pausa_usuario';
+EXCEPTION
+    WHEN OTHERS THEN NULL;
+END;
+/
+
+-- Remover tabela se existir
+BEGIN
+    EXECUTE IMMEDIATE 'DROP TABLE t_mt_sessoes_pausa CASCADE CONSTRAINTS';
+EXCEPTION
+    WHEN OTHERS THEN NULL;
+END;
+/
+
+-- Criar tabela
+CREATE TABLE t_mt_sessoes_pausa (
+    id_sessao NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id_usuario NUMBER NOT NULL,
+    inicio_sessao TIMESTAMP NOT NULL,
+    ultimo_movimento TIMESTAMP,
+    ausente NUMBER(1) DEFAULT 0 NOT NULL,
+    inicio_ausencia TIMESTAMP,
+    tempo_sentado_minutos NUMBER,
+    total_pausas NUMBER,
+    encerrada NUMBER(1) DEFAULT 0 NOT NULL,
+    atualizado_em TIMESTAMP NOT NULL,
+    CONSTRAINT fk_sessao_pausa_usuario FOREIGN KEY (id_usuario)
+        REFERENCES t_mt_usuarios(id_usuario),
+    CONSTRAINT uk_sessao_pausa_usuario_inicio UNIQUE (id_usuario, inicio_sessao)
+);
+
+-- Índice para a restauração (última sessão aberta do usuário)
+CREATE INDEX idx_sessao_pausa_atualizacao ON t_mt_sessoes_pausa(id_usuario, atualizado_em);
+
+-- Adicionar comentários na tabela e colunas
+COMMENT ON TABLE t_mt_sessoes_pausa IS 'Snapshots das sessões de monitoramento de pausas';
+COMMENT ON COLUMN t_mt_sessoes_pausa.id_sessao IS 'Identificador único da sessão';
+COMMENT ON COLUMN t_mt_sessoes_pausa.id_usuario IS 'Referência ao usuário';
+COMMENT ON COLUMN t_mt_sessoes_pausa.inicio_sessao IS 'Início da sessão (chave natural junto com o usuário)';
+COMMENT ON COLUMN t_mt_sessoes_pausa.ultimo_movimento IS 'Último movimento detectado';
+COMMENT ON COLUMN t_mt_sessoes_pausa.ausente IS '1 se o usuário estava ausente na última gravação';
+COMMENT ON COLUMN t_mt_sessoes_pausa.inicio_ausencia IS 'Início da ausência atual';
+COMMENT ON COLUMN t_mt_sessoes_pausa.tempo_sentado_minutos IS 'Tempo sentado em minutos';
+COMMENT ON COLUMN t_mt_sessoes_pausa.total_pausas IS 'Pausas registradas na sessão';
+COMMENT ON COLUMN t_mt_sessoes_pausa.encerrada IS '1 se a sessão foi resetada (não é restaurada)';
+COMMENT ON COLUMN t_mt_sessoes_pausa.atualizado_em IS 'Data e hora da última gravação';
+
+-- Confirmar criação
+SELECT 'Tabela t_mt_sessoes_pausa criada com sucesso!' AS STATUS FROM DUAL;
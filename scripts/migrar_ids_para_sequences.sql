@@ -0,0 +1,52 @@
+-- ============================================================================
+-- Script SQL para migrar os ids de IDENTITY para SEQUENCE (Oracle)
+-- Sistema: Nexus - Mind Track
+-- Descrição: Usuario, Humor, Habito, Sprint, AlertaIA e ConversaIA passam a
+--            gerar o id por sequence com incremento 50 (otimizador pooled do
+--            Hibernate), o que permite agrupar os INSERTs em lote (JDBC batch).
+--            Rodar ANTES de subir a versão que usa as sequences.
+--
+-- - Remove o IDENTITY das colunas de id (os valores existentes são mantidos)
+-- - Cria cada sequence começando em MAX(id) + 50: o Hibernate usa o valor lido
+--   como topo do bloco de 50 ids, então o primeiro id gerado é MAX(id) + 1
+-- - O INCREMENT BY precisa ser igual ao allocationSize das entidades (50)
+-- - Pode ser executado de novo: recria as sequences a partir dos ids atuais
+-- ============================================================================
+
+DECLARE
+    PROCEDURE migrar(p_tabela VARCHAR2, p_coluna VARCHAR2, p_sequence VARCHAR2) IS
+        v_inicio NUMBER;
+    BEGIN
+        -- Remover IDENTITY se existir
+        BEGIN
+            EXECUTE IMMEDIATE 'ALTER TABLE ' || p_tabela || ' MODIFY (' || p_coluna || ' DROP IDENTITY)';
+        EXCEPTION
+            WHEN OTHERS THEN NULL;
+        END;
+
+        -- Remover sequence se existir
+        BEGIN
+            EXECUTE IMMEDIATE 'DROP SEQUENCE ' || p_sequence;
+        EXCEPTION
+            WHEN OTHERS THEN NULL;
+        END;
+
+        EXECUTE IMMEDIATE 'SELECT NVL(MAX(' || p_coluna || '), 0) + 50 FROM ' || p_tabela INTO v_inicio;
+        EXECUTE IMMEDIATE 'CREATE SEQUENCE ' || p_sequence || ' START WITH ' || v_inicio || ' INCREMENT BY 50';
+        DBMS_OUTPUT.PUT_LINE(p_sequence || ' criada começando em ' || v_inicio);
+    END;
+BEGIN
+    migrar('t_mt_usuarios', 'id_usuario', 'sq_mt_usuarios');
+    migrar('t_mt_humor', 'id_humor', 'sq_mt_humor');
+    migrar('t_mt_habitos', 'id_habito', 'sq_mt_habitos');
+    migrar('t_mt_sprints', 'id_sprint', 'sq_mt_sprints');
+    migrar('t_mt_alertas_ia', 'id_alerta', 'sq_mt_alertas_ia');
+    migrar('t_mt_conversas_ia', 'id_conversa', 'sq_mt_conversas_ia');
+END;
+/
+
+-- Confirmar criação
+SELECT sequence_name, last_number, increment_by
+FROM user_sequences
+WHERE sequence_name LIKE 'SQ_MT_%'
+ORDER BY sequence_name;
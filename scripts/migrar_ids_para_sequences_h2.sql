@@ -0,0 +1,28 @@
+-- ============================================================================
+-- Script SQL para migrar os ids de IDENTITY para SEQUENCE (H2 com banco em arquivo)
+-- Sistema: Nexus - Mind Track
+-- Descrição: Equivalente H2 de migrar_ids_para_sequences.sql. O perfil dev usa
+--            H2 em memória com ddl-auto=create-drop e não precisa deste script.
+-- ============================================================================
+
+ALTER TABLE t_mt_usuarios ALTER COLUMN id_usuario DROP IDENTITY;
+ALTER TABLE t_mt_humor ALTER COLUMN id_humor DROP IDENTITY;
+ALTER TABLE t_mt_habitos ALTER COLUMN id_habito DROP IDENTITY;
+ALTER TABLE t_mt_sprints ALTER COLUMN id_sprint DROP IDENTITY;
+ALTER TABLE t_mt_alertas_ia ALTER COLUMN id_alerta DROP IDENTITY;
+ALTER TABLE t_mt_conversas_ia ALTER COLUMN id_conversa DROP IDENTITY;
+
+-- Começando em MAX(id) + 50: o Hibernate usa o valor lido como topo do bloco de 50 ids
+CREATE SEQUENCE IF NOT EXISTS sq_mt_usuarios INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS sq_mt_humor INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS sq_mt_habitos INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS sq_mt_sprints INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS sq_mt_alertas_ia INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS sq_mt_conversas_ia INCREMENT BY 50;
+
+ALTER SEQUENCE sq_mt_usuarios RESTART WITH (SELECT COALESCE(MAX(id_usuario), 0) + 50 FROM t_mt_usuarios);
+ALTER SEQUENCE sq_mt_humor RESTART WITH (SELECT COALESCE(MAX(id_humor), 0) + 50 FROM t_mt_humor);
+ALTER SEQUENCE sq_mt_habitos RESTART WITH (SELECT COALESCE(MAX(id_habito), 0) + 50 FROM t_mt_habitos);
+ALTER SEQUENCE sq_mt_sprints RESTART WITH (SELECT COALESCE(MAX(id_sprint), 0) + 50 FROM t_mt_sprints);
+ALTER SEQUENCE sq_mt_alertas_ia RESTART WITH (SELECT COALESCE(MAX(id_alerta), 0) + 50 FROM t_mt_alertas_ia);
+ALTER SEQUENCE sq_mt_conversas_ia RESTART WITH (SELECT COALESCE(MAX(id_conversa), 0) + 50 FROM t_mt_conversas_ia);
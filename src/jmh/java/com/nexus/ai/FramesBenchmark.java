@@ -0,0 +1,121 @@
+package com.nexus.ai;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import javax.imageio.ImageIO;
+
+/**
+ * Frames usados nos benchmarks: sintéticos (cena de escritório simplificada com uma pessoa que se desloca)
+ * ou gravados (JPEG/PNG de um diretório, redimensionados para a resolução do benchmark)
+ */
+final class FramesBenchmark {
+
+    static final String SINTETICO = "sintetico";
+
+    private FramesBenchmark() {
+    }
+
+    /**
+     * Sequência de frames codificados em JPEG na resolução pedida
+     *
+     * @param fonte {@link #SINTETICO} ou o caminho de um diretório com frames gravados
+     */
+    static List<byte[]> carregar(String fonte, int largura, int altura, int quantidade) {
+        List<BufferedImage> imagens = SINTETICO.equals(fonte)
+                ? sinteticos(largura, altura, quantidade)
+                : gravados(new File(fonte), largura, altura);
+        List<byte[]> frames = new ArrayList<>(imagens.size());
+        for (BufferedImage imagem : imagens) {
+            frames.add(jpeg(imagem));
+        }
+        return frames;
+    }
+
+    static int[] resolucao(String valor) {
+        String[] partes = valor.split("x");
+        return new int[]{Integer.parseInt(partes[0]), Integer.parseInt(partes[1])};
+    }
+
+    private static List<BufferedImage> sinteticos(int largura, int altura, int quantidade) {
+        List<BufferedImage> imagens = new ArrayList<>(quantidade);
+        Random random = new Random(2024);
+        for (int i = 0; i < quantidade; i++) {
+            BufferedImage imagem = new BufferedImage(largura, altura, BufferedImage.TYPE_3BYTE_BGR);
+            Graphics2D g = imagem.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+            // Parede com gradiente de luz e mesa
+            g.setPaint(new GradientPaint(0, 0, new Color(200, 196, 185), largura, altura, new Color(120, 118, 110)));
+            g.fillRect(0, 0, largura, altura);
+            g.setColor(new Color(110, 80, 50));
+            g.fillRect(0, altura * 3 / 4, largura, altura / 4);
+            g.setColor(new Color(40, 40, 45));
+            g.setStroke(new BasicStroke(Math.max(1, largura / 160f)));
+            g.drawRect(largura / 10, altura / 10, largura / 5, altura / 4);
+
+            // Pessoa: cabeça e tronco deslocando alguns pixels por frame
+            int deslocamento = (int) (Math.sin(i * 0.7) * largura / 20);
+            int cx = largura / 2 + deslocamento;
+            g.setColor(new Color(205, 160, 130));
+            g.fillOval(cx - largura / 16, altura / 4, largura / 8, altura / 6);
+            g.setColor(new Color(50, 70, 130));
+            g.fillRoundRect(cx - largura / 8, altura / 4 + altura / 6, largura / 4, altura / 3, largura / 20, largura / 20);
+            g.dispose();
+
+            // Ruído de sensor
+            for (int n = 0; n < largura * altura / 50; n++) {
+                int x = random.nextInt(largura);
+                int y = random.nextInt(altura);
+                int v = 100 + random.nextInt(100);
+                imagem.setRGB(x, y, (v << 16) | (v << 8) | v);
+            }
+            imagens.add(imagem);
+        }
+        return imagens;
+    }
+
+    private static List<BufferedImage> gravados(File diretorio, int largura, int altura) {
+        File[] arquivos = diretorio.listFiles((dir, nome) -> nome.toLowerCase().matches(".*\\.(jpe?g|png)"));
+        if (arquivos == null || arquivos.length < 2) {
+            throw new IllegalArgumentException("Diretório de frames gravados precisa de ao menos 2 imagens: " + diretorio);
+        }
+        Arrays.sort(arquivos);
+        List<BufferedImage> imagens = new ArrayList<>(arquivos.length);
+        for (File arquivo : arquivos) {
+            try {
+                BufferedImage original = ImageIO.read(arquivo);
+                BufferedImage redimensionada = new BufferedImage(largura, altura, BufferedImage.TYPE_3BYTE_BGR);
+                Graphics2D g = redimensionada.createGraphics();
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.drawImage(original, 0, 0, largura, altura, null);
+                g.dispose();
+                imagens.add(redimensionada);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return imagens;
+    }
+
+    private static byte[] jpeg(BufferedImage imagem) {
+        try {
+            ByteArrayOutputStream saida = new ByteArrayOutputStream();
+            ImageIO.write(imagem, "jpg", saida);
+            return saida.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.nexus.ai;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de cada etapa do pipeline de detecção de movimento do {@link PausaMonitorService}
+ *
+ * Etapas: decodificação (resolução completa e reduzida para 320x240), escala de cinza, blur, diferença
+ * entre frames, modelo de fundo e o processamento completo de um frame. Com "-prof gc" o JMH reporta
+ * também a taxa de alocação por operação (gc.alloc.rate.norm), que deve ser ~0 nas etapas sobre arrays.
+ *
+ * Execução: ver COMO_TESTAR_PAUSA_MONITOR.md (seção Benchmarks).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PausaMonitorBenchmark {
+
+    private static final int QUANTIDADE_FRAMES = 8;
+
+    @Param({"320x240", "640x480", "1280x720"})
+    public String resolucao;
+
+    // "sintetico" ou caminho de um diretório com frames gravados (-p frames=/caminho)
+    @Param({FramesBenchmark.SINTETICO})
+    public String frames;
+
+    private List<byte[]> jpegs;
+    private int largura;
+    private int altura;
+    private int raio;
+    private int indice;
+
+    private PausaMonitorService servicoCompleto;
+    private PausaMonitorService servicoReduzido;
+    private BufferedImage imagem;
+    private LumaPipeline.Buffers buffers;
+    private byte[] cinza;
+    private byte[] borradoA;
+    private byte[] borradoB;
+    private ModeloFundo fundo;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        int[] tamanho = FramesBenchmark.resolucao(resolucao);
+        largura = tamanho[0];
+        altura = tamanho[1];
+        jpegs = FramesBenchmark.carregar(frames, largura, altura, QUANTIDADE_FRAMES);
+
+        servicoCompleto = new PausaMonitorService(0, 0, 60, 1000, "diferenca", 0.05, 2, 2000);
+        servicoReduzido = new PausaMonitorService(320, 240, 60, 1000, "diferenca", 0.05, 2, 2000);
+        // Mesmo raio do serviço sem resolução de análise configurada (GAUSSIAN_BLUR_SIZE / 2)
+        raio = 10;
+
+        imagem = servicoCompleto.decodificarFrame(jpegs.get(0));
+        buffers = LumaPipeline.buffers();
+        cinza = LumaPipeline.converterParaCinza(imagem, largura, altura, buffers).clone();
+
+        borradoA = new byte[largura * altura];
+        borradoB = new byte[largura * altura];
+        LumaPipeline.borrar(cinza, borradoA, largura, altura, raio, buffers);
+        byte[] cinzaB = LumaPipeline.converterParaCinza(servicoCompleto.decodificarFrame(jpegs.get(1)), largura, altura, buffers);
+        LumaPipeline.borrar(cinzaB, borradoB, largura, altura, raio, buffers);
+        fundo = new ModeloFundo(borradoA, largura * altura, ModeloFundo.pesoDaTaxa(0.05));
+    }
+
+    private byte[] proximoFrame() {
+        indice = (indice + 1) % jpegs.size();
+        return jpegs.get(indice);
+    }
+
+    @Benchmark
+    public BufferedImage decodificarCompleto() throws IOException {
+        return servicoCompleto.decodificarFrame(proximoFrame());
+    }
+
+    @Benchmark
+    public BufferedImage decodificarReduzido() throws IOException {
+        return servicoReduzido.decodificarFrame(proximoFrame());
+    }
+
+    @Benchmark
+    public byte[] escalaDeCinza() {
+        return LumaPipeline.converterParaCinza(imagem, largura, altura, buffers);
+    }
+
+    @Benchmark
+    public byte[] blur() {
+        LumaPipeline.borrar(cinza, borradoB, largura, altura, raio, buffers);
+        return borradoB;
+    }
+
+    @Benchmark
+    public int diferenca() {
+        return LumaPipeline.contarDiferencas(borradoA, borradoB, largura, altura);
+    }
+
+    @Benchmark
+    public int modeloFundo() {
+        return fundo.compararEAtualizar((indice++ & 1) == 0 ? borradoA : borradoB, LumaPipeline.LIMIAR_DIFERENCA);
+    }
+
+    @Benchmark
+    public PausaMonitorService.ResultadoMonitoramento frameCompletoResolucaoOriginal() {
+        return servicoCompleto.processarFrame(1, proximoFrame());
+    }
+
+    @Benchmark
+    public PausaMonitorService.ResultadoMonitoramento frameCompletoAnalise320x240() {
+        return servicoReduzido.processarFrame(1, proximoFrame());
+    }
+}
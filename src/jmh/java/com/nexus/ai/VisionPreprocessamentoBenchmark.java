@@ -0,0 +1,59 @@
+package com.nexus.ai;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark do pré-processamento do {@link VisionService} antes da chamada HTTP
+ *
+ * analisarAmbienteTrabalho codifica a foto em base64 e chamarHuggingFaceAPI decodifica de volta para
+ * enviar como application/octet-stream; o benchmark mede esse caminho e o envio direto dos bytes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VisionPreprocessamentoBenchmark {
+
+    @Param({"320x240", "640x480", "1280x720"})
+    public String resolucao;
+
+    @Param({FramesBenchmark.SINTETICO})
+    public String frames;
+
+    private byte[] foto;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        int[] tamanho = FramesBenchmark.resolucao(resolucao);
+        List<byte[]> jpegs = FramesBenchmark.carregar(frames, tamanho[0], tamanho[1], 1);
+        foto = jpegs.get(0);
+    }
+
+    @Benchmark
+    public byte[] base64IdaEVolta() {
+        String base64Image = Base64.getEncoder().encodeToString(foto);
+        return Base64.getDecoder().decode(base64Image);
+    }
+
+    @Benchmark
+    public String base64Codificar() {
+        return Base64.getEncoder().encodeToString(foto);
+    }
+}
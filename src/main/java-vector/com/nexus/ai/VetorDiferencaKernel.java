@@ -0,0 +1,46 @@
+package com.nexus.ai;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernel SIMD de diferença entre frames usando a Vector API (jdk.incubator.vector)
+ *
+ * Só é compilado com o profile Maven "vector-api" e só é usado se a JVM for iniciada com
+ * --add-modules jdk.incubator.vector; caso contrário {@link LumaPipeline} usa o kernel escalar.
+ *
+ * Bytes são sem sinal (0..255), mas a Vector API compara com sinal. Inverter o bit mais alto (XOR 0x80)
+ * preserva a ordem, então max - min dá |a - b| módulo 256. Diferenças de 128 a 255 aparecem negativas
+ * nesse byte, por isso a condição é "d > limiar ou d < 0".
+ */
+final class VetorDiferencaKernel implements DiferencaKernel {
+
+    private static final VectorSpecies<Byte> ESPECIE = ByteVector.SPECIES_PREFERRED;
+
+    @Override
+    public int contar(byte[] plano1, byte[] plano2, int inicio, int fim, int limiar) {
+        int diferencaTotal = 0;
+        int i = inicio;
+        int limite = inicio + ESPECIE.loopBound(fim - inicio);
+        byte limiarByte = (byte) limiar;
+
+        for (; i < limite; i += ESPECIE.length()) {
+            ByteVector a = ByteVector.fromArray(ESPECIE, plano1, i).lanewise(VectorOperators.XOR, (byte) 0x80);
+            ByteVector b = ByteVector.fromArray(ESPECIE, plano2, i).lanewise(VectorOperators.XOR, (byte) 0x80);
+            ByteVector diferenca = a.max(b).sub(a.min(b));
+            VectorMask<Byte> acima = diferenca.compare(VectorOperators.GT, limiarByte)
+                    .or(diferenca.compare(VectorOperators.LT, (byte) 0));
+            diferencaTotal += acima.trueCount();
+        }
+
+        // Cauda que não completa um vetor
+        for (; i < fim; i++) {
+            if (Math.abs((plano1[i] & 0xFF) - (plano2[i] & 0xFF)) > limiar) {
+                diferencaTotal++;
+            }
+        }
+        return diferencaTotal;
+    }
+}
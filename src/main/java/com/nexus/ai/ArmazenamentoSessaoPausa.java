@@ -0,0 +1,46 @@
+package com.nexus.ai;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Armazenamento persistente das sessões de monitoramento de pausas
+ *
+ * O {@link PausaMonitorService} mantém as sessões em memória e usa este armazenamento de forma
+ * write-behind: as sessões alteradas são gravadas periodicamente em lote (fora do caminho dos frames) e
+ * uma sessão que não está em memória é restaurada de forma assíncrona no próximo frame do usuário.
+ * As regiões de interesse do usuário são guardadas junto, para valerem também no nó que assumir o usuário.
+ */
+public interface ArmazenamentoSessaoPausa {
+
+    /**
+     * Grava (insere ou atualiza) o estado atual das sessões. Chamado por tarefa agendada, nunca por processarFrame.
+     */
+    void salvar(List<PausaMonitorService.SessaoMonitoramento> sessoes);
+
+    /**
+     * Carrega a última sessão ainda aberta do usuário, sem bloquear quem chama
+     *
+     * @param desde ignora sessões sem gravação desde este horário (ociosas)
+     */
+    CompletableFuture<Optional<PausaMonitorService.SessaoMonitoramento>> carregar(Integer usuarioId, LocalDateTime desde);
+
+    /**
+     * Marca as sessões abertas do usuário como encerradas (reset explícito), para que não sejam restauradas
+     * Síncrono: um carregar chamado depois do retorno já não encontra as sessões encerradas.
+     */
+    void encerrar(Integer usuarioId);
+
+    /**
+     * Grava as regiões de interesse do usuário (polígonos normalizados), substituindo as anteriores
+     * Síncrono, chamado quando o usuário define ou remove as regiões; lista vazia remove.
+     */
+    void salvarRegioes(Integer usuarioId, List<double[][]> poligonos);
+
+    /**
+     * Carrega as regiões de interesse gravadas do usuário, sem bloquear quem chama (vazio = frame inteiro)
+     */
+    CompletableFuture<Optional<List<double[][]>>> carregarRegioes(Integer usuarioId);
+}
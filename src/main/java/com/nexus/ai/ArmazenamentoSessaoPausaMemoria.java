@@ -0,0 +1,82 @@
+package com.nexus.ai;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Armazenamento de sessões em memória, local ao nó (pausa-monitor.sessao.armazenamento=memoria)
+ *
+ * Guarda a última gravação de cada usuário: sessões descartadas do cache do {@link PausaMonitorService}
+ * (limite de tamanho) são restauradas sem banco de dados. Não é compartilhado entre instâncias; com
+ * mais de um nó use o armazenamento "jdbc".
+ */
+@Component
+@ConditionalOnProperty(name = "pausa-monitor.sessao.armazenamento", havingValue = "memoria")
+public class ArmazenamentoSessaoPausaMemoria implements ArmazenamentoSessaoPausa {
+
+    private final Cache<Integer, SessaoGravada> sessoes;
+    private final Cache<Integer, List<double[][]>> regioes;
+
+    public ArmazenamentoSessaoPausaMemoria(@Value("${pausa-monitor.sessao.ociosidade-minutos:60}") long ociosidadeMinutos,
+                                           @Value("${pausa-monitor.sessao.maximo:10000}") long maximoSessoes) {
+        this.sessoes = Caffeine.newBuilder()
+                .expireAfterWrite(ociosidadeMinutos, TimeUnit.MINUTES)
+                .maximumSize(maximoSessoes)
+                .build();
+        this.regioes = Caffeine.newBuilder()
+                .maximumSize(maximoSessoes)
+                .build();
+    }
+
+    @Override
+    public void salvar(List<PausaMonitorService.SessaoMonitoramento> lote) {
+        LocalDateTime agora = LocalDateTime.now();
+        for (PausaMonitorService.SessaoMonitoramento sessao : lote) {
+            sessoes.put(sessao.getUsuarioId(), new SessaoGravada(sessao, agora));
+        }
+    }
+
+    @Override
+    public CompletableFuture<Optional<PausaMonitorService.SessaoMonitoramento>> carregar(Integer usuarioId, LocalDateTime desde) {
+        SessaoGravada gravada = sessoes.getIfPresent(usuarioId);
+        return CompletableFuture.completedFuture(gravada != null && !gravada.getAtualizadoEm().isBefore(desde)
+                ? Optional.of(gravada.getSessao()) : Optional.empty());
+    }
+
+    @Override
+    public void encerrar(Integer usuarioId) {
+        sessoes.invalidate(usuarioId);
+    }
+
+    @Override
+    public void salvarRegioes(Integer usuarioId, List<double[][]> poligonos) {
+        if (poligonos.isEmpty()) {
+            regioes.invalidate(usuarioId);
+        } else {
+            regioes.put(usuarioId, List.copyOf(poligonos));
+        }
+    }
+
+    @Override
+    public CompletableFuture<Optional<List<double[][]>>> carregarRegioes(Integer usuarioId) {
+        return CompletableFuture.completedFuture(Optional.ofNullable(regioes.getIfPresent(usuarioId)));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class SessaoGravada {
+        private final PausaMonitorService.SessaoMonitoramento sessao;
+        private final LocalDateTime atualizadoEm;
+    }
+}
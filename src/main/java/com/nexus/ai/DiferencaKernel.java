@@ -0,0 +1,14 @@
+package com.nexus.ai;
+
+/**
+ * Kernel de diferença absoluta + limiar entre dois planos de luminância
+ *
+ * Implementações devem contar exatamente os mesmos pixels que {@link EscalarDiferencaKernel}.
+ */
+interface DiferencaKernel {
+
+    /**
+     * Conta os índices i em [inicio, fim) com |plano1[i] - plano2[i]| > limiar (bytes sem sinal)
+     */
+    int contar(byte[] plano1, byte[] plano2, int inicio, int fim, int limiar);
+}
@@ -0,0 +1,19 @@
+package com.nexus.ai;
+
+/**
+ * Kernel escalar de diferença entre frames (padrão, disponível em qualquer JVM)
+ */
+final class EscalarDiferencaKernel implements DiferencaKernel {
+
+    @Override
+    public int contar(byte[] plano1, byte[] plano2, int inicio, int fim, int limiar) {
+        int diferencaTotal = 0;
+        for (int i = inicio; i < fim; i++) {
+            int diferenca = Math.abs((plano1[i] & 0xFF) - (plano2[i] & 0xFF));
+            if (diferenca > limiar) {
+                diferencaTotal++;
+            }
+        }
+        return diferencaTotal;
+    }
+}
@@ -0,0 +1,247 @@
+package com.nexus.ai;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.util.stream.IntStream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pipeline de luminância usado na detecção de movimento
+ *
+ * Trabalha direto sobre planos byte[] (um byte por pixel, sem stride) em vez de getRGB/setRGB.
+ * Cada thread trabalhadora mantém seus próprios buffers de rascunho (ver {@link Buffers}), que só são
+ * realocados quando a resolução do frame muda, então o caminho quente por frame não aloca memória.
+ *
+ * Os valores dos planos borrados estão na mesma escala de intensidade que getRGB(x, y) & 0xFF retornava
+ * na implementação original, preservando a semântica do limiar de diferença (> 25) e de MOTION_THRESHOLD.
+ */
+@Slf4j
+final class LumaPipeline {
+
+    // Limiar de diferença de intensidade entre pixels para contar como "diferente"
+    static final int LIMIAR_DIFERENCA = 25;
+
+    // A partir desse tamanho a contagem de diferenças é dividida em faixas de linhas no ForkJoinPool comum
+    static final int PIXELS_MINIMO_PARALELO = 640 * 480;
+    private static final int LINHAS_POR_FAIXA = 64;
+
+    // Kernel SIMD (profile "vector-api" + --add-modules jdk.incubator.vector) ou escalar
+    private static final DiferencaKernel KERNEL = carregarKernel();
+
+    /**
+     * Tabelas de conversão de TYPE_BYTE_GRAY, geradas com o próprio BufferedImage para que o blur em
+     * arrays produza exatamente o mesmo resultado que getRGB/setRGB (que aplicam correção gamma sRGB):
+     * - INTENSIDADE_LEITURA[amostra] = getRGB(x, y) & 0xFF para um pixel com essa amostra
+     * - NIVEL_BORRADO[media] = getRGB(x, y) & 0xFF depois de setRGB(x, y, cinza(media))
+     */
+    private static final int[] INTENSIDADE_LEITURA = new int[256];
+    private static final byte[] NIVEL_BORRADO = new byte[256];
+
+    static {
+        BufferedImage tabela = new BufferedImage(256, 1, BufferedImage.TYPE_BYTE_GRAY);
+        for (int i = 0; i < 256; i++) {
+            tabela.getRaster().setSample(i, 0, 0, i);
+            INTENSIDADE_LEITURA[i] = tabela.getRGB(i, 0) & 0xFF;
+        }
+        for (int i = 0; i < 256; i++) {
+            tabela.setRGB(i, 0, (i << 16) | (i << 8) | i);
+            NIVEL_BORRADO[i] = (byte) (tabela.getRGB(i, 0) & 0xFF);
+        }
+    }
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private LumaPipeline() {
+    }
+
+    /**
+     * Buffers de rascunho da thread atual
+     */
+    static Buffers buffers() {
+        return BUFFERS.get();
+    }
+
+    /**
+     * Converte (e redimensiona) a imagem para escala de cinza no buffer reutilizável da thread
+     *
+     * @return plano de amostras cinza (width * height bytes), válido até a próxima conversão nesta thread
+     */
+    static byte[] converterParaCinza(BufferedImage original, int width, int height, Buffers buffers) {
+        return converterParaCinza(original, width, height, 0, 0, width, height, buffers);
+    }
+
+    /**
+     * Converte só um retângulo (x, y, largura, altura) da imagem redimensionada para width x height; o Java2D
+     * descarta o que fica fora do retângulo, então o custo é proporcional à área convertida
+     *
+     * @return plano de amostras cinza (largura * altura bytes), válido até a próxima conversão nesta thread
+     */
+    static byte[] converterParaCinza(BufferedImage original, int width, int height,
+                                     int x, int y, int largura, int altura, Buffers buffers) {
+        BufferedImage cinza = buffers.imagemCinza(largura, altura);
+        Graphics2D g = cinza.createGraphics();
+        try {
+            if (original.getColorModel().hasAlpha()) {
+                // Imagem reaproveitada: limpa para preto para compor transparência como numa imagem nova
+                g.setColor(java.awt.Color.BLACK);
+                g.fillRect(0, 0, largura, altura);
+            }
+            g.drawImage(original, -x, -y, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return ((DataBufferByte) cinza.getRaster().getDataBuffer()).getData();
+    }
+
+    /**
+     * Box blur separável com somas deslizantes (custo constante por pixel, independente do raio)
+     *
+     * A janela [x - raio, x + raio] x [y - raio, y + raio] é recortada nas bordas da imagem e a média usa
+     * apenas os pixels válidos, exatamente como o kernel 2D original.
+     *
+     * @param cinza plano de amostras cinza (saída de {@link #converterParaCinza})
+     * @param destino plano borrado, em escala de intensidade
+     */
+    static void borrar(byte[] cinza, byte[] destino, int width, int height, int raio, Buffers buffers) {
+        int[] somaLinhas = buffers.somaLinhas(width * height);
+
+        // Passo horizontal: soma da janela recortada em cada linha
+        for (int y = 0; y < height; y++) {
+            int base = y * width;
+            int soma = 0;
+            for (int x = 0, fim = Math.min(raio, width - 1); x <= fim; x++) {
+                soma += INTENSIDADE_LEITURA[cinza[base + x] & 0xFF];
+            }
+            for (int x = 0; x < width; x++) {
+                somaLinhas[base + x] = soma;
+                int entra = x + raio + 1;
+                int sai = x - raio;
+                if (entra < width) {
+                    soma += INTENSIDADE_LEITURA[cinza[base + entra] & 0xFF];
+                }
+                if (sai >= 0) {
+                    soma -= INTENSIDADE_LEITURA[cinza[base + sai] & 0xFF];
+                }
+            }
+        }
+
+        // Passo vertical: soma das somas horizontais na janela recortada de cada coluna
+        int[] soma = buffers.somaColunas(width);
+        java.util.Arrays.fill(soma, 0, width, 0);
+        for (int y = 0, fim = Math.min(raio, height - 1); y <= fim; y++) {
+            int base = y * width;
+            for (int x = 0; x < width; x++) {
+                soma[x] += somaLinhas[base + x];
+            }
+        }
+        for (int y = 0; y < height; y++) {
+            int alturaJanela = Math.min(y + raio, height - 1) - Math.max(y - raio, 0) + 1;
+            int base = y * width;
+            for (int x = 0; x < width; x++) {
+                int larguraJanela = Math.min(x + raio, width - 1) - Math.max(x - raio, 0) + 1;
+                destino[base + x] = NIVEL_BORRADO[soma[x] / (larguraJanela * alturaJanela)];
+            }
+            int entra = (y + raio + 1) * width;
+            int sai = (y - raio) * width;
+            if (y + raio + 1 < height) {
+                for (int x = 0; x < width; x++) {
+                    soma[x] += somaLinhas[entra + x];
+                }
+            }
+            if (y - raio >= 0) {
+                for (int x = 0; x < width; x++) {
+                    soma[x] -= somaLinhas[sai + x];
+                }
+            }
+        }
+    }
+
+    /**
+     * Conta pixels cuja diferença absoluta de intensidade é maior que {@link #LIMIAR_DIFERENCA}
+     *
+     * Frames grandes (>= {@link #PIXELS_MINIMO_PARALELO}) são divididos em faixas de linhas processadas em
+     * paralelo; o resultado é sempre o mesmo da contagem sequencial.
+     */
+    static int contarDiferencas(byte[] plano1, byte[] plano2, int width, int height) {
+        if (width * height < PIXELS_MINIMO_PARALELO || height <= LINHAS_POR_FAIXA) {
+            return KERNEL.contar(plano1, plano2, 0, width * height, LIMIAR_DIFERENCA);
+        }
+        int faixas = (height + LINHAS_POR_FAIXA - 1) / LINHAS_POR_FAIXA;
+        return IntStream.range(0, faixas).parallel()
+                .map(faixa -> {
+                    int inicio = faixa * LINHAS_POR_FAIXA * width;
+                    int fim = Math.min(height, (faixa + 1) * LINHAS_POR_FAIXA) * width;
+                    return KERNEL.contar(plano1, plano2, inicio, fim, LIMIAR_DIFERENCA);
+                })
+                .sum();
+    }
+
+    static String nomeKernel() {
+        return KERNEL.getClass().getSimpleName();
+    }
+
+    private static DiferencaKernel carregarKernel() {
+        try {
+            DiferencaKernel kernel = (DiferencaKernel) Class.forName("com.nexus.ai.VetorDiferencaKernel")
+                    .getDeclaredConstructor().newInstance();
+            // Valida o kernel vetorial contra o escalar antes de usá-lo
+            byte[] a = new byte[257];
+            byte[] b = new byte[257];
+            for (int i = 0; i < a.length; i++) {
+                a[i] = (byte) i;
+                b[i] = (byte) (i * 7 + 13);
+            }
+            int esperado = new EscalarDiferencaKernel().contar(a, b, 0, a.length, LIMIAR_DIFERENCA);
+            if (kernel.contar(a, b, 0, a.length, LIMIAR_DIFERENCA) == esperado) {
+                log.info("Detecção de movimento usando kernel SIMD (Vector API)");
+                return kernel;
+            }
+            log.warn("Kernel SIMD divergiu do escalar, usando kernel escalar");
+        } catch (ClassNotFoundException | LinkageError e) {
+            // Sem o profile "vector-api" ou sem --add-modules jdk.incubator.vector
+        } catch (ReflectiveOperationException e) {
+            log.warn("Não foi possível carregar o kernel SIMD: {}", e.getMessage());
+        }
+        return new EscalarDiferencaKernel();
+    }
+
+    /**
+     * Buffers de rascunho de uma thread trabalhadora. Crescem sob demanda e são reaproveitados entre frames.
+     */
+    static final class Buffers {
+        private BufferedImage imagemCinza;
+        private int[] somaLinhas = new int[0];
+        private int[] somaColunas = new int[0];
+        private byte[] borrado = new byte[0];
+
+        BufferedImage imagemCinza(int width, int height) {
+            if (imagemCinza == null || imagemCinza.getWidth() != width || imagemCinza.getHeight() != height) {
+                imagemCinza = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+            }
+            return imagemCinza;
+        }
+
+        int[] somaLinhas(int tamanho) {
+            if (somaLinhas.length < tamanho) {
+                somaLinhas = new int[tamanho];
+            }
+            return somaLinhas;
+        }
+
+        int[] somaColunas(int tamanho) {
+            if (somaColunas.length < tamanho) {
+                somaColunas = new int[tamanho];
+            }
+            return somaColunas;
+        }
+
+        byte[] borrado(int tamanho) {
+            if (borrado.length < tamanho) {
+                borrado = new byte[tamanho];
+            }
+            return borrado;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.nexus.ai;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Area;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Regiões de interesse (ROI) de um usuário no monitoramento de pausas
+ *
+ * As regiões são polígonos em coordenadas normalizadas (0..1, relativas à largura e altura do frame), então
+ * valem para qualquer resolução. Para uma resolução de análise a máscara é rasterizada uma única vez em um
+ * {@link Recorte}: o retângulo envolvente das regiões (com margem do raio do blur) e a máscara dos pixels
+ * dentro delas. Só o recorte é convertido, borrado e comparado; pixels fora das regiões são zerados, então
+ * movimento fora delas (outro monitor, janela, pessoas passando) não conta.
+ *
+ * A máscara é a união das regiões: polígonos sobrepostos contam uma vez, qualquer que seja a ordem dos vértices.
+ */
+final class MascaraRoi {
+
+    static final int MAXIMO_REGIOES = 16;
+    static final int MAXIMO_PONTOS = 64;
+
+    private final List<double[][]> poligonos;
+    private final Shape forma;
+    private volatile Recorte recorte;
+
+    /**
+     * @param poligonos cada polígono é uma lista de pontos {x, y} normalizados; retângulos são polígonos de 4 pontos
+     */
+    MascaraRoi(List<double[][]> poligonos) {
+        if (poligonos == null || poligonos.isEmpty() || poligonos.size() > MAXIMO_REGIOES) {
+            throw new IllegalArgumentException("Informe de 1 a " + MAXIMO_REGIOES + " regiões de interesse");
+        }
+        Area uniao = new Area();
+        List<double[][]> copia = new ArrayList<>(poligonos.size());
+        for (double[][] poligono : poligonos) {
+            if (poligono == null || poligono.length < 3 || poligono.length > MAXIMO_PONTOS) {
+                throw new IllegalArgumentException("Cada região deve ter de 3 a " + MAXIMO_PONTOS + " pontos");
+            }
+            Path2D.Double caminho = new Path2D.Double(Path2D.WIND_NON_ZERO);
+            double[][] pontos = new double[poligono.length][];
+            for (int i = 0; i < poligono.length; i++) {
+                double[] ponto = poligono[i];
+                if (ponto == null || ponto.length != 2 || !normalizado(ponto[0]) || !normalizado(ponto[1])) {
+                    throw new IllegalArgumentException("Coordenadas das regiões devem estar entre 0 e 1");
+                }
+                pontos[i] = ponto.clone();
+                if (i == 0) {
+                    caminho.moveTo(ponto[0], ponto[1]);
+                } else {
+                    caminho.lineTo(ponto[0], ponto[1]);
+                }
+            }
+            caminho.closePath();
+            uniao.add(new Area(caminho));
+            copia.add(pontos);
+        }
+        if (uniao.isEmpty()) {
+            throw new IllegalArgumentException("As regiões de interesse não cobrem nenhuma área (pontos alinhados ou repetidos)");
+        }
+        this.poligonos = List.copyOf(copia);
+        this.forma = uniao;
+    }
+
+    /**
+     * Retângulo normalizado como polígono de 4 pontos
+     */
+    static double[][] retangulo(double x, double y, double largura, double altura) {
+        return new double[][]{{x, y}, {x + largura, y}, {x + largura, y + altura}, {x, y + altura}};
+    }
+
+    List<double[][]> getPoligonos() {
+        return poligonos;
+    }
+
+    /**
+     * Recorte da máscara para a resolução de análise, calculado uma vez por resolução
+     *
+     * @return null se as regiões não cobrem nenhum pixel nessa resolução (o frame inteiro é analisado)
+     */
+    Recorte recorte(int width, int height, int raio) {
+        Recorte atual = recorte;
+        if (atual != null && atual.larguraFrame == width && atual.alturaFrame == height && atual.raio == raio) {
+            return atual.pixels > 0 ? atual : null;
+        }
+        atual = rasterizar(width, height, raio);
+        recorte = atual;
+        return atual.pixels > 0 ? atual : null;
+    }
+
+    int tamanhoBytes() {
+        Recorte atual = recorte;
+        return atual != null && atual.mascara != null ? atual.mascara.length : 0;
+    }
+
+    private Recorte rasterizar(int width, int height, int raio) {
+        BufferedImage imagem = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g = imagem.createGraphics();
+        try {
+            // Sem normalização: só entram os pixels com o centro dentro das regiões
+            g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+            g.setColor(Color.WHITE);
+            g.fill(AffineTransform.getScaleInstance(width, height).createTransformedShape(forma));
+        } finally {
+            g.dispose();
+        }
+        byte[] pixels = ((DataBufferByte) imagem.getRaster().getDataBuffer()).getData();
+
+        int x0 = width, y0 = height, x1 = -1, y1 = -1;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (pixels[y * width + x] != 0) {
+                    x0 = Math.min(x0, x);
+                    x1 = Math.max(x1, x);
+                    y0 = Math.min(y0, y);
+                    y1 = Math.max(y1, y);
+                }
+            }
+        }
+        if (x1 < 0) {
+            return new Recorte(width, height, raio, 0, 0, width, height, null, 0);
+        }
+
+        // Margem do raio do blur: os pixels das regiões são borrados com a mesma janela do frame inteiro
+        x0 = Math.max(0, x0 - raio);
+        y0 = Math.max(0, y0 - raio);
+        x1 = Math.min(width - 1, x1 + raio);
+        y1 = Math.min(height - 1, y1 + raio);
+        int largura = x1 - x0 + 1;
+        int altura = y1 - y0 + 1;
+        byte[] mascara = new byte[largura * altura];
+        int total = 0;
+        for (int y = 0; y < altura; y++) {
+            for (int x = 0; x < largura; x++) {
+                if (pixels[(y0 + y) * width + x0 + x] != 0) {
+                    mascara[y * largura + x] = (byte) 0xFF;
+                    total++;
+                }
+            }
+        }
+        return new Recorte(width, height, raio, x0, y0, largura, altura, mascara, total);
+    }
+
+    private static boolean normalizado(double valor) {
+        return valor >= 0 && valor <= 1;
+    }
+
+    /**
+     * Região analisada de um frame: retângulo (x, y, largura, altura) dentro do frame de análise e máscara
+     * (0xFF dentro das regiões, 0 fora) com largura * altura bytes
+     */
+    static final class Recorte {
+        private final int larguraFrame;
+        private final int alturaFrame;
+        private final int raio;
+        final int x;
+        final int y;
+        final int largura;
+        final int altura;
+        private final byte[] mascara;
+        // Pixels dentro das regiões
+        final int pixels;
+
+        private Recorte(int larguraFrame, int alturaFrame, int raio, int x, int y, int largura, int altura,
+                        byte[] mascara, int pixels) {
+            this.larguraFrame = larguraFrame;
+            this.alturaFrame = alturaFrame;
+            this.raio = raio;
+            this.x = x;
+            this.y = y;
+            this.largura = largura;
+            this.altura = altura;
+            this.mascara = mascara;
+            this.pixels = pixels;
+        }
+
+        /**
+         * Zera os pixels fora das regiões (o plano tem largura * altura bytes do recorte)
+         */
+        void aplicar(byte[] luma) {
+            for (int i = 0, n = mascara.length; i < n; i++) {
+                luma[i] &= mascara[i];
+            }
+        }
+
+        /**
+         * Limiar de movimento proporcional à área das regiões, mantendo a fração do frame calibrada
+         */
+        int limiar(int limiarFrame) {
+            return Math.max(1, (int) Math.round((double) limiarFrame * pixels / ((long) larguraFrame * alturaFrame)));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.nexus.ai;
+
+/**
+ * Modelo de fundo por média exponencial, usado pelo detector "fundo" do monitoramento de pausas
+ *
+ * Em vez de comparar só com o último frame, cada pixel é comparado com uma média móvel dos frames anteriores
+ * (fundo = fundo + taxa * (frame - fundo)), atualizada no mesmo passo da comparação. Variações lentas de
+ * iluminação são absorvidas pelo fundo, e o deslocamento global de brilho do frame (oscilação de lâmpada,
+ * ajuste automático de exposição da câmera) é descontado antes do limiar.
+ *
+ * Valores em ponto fixo com {@link #BITS_FRACAO} bits de fração num short[] (2 bytes por pixel):
+ * 255 << 7 = 32640 cabe num short sem sinal negativo.
+ */
+final class ModeloFundo {
+
+    private static final int BITS_FRACAO = 7;
+
+    private final short[] fundo;
+    // Taxa de aprendizado em 1/256 (1..256)
+    private final int peso;
+    // Soma dos valores do fundo (ponto fixo), mantida a cada atualização para calcular o brilho médio
+    private long somaFundo;
+
+    ModeloFundo(byte[] luma, int tamanho, int peso) {
+        this.fundo = new short[tamanho];
+        this.peso = peso;
+        long soma = 0;
+        for (int i = 0; i < tamanho; i++) {
+            int valor = (luma[i] & 0xFF) << BITS_FRACAO;
+            fundo[i] = (short) valor;
+            soma += valor;
+        }
+        this.somaFundo = soma;
+    }
+
+    /**
+     * Converte a taxa de aprendizado (0 < taxa <= 1) para o peso inteiro usado na atualização
+     */
+    static int pesoDaTaxa(double taxa) {
+        if (!(taxa > 0 && taxa <= 1)) {
+            throw new IllegalArgumentException("Taxa de aprendizado do fundo deve estar em (0, 1]: " + taxa);
+        }
+        return Math.max(1, (int) Math.round(taxa * 256));
+    }
+
+    /**
+     * Conta pixels cuja diferença para o fundo (descontado o deslocamento global de brilho) é maior que o
+     * limiar, e atualiza o fundo com o frame no mesmo passo
+     */
+    int compararEAtualizar(byte[] luma, int limiar) {
+        int tamanho = fundo.length;
+        long somaFrame = 0;
+        for (int i = 0; i < tamanho; i++) {
+            somaFrame += luma[i] & 0xFF;
+        }
+        int deslocamento = (int) (((somaFrame << BITS_FRACAO) - somaFundo) / tamanho);
+        int limiarFixo = limiar << BITS_FRACAO;
+
+        int diferencaTotal = 0;
+        long novaSoma = 0;
+        for (int i = 0; i < tamanho; i++) {
+            int atual = (luma[i] & 0xFF) << BITS_FRACAO;
+            int anterior = fundo[i];
+            int diferenca = atual - anterior - deslocamento;
+            if (diferenca > limiarFixo || diferenca < -limiarFixo) {
+                diferencaTotal++;
+            }
+            int novo = anterior + (((atual - anterior) * peso) >> 8);
+            fundo[i] = (short) novo;
+            novaSoma += novo;
+        }
+        somaFundo = novaSoma;
+        return diferencaTotal;
+    }
+
+    int tamanho() {
+        return fundo.length;
+    }
+
+    int tamanhoBytes() {
+        return fundo.length * Short.BYTES;
+    }
+}
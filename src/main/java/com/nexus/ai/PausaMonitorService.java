@@ -1,17 +1,43 @@
 package com.nexus.ai;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
 import lombok.Data;
 import lombok.Builder;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
 
 /**
  * Serviço de Monitoramento de Pausas e Movimento
@@ -25,16 +51,37 @@ import javax.imageio.ImageIO;
  * - Detecta ausência após X minutos sem movimento
  * - Registra pausas automaticamente
  * - Sugere alongamentos quando detecta muito tempo sentado
+ * 
+ * O estado por usuário (sessão + último frame já borrado, em luminância compacta) fica num cache
+ * limitado por tamanho e com expiração por ociosidade, então o heap cresce de forma previsível
+ * com o número de usuários monitorados.
+ * 
+ * Frames de um mesmo usuário são aplicados à sessão um de cada vez (trava por sessão), enquanto
+ * usuários diferentes são processados em paralelo. Frames que não conseguem a trava a tempo ou que
+ * chegam depois de um frame mais recente são descartados (ResultadoMonitoramento.descartado).
+ * 
+ * Detectores (pausa-monitor.detector):
+ * - diferenca: compara cada frame com o frame anterior (padrão)
+ * - fundo: compara com um modelo de fundo por média exponencial (ver {@link ModeloFundo}), mais estável
+ *   a variações lentas e oscilações de iluminação
+ * 
+ * Regiões de interesse (ver {@link MascaraRoi}): com regiões registradas para o usuário, só a área delas
+ * é convertida, borrada e comparada, e o limiar de movimento é proporcional à área.
+ * 
+ * Com um {@link ArmazenamentoSessaoPausa} disponível, as sessões alteradas são gravadas periodicamente
+ * em lote (write-behind) e uma sessão que não está em memória (reinício, expiração, outro nó) é restaurada
+ * de forma assíncrona: o frame que a encontra ausente segue com uma sessão nova, que recebe o estado
+ * salvo assim que ele é carregado. processarFrame nunca espera pelo banco.
  */
 @Service
 @Slf4j
-public class PausaMonitorService {
+public class PausaMonitorService implements MeterBinder {
 
-    // Armazena o último frame processado por usuário
-    private final Map<Integer, FrameData> ultimoFramePorUsuario = new ConcurrentHashMap<>();
+    // Armazena a sessão e o frame de referência por usuário; sessões ociosas expiram automaticamente
+    private final Cache<Integer, EstadoMonitoramento> estados;
     
-    // Armazena estatísticas de sessão por usuário
-    private final Map<Integer, SessaoMonitoramento> sessoes = new ConcurrentHashMap<>();
+    // Estimativa de memória de uma sessão fora o frame de referência (objetos, datas e entrada do cache)
+    private static final int OVERHEAD_SESSAO_BYTES = 256;
     
     // Configurações
     private static final int MOTION_THRESHOLD = 20000; // Quantidade mínima de pixels diferentes para considerar movimento
@@ -42,6 +89,117 @@ public class PausaMonitorService {
     private static final int SITTING_ALERT_MINUTES = 60; // Alerta após 1 hora sentado
     private static final int GAUSSIAN_BLUR_SIZE = 21; // Tamanho do blur para reduzir ruído
     
+    // Intervalo sugerido ao cliente até o próximo frame (proximoQuadroSegundos)
+    private static final int INTERVALO_TRANSICAO_SEGUNDOS = 5; // Primeiro frame, movimento ou retorno
+    private static final int INTERVALO_PARADO_MIN_SEGUNDOS = 10; // Presente sem movimento: cresce de 10s...
+    private static final int INTERVALO_PARADO_MAX_SEGUNDOS = 30; // ...até 30s conforme o tempo parado
+    private static final int INTERVALO_AUSENTE_SEGUNDOS = 30;
+    private static final int INTERVALO_AUSENTE_LONGO_SEGUNDOS = 60; // Ausente há mais de 20 minutos
+    private static final int AUSENCIA_LONGA_MINUTOS = 20;
+    
+    // MOTION_THRESHOLD e GAUSSIAN_BLUR_SIZE foram calibrados para frames 640x480
+    private static final int LARGURA_REFERENCIA = 640;
+    private static final int ALTURA_REFERENCIA = 480;
+    
+    // Resolução de análise (0 = usa a resolução original do frame, sem redimensionar na decodificação)
+    private final int larguraAnalise;
+    private final int alturaAnalise;
+    private final int limiarMovimento;
+    private final int raioBlur;
+    
+    // Detector de movimento: frame anterior ("diferenca") ou modelo de fundo ("fundo")
+    static final String DETECTOR_DIFERENCA = "diferenca";
+    static final String DETECTOR_FUNDO = "fundo";
+    private final boolean detectorFundo;
+    private final int pesoFundo;
+    
+    // Frames do mesmo usuário são processados um por vez; com a fila cheia ou após a espera máxima o frame é descartado
+    private final int filaMaxima;
+    private final long esperaMaximaMs;
+    private final LongAdder framesDescartados = new LongAdder();
+    
+    // Regiões de interesse por usuário (independentes da sessão, não expiram por ociosidade)
+    private final Map<Integer, MascaraRoi> mascaras = new ConcurrentHashMap<>();
+    private final long maximoSessoes;
+    
+    // Persistência write-behind das sessões (opcional)
+    private final long ociosidadeMinutos;
+    private volatile ArmazenamentoSessaoPausa armazenamento;
+    // Snapshots de sessões removidas do cache com alterações ainda não gravadas
+    private final Queue<SessaoMonitoramento> sessoesRemovidas = new ConcurrentLinkedQueue<>();
+    // Horário do último reset por usuário: sessões salvas iniciadas antes dele não são restauradas
+    // (protege contra um encerramento que falhou no armazenamento)
+    private final Cache<Integer, LocalDateTime> resetes;
+    
+    public PausaMonitorService(
+            @Value("${pausa-monitor.analise.largura:0}") int larguraAnalise,
+            @Value("${pausa-monitor.analise.altura:0}") int alturaAnalise,
+            @Value("${pausa-monitor.sessao.ociosidade-minutos:60}") long ociosidadeMinutos,
+            @Value("${pausa-monitor.sessao.maximo:10000}") long maximoSessoes,
+            @Value("${pausa-monitor.detector:diferenca}") String detector,
+            @Value("${pausa-monitor.fundo.taxa-aprendizado:0.05}") double taxaAprendizadoFundo,
+            @Value("${pausa-monitor.sessao.fila-maxima:2}") int filaMaxima,
+            @Value("${pausa-monitor.sessao.espera-maxima-ms:2000}") long esperaMaximaMs) {
+        this.filaMaxima = Math.max(0, filaMaxima);
+        this.esperaMaximaMs = Math.max(0, esperaMaximaMs);
+        this.ociosidadeMinutos = ociosidadeMinutos;
+        this.maximoSessoes = maximoSessoes;
+
+        boolean redimensionar = larguraAnalise > 0 && alturaAnalise > 0;
+        this.larguraAnalise = redimensionar ? larguraAnalise : 0;
+        this.alturaAnalise = redimensionar ? alturaAnalise : 0;
+        
+        if (redimensionar) {
+            // Escala o limiar pela área e o raio do blur pela largura, mantendo as proporções calibradas
+            double escalaArea = (double) larguraAnalise * alturaAnalise / (LARGURA_REFERENCIA * ALTURA_REFERENCIA);
+            this.limiarMovimento = (int) Math.round(MOTION_THRESHOLD * escalaArea);
+            this.raioBlur = Math.max(1, (int) Math.round((GAUSSIAN_BLUR_SIZE / 2) * (double) larguraAnalise / LARGURA_REFERENCIA));
+            log.info("Monitoramento de pausas com resolução de análise {}x{} (limiar: {} pixels, raio do blur: {})",
+                larguraAnalise, alturaAnalise, limiarMovimento, raioBlur);
+        } else {
+            this.limiarMovimento = MOTION_THRESHOLD;
+            this.raioBlur = GAUSSIAN_BLUR_SIZE / 2;
+        }
+        
+        if (DETECTOR_FUNDO.equalsIgnoreCase(detector)) {
+            this.detectorFundo = true;
+            this.pesoFundo = ModeloFundo.pesoDaTaxa(taxaAprendizadoFundo);
+            log.info("Monitoramento de pausas com detector de fundo (taxa de aprendizado: {})", taxaAprendizadoFundo);
+        } else if (DETECTOR_DIFERENCA.equalsIgnoreCase(detector)) {
+            this.detectorFundo = false;
+            this.pesoFundo = 0;
+        } else {
+            throw new IllegalArgumentException("Detector de movimento desconhecido: " + detector
+                + " (use " + DETECTOR_DIFERENCA + " ou " + DETECTOR_FUNDO + ")");
+        }
+        
+        this.estados = Caffeine.newBuilder()
+                .expireAfterAccess(ociosidadeMinutos, TimeUnit.MINUTES)
+                .maximumSize(maximoSessoes)
+                .removalListener((Integer usuarioId, EstadoMonitoramento estado, RemovalCause causa) -> {
+                    if (causa.wasEvicted()) {
+                        log.info("Sessão de monitoramento do usuário {} descartada ({})", usuarioId, causa);
+                        // Grava o último estado no próximo ciclo de persistência
+                        if (estado != null && armazenamento != null) {
+                            estado.copiarSessaoSeAlterada().ifPresent(sessoesRemovidas::add);
+                        }
+                    }
+                })
+                .build();
+        this.resetes = Caffeine.newBuilder()
+                .expireAfterWrite(ociosidadeMinutos, TimeUnit.MINUTES)
+                .maximumSize(maximoSessoes)
+                .build();
+    }
+    
+    /**
+     * Armazenamento usado para gravar e restaurar sessões; sem ele as sessões ficam só em memória
+     */
+    @Autowired(required = false)
+    public void setArmazenamento(ArmazenamentoSessaoPausa armazenamento) {
+        this.armazenamento = armazenamento;
+    }
+    
     /**
      * Processa um frame de vídeo e detecta movimento
      * 
@@ -50,98 +208,94 @@ public class PausaMonitorService {
      * @return Resultado da análise de movimento
      */
     public ResultadoMonitoramento processarFrame(Integer usuarioId, byte[] frameBytes) {
+        log.debug("Processando frame para usuário {} - Tamanho: {} bytes", usuarioId, frameBytes.length);
+        return processarFrame(usuarioId, new ByteArrayInputStream(frameBytes));
+    }
+    
+    /**
+     * Processa um frame de vídeo lido direto de um stream (corpo binário HTTP, mensagem WebSocket)
+     * 
+     * Os bytes vão direto para o decoder, sem cópia intermediária nem base64.
+     * 
+     * @param usuarioId ID do usuário
+     * @param frame Stream com a imagem (JPEG, PNG, etc); não é fechado por este método
+     * @return Resultado da análise de movimento
+     */
+    public ResultadoMonitoramento processarFrame(Integer usuarioId, InputStream frame) {
+        return processarFrame(usuarioId, frame, null);
+    }
+    
+    /**
+     * Processa um frame capturado num horário conhecido (envio em lote de frames guardados pelo cliente)
+     * 
+     * Ausência, tempo sentado e sugestões são calculados com o horário de captura em vez do horário
+     * de chegada; horários no futuro são limitados ao horário atual.
+     * 
+     * @param momento Horário de captura do frame (null = agora)
+     */
+    public ResultadoMonitoramento processarFrame(Integer usuarioId, InputStream frame, LocalDateTime momento) {
+        LocalDateTime agora = LocalDateTime.now();
+        if (momento != null && momento.isBefore(agora)) {
+            agora = momento;
+        }
         try {
-            log.debug("Processando frame para usuário {} - Tamanho: {} bytes", usuarioId, frameBytes.length);
-            
-            // Converter bytes para BufferedImage
-            BufferedImage frameAtual = ImageIO.read(new ByteArrayInputStream(frameBytes));
+            // Converter bytes para BufferedImage (já reduzida para a resolução de análise, se configurada)
+            BufferedImage frameAtual = decodificarFrame(frame);
             if (frameAtual == null) {
                 log.warn("Não foi possível ler a imagem do frame");
                 return criarResultadoErro("Erro ao processar imagem");
             }
             
-            // Obter ou criar sessão de monitoramento
-            SessaoMonitoramento sessao = sessoes.computeIfAbsent(usuarioId, 
-                k -> SessaoMonitoramento.builder()
-                    .usuarioId(usuarioId)
-                    .inicioSessao(LocalDateTime.now())
-                    .ultimoMovimento(LocalDateTime.now())
-                    .tempoSentadoMinutos(0)
-                    .totalPausas(0)
-                    .build());
+            // Escala de cinza + blur do frame atual, no buffer de rascunho da thread
+            int width = larguraAnalise > 0 ? larguraAnalise : frameAtual.getWidth();
+            int height = alturaAnalise > 0 ? alturaAnalise : frameAtual.getHeight();
+            MascaraRoi mascara = mascaras.get(usuarioId);
+            MascaraRoi.Recorte recorte = mascara != null ? mascara.recorte(width, height, raioBlur) : null;
+            byte[] lumaAtual = extrairLumaBorrada(frameAtual, width, height, recorte);
+            int larguraLuma = recorte != null ? recorte.largura : width;
+            int alturaLuma = recorte != null ? recorte.altura : height;
+            int limiar = recorte != null ? recorte.limiar(limiarMovimento) : limiarMovimento;
             
-            // Obter frame anterior
-            FrameData frameAnterior = ultimoFramePorUsuario.get(usuarioId);
-            
-            boolean movimentoDetectado = false;
-            int quantidadeMovimento = 0;
-            
-            if (frameAnterior != null && frameAnterior.getFrame() != null) {
-                // Calcular diferença entre frames
-                quantidadeMovimento = calcularDiferencaFrames(frameAnterior.getFrame(), frameAtual);
-                movimentoDetectado = quantidadeMovimento > MOTION_THRESHOLD;
-                
-                log.debug("Diferença detectada: {} pixels - Movimento: {}", quantidadeMovimento, movimentoDetectado);
-            } else {
-                // Primeiro frame - não há comparação possível
-                log.debug("Primeiro frame recebido para usuário {}", usuarioId);
-                movimentoDetectado = true; // Considera como movimento inicial
+            // Obter ou criar sessão de monitoramento
+            LocalDateTime inicio = agora;
+            boolean[] nova = {false};
+            EstadoMonitoramento estado = estados.get(usuarioId, k -> {
+                nova[0] = true;
+                return new EstadoMonitoramento(
+                    SessaoMonitoramento.builder()
+                        .usuarioId(usuarioId)
+                        .inicioSessao(inicio)
+                        .ultimoMovimento(inicio)
+                        .tempoSentadoMinutos(0)
+                        .totalPausas(0)
+                        .build());
+            });
+            if (nova[0]) {
+                restaurarSessao(usuarioId, estado);
+                restaurarRegioes(usuarioId);
             }
             
-            // Atualizar estatísticas
-            LocalDateTime agora = LocalDateTime.now();
-            
-            if (movimentoDetectado) {
-                // Movimento detectado - usuário presente
-                sessao.setUltimoMovimento(agora);
-                
-                // Se estava ausente e agora detectou movimento, registra retorno
-                if (sessao.isAusente()) {
-                    log.info("✅ Usuário {} retornou após {} minutos ausente", 
-                        usuarioId, sessao.getMinutosAusente());
-                    sessao.setAusente(false);
-                    sessao.setTotalPausas(sessao.getTotalPausas() + 1);
-                }
-            } else {
-                // Sem movimento - verificar se está ausente
-                long segundosSemMovimento = java.time.Duration.between(sessao.getUltimoMovimento(), agora).getSeconds();
-                
-                if (segundosSemMovimento >= ABSENCE_LIMIT_SECONDS && !sessao.isAusente()) {
-                    log.info("⚠️ Usuário {} ausente há {} segundos (limite: {})", 
-                        usuarioId, segundosSemMovimento, ABSENCE_LIMIT_SECONDS);
-                    sessao.setAusente(true);
-                    sessao.setInicioAusencia(agora);
+            // Só a comparação e a atualização da sessão são serializadas por usuário; decodificação e blur
+            // (a parte cara) já foram feitos fora da trava, em paralelo
+            ReentrantLock trava = estado.getTrava();
+            if (trava.getQueueLength() >= filaMaxima || !trava.tryLock(esperaMaximaMs, TimeUnit.MILLISECONDS)) {
+                return descartarFrame(usuarioId, estado.getSessao(), agora, "outro frame deste usuário ainda está em processamento");
+            }
+            try {
+                LocalDateTime ultimoFrame = estado.getTimestampReferencia();
+                if (ultimoFrame != null && agora.isBefore(ultimoFrame)) {
+                    return descartarFrame(usuarioId, estado.getSessao(), agora, "frame anterior ao último frame processado");
                 }
-                
-                // Calcular tempo sentado (sem movimento significativo)
-                long minutosSentado = java.time.Duration.between(sessao.getInicioSessao(), agora).toMinutes();
-                sessao.setTempoSentadoMinutos((int) minutosSentado);
+                ResultadoMonitoramento resultado = analisarFrame(usuarioId, estado, lumaAtual, larguraLuma, alturaLuma, limiar, agora);
+                resultado.setRegioesInteresseAplicadas(recorte != null);
+                return resultado;
+            } finally {
+                trava.unlock();
             }
-            
-            // Salvar frame atual para próxima comparação
-            ultimoFramePorUsuario.put(usuarioId, FrameData.builder()
-                .frame(frameAtual)
-                .timestamp(agora)
-                .build());
-            
-            // Verificar se precisa sugerir alongamento
-            boolean sugerirAlongamento = sessao.getTempoSentadoMinutos() >= SITTING_ALERT_MINUTES 
-                && sessao.getTempoSentadoMinutos() % 30 == 0; // Sugerir a cada 30 minutos após 1 hora
-            
-            // Construir resposta
-            return ResultadoMonitoramento.builder()
-                .usuarioId(usuarioId)
-                .movimentoDetectado(movimentoDetectado)
-                .quantidadeMovimento(quantidadeMovimento)
-                .presente(!sessao.isAusente())
-                .tempoSentadoMinutos(sessao.getTempoSentadoMinutos())
-                .totalPausas(sessao.getTotalPausas())
-                .sugerirAlongamento(sugerirAlongamento)
-                .mensagem(gerarMensagem(sessao, movimentoDetectado, quantidadeMovimento))
-                .sugestoes(gerarSugestoes(sessao, sugerirAlongamento))
-                .timestamp(agora)
-                .build();
                 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return descartarFrame(usuarioId, null, agora, "processamento interrompido");
         } catch (IOException e) {
             log.error("Erro ao processar frame para usuário {}", usuarioId, e);
             return criarResultadoErro("Erro ao processar imagem: " + e.getMessage());
@@ -152,93 +306,272 @@ public class PausaMonitorService {
     }
     
     /**
-     * Calcula diferença entre dois frames usando processamento de imagem
-     * Converte para escala de cinza, aplica blur gaussiano e calcula diferença absoluta
+     * Compara o frame com a referência da sessão e atualiza o estado (chamado com a trava da sessão)
      */
-    private int calcularDiferencaFrames(BufferedImage frame1, BufferedImage frame2) {
-        try {
-            // Redimensionar se necessário (para performance)
-            int width = Math.min(frame1.getWidth(), frame2.getWidth());
-            int height = Math.min(frame1.getHeight(), frame2.getHeight());
+    private ResultadoMonitoramento analisarFrame(Integer usuarioId, EstadoMonitoramento estado, byte[] lumaAtual,
+                                                 int width, int height, int limiar, LocalDateTime agora) {
+        SessaoMonitoramento sessao = estado.getSessao();
+        
+        boolean movimentoDetectado = false;
+        int quantidadeMovimento = 0;
+        
+        if (estado.possuiReferencia(width, height)) {
+            // Calcular diferença contra o frame anterior (já borrado) ou contra o fundo, que já é atualizado aqui
+            quantidadeMovimento = detectorFundo
+                ? estado.getFundo().compararEAtualizar(lumaAtual, LumaPipeline.LIMIAR_DIFERENCA)
+                : LumaPipeline.contarDiferencas(estado.getReferencia(), lumaAtual, width, height);
+            movimentoDetectado = quantidadeMovimento > limiar;
             
-            // Converter para escala de cinza e aplicar blur
-            BufferedImage gray1 = converterParaCinza(frame1, width, height);
-            BufferedImage gray2 = converterParaCinza(frame2, width, height);
+            log.debug("Diferença detectada: {} pixels - Movimento: {}", quantidadeMovimento, movimentoDetectado);
+        } else {
+            // Primeiro frame (ou mudança de resolução) - não há comparação possível
+            log.debug("Primeiro frame recebido para usuário {}", usuarioId);
+            movimentoDetectado = true; // Considera como movimento inicial
+        }
+        
+        // Atualizar estatísticas
+        if (movimentoDetectado) {
+            // Movimento detectado - usuário presente
+            sessao.setUltimoMovimento(agora);
             
-            BufferedImage blur1 = aplicarBlurGaussiano(gray1);
-            BufferedImage blur2 = aplicarBlurGaussiano(gray2);
+            // Se estava ausente e agora detectou movimento, registra retorno
+            if (sessao.isAusente()) {
+                log.info("✅ Usuário {} retornou após {} minutos ausente", 
+                    usuarioId, sessao.getMinutosAusente());
+                sessao.setAusente(false);
+                sessao.setTotalPausas(sessao.getTotalPausas() + 1);
+            }
+        } else {
+            // Sem movimento - verificar se está ausente
+            long segundosSemMovimento = java.time.Duration.between(sessao.getUltimoMovimento(), agora).getSeconds();
             
-            // Calcular diferença absoluta
-            int diferencaTotal = 0;
-            for (int y = 0; y < height; y++) {
-                for (int x = 0; x < width; x++) {
-                    int pixel1 = blur1.getRGB(x, y) & 0xFF; // Apenas canal de intensidade
-                    int pixel2 = blur2.getRGB(x, y) & 0xFF;
-                    int diferenca = Math.abs(pixel1 - pixel2);
-                    
-                    // Threshold: considerar apenas diferenças significativas (> 25)
-                    if (diferenca > 25) {
-                        diferencaTotal++;
-                    }
-                }
+            if (segundosSemMovimento >= ABSENCE_LIMIT_SECONDS && !sessao.isAusente()) {
+                log.info("⚠️ Usuário {} ausente há {} segundos (limite: {})", 
+                    usuarioId, segundosSemMovimento, ABSENCE_LIMIT_SECONDS);
+                sessao.setAusente(true);
+                sessao.setInicioAusencia(agora);
             }
             
-            return diferencaTotal;
+            // Calcular tempo sentado (sem movimento significativo)
+            long minutosSentado = java.time.Duration.between(sessao.getInicioSessao(), agora).toMinutes();
+            sessao.setTempoSentadoMinutos((int) minutosSentado);
+        }
+        
+        // Salvar frame atual (borrado) para próxima comparação
+        if (detectorFundo) {
+            estado.registrarFundo(lumaAtual, width, height, agora, pesoFundo);
+        } else {
+            estado.atualizarReferencia(lumaAtual, width, height, agora);
+        }
+        estado.marcarAlterada();
+        
+        // Verificar se precisa sugerir alongamento
+        boolean sugerirAlongamento = sessao.getTempoSentadoMinutos() >= SITTING_ALERT_MINUTES 
+            && sessao.getTempoSentadoMinutos() % 30 == 0; // Sugerir a cada 30 minutos após 1 hora
+        
+        // Construir resposta
+        return ResultadoMonitoramento.builder()
+            .usuarioId(usuarioId)
+            .proximoQuadroSegundos(calcularProximoQuadro(sessao, movimentoDetectado, agora))
+            .movimentoDetectado(movimentoDetectado)
+            .quantidadeMovimento(quantidadeMovimento)
+            .presente(!sessao.isAusente())
+            .tempoSentadoMinutos(sessao.getTempoSentadoMinutos())
+            .totalPausas(sessao.getTotalPausas())
+            .sugerirAlongamento(sugerirAlongamento)
+            .mensagem(gerarMensagem(sessao, movimentoDetectado, quantidadeMovimento))
+            .sugestoes(gerarSugestoes(sessao, sugerirAlongamento))
+            .timestamp(agora)
+            .build();
+    }
+    
+    /**
+     * Intervalo sugerido até o próximo frame, a partir do estado da sessão
+     * 
+     * Amostra rápido em transições (primeiro frame, movimento, retorno) e devagar com o usuário parado ou
+     * ausente. O intervalo nunca ultrapassa o momento em que a ausência seria detectada
+     * (ABSENCE_LIMIT_SECONDS sem movimento) nem o próximo minuto de sugestão de alongamento
+     * (SITTING_ALERT_MINUTES e a cada 30 minutos depois), então essas decisões não atrasam.
+     */
+    int calcularProximoQuadro(SessaoMonitoramento sessao, boolean movimentoDetectado, LocalDateTime agora) {
+        if (sessao.isAusente()) {
+            long minutosAusente = sessao.getInicioAusencia() != null
+                ? java.time.Duration.between(sessao.getInicioAusencia(), agora).toMinutes() : 0;
+            return minutosAusente >= AUSENCIA_LONGA_MINUTOS ? INTERVALO_AUSENTE_LONGO_SEGUNDOS : INTERVALO_AUSENTE_SEGUNDOS;
+        }
+        
+        long intervalo;
+        if (movimentoDetectado) {
+            intervalo = INTERVALO_TRANSICAO_SEGUNDOS;
+        } else {
+            long segundosSemMovimento = java.time.Duration.between(sessao.getUltimoMovimento(), agora).getSeconds();
+            intervalo = Math.max(INTERVALO_PARADO_MIN_SEGUNDOS, Math.min(INTERVALO_PARADO_MAX_SEGUNDOS, segundosSemMovimento / 2));
+            // Próximo frame no limite da ausência
+            intervalo = Math.min(intervalo, ABSENCE_LIMIT_SECONDS - segundosSemMovimento);
+        }
+        
+        // Próximo frame no início do próximo minuto de sugestão de alongamento
+        long segundosSessao = java.time.Duration.between(sessao.getInicioSessao(), agora).getSeconds();
+        long minutoAtual = segundosSessao / 60;
+        long proximoAlerta = minutoAtual < SITTING_ALERT_MINUTES ? SITTING_ALERT_MINUTES : (minutoAtual / 30 + 1) * 30;
+        intervalo = Math.min(intervalo, proximoAlerta * 60 - segundosSessao);
+        
+        return (int) Math.max(1, intervalo);
+    }
+    
+    /**
+     * Busca a última sessão salva do usuário sem bloquear o frame atual; quando (e se) ela chega, é
+     * incorporada à sessão nova que já está em uso
+     */
+    private void restaurarSessao(Integer usuarioId, EstadoMonitoramento estado) {
+        ArmazenamentoSessaoPausa atual = armazenamento;
+        if (atual == null) {
+            return;
+        }
+        estado.iniciarRestauracao();
+        try {
+            atual.carregar(usuarioId, LocalDateTime.now().minusMinutes(ociosidadeMinutos))
+                .whenComplete((salva, erro) -> {
+                    LocalDateTime resetadaEm = resetes.getIfPresent(usuarioId);
+                    if (erro == null && salva.isPresent() && resetadaEm != null
+                            && !salva.get().getInicioSessao().isAfter(resetadaEm)) {
+                        log.debug("Sessão salva do usuário {} anterior ao reset, ignorada", usuarioId);
+                        salva = Optional.empty();
+                    }
+                    if (erro != null) {
+                        log.warn("⚠️ Não foi possível restaurar a sessão do usuário {} (não crítico): {}", usuarioId, erro.getMessage());
+                    } else if (salva.isPresent()) {
+                        log.info("Sessão de monitoramento do usuário {} restaurada (início: {})", usuarioId, salva.get().getInicioSessao());
+                    }
+                    estado.concluirRestauracao(erro == null ? salva.orElse(null) : null);
+                });
+        } catch (Exception e) {
+            log.warn("⚠️ Não foi possível restaurar a sessão do usuário {} (não crítico): {}", usuarioId, e.getMessage());
+            estado.concluirRestauracao(null);
+        }
+    }
+    
+    /**
+     * Grava em lote as sessões alteradas desde a última gravação (write-behind)
+     */
+    @Scheduled(fixedDelayString = "${pausa-monitor.persistencia.intervalo-ms:30000}")
+    public void persistirSessoes() {
+        ArmazenamentoSessaoPausa atual = armazenamento;
+        if (atual == null) {
+            return;
+        }
+        List<SessaoMonitoramento> alteradas = new ArrayList<>();
+        SessaoMonitoramento removida;
+        while ((removida = sessoesRemovidas.poll()) != null) {
+            alteradas.add(removida);
+        }
+        for (EstadoMonitoramento estado : estados.asMap().values()) {
+            estado.copiarSessaoSeAlterada().ifPresent(alteradas::add);
+        }
+        if (alteradas.isEmpty()) {
+            return;
+        }
+        try {
+            atual.salvar(alteradas);
+            log.debug("{} sessão(ões) de monitoramento gravada(s)", alteradas.size());
         } catch (Exception e) {
-            log.error("Erro ao calcular diferença entre frames", e);
-            return 0;
+            log.warn("⚠️ Erro ao gravar {} sessão(ões) de monitoramento (não crítico): {}", alteradas.size(), e.getMessage());
         }
     }
     
     /**
-     * Converte imagem para escala de cinza
+     * Grava as sessões pendentes ao desligar a aplicação
      */
-    private BufferedImage converterParaCinza(BufferedImage original, int width, int height) {
-        BufferedImage gray = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
-        java.awt.Graphics2D g = gray.createGraphics();
-        g.drawImage(original, 0, 0, width, height, null);
-        g.dispose();
-        return gray;
+    @PreDestroy
+    public void finalizar() {
+        persistirSessoes();
     }
     
     /**
-     * Aplica blur gaussiano simples (aproximação usando média ponderada)
-     * Reduz ruído na imagem para melhor detecção de movimento
+     * Resultado de um frame descartado sem alterar a sessão (fila do usuário cheia ou frame fora de ordem)
      */
-    private BufferedImage aplicarBlurGaussiano(BufferedImage original) {
-        int width = original.getWidth();
-        int height = original.getHeight();
-        BufferedImage blurred = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
-        
-        int kernelSize = GAUSSIAN_BLUR_SIZE;
-        int radius = kernelSize / 2;
-        
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                long soma = 0;
-                int count = 0;
-                
-                // Aplicar kernel de blur
-                for (int ky = -radius; ky <= radius; ky++) {
-                    for (int kx = -radius; kx <= radius; kx++) {
-                        int px = x + kx;
-                        int py = y + ky;
-                        
-                        if (px >= 0 && px < width && py >= 0 && py < height) {
-                            int pixel = original.getRGB(px, py) & 0xFF;
-                            soma += pixel;
-                            count++;
-                        }
+    private ResultadoMonitoramento descartarFrame(Integer usuarioId, SessaoMonitoramento sessao,
+                                                  LocalDateTime agora, String motivo) {
+        framesDescartados.increment();
+        log.debug("Frame do usuário {} descartado: {}", usuarioId, motivo);
+        return ResultadoMonitoramento.builder()
+            .usuarioId(usuarioId)
+            .descartado(true)
+            .proximoQuadroSegundos(INTERVALO_TRANSICAO_SEGUNDOS)
+            .presente(sessao == null || !sessao.isAusente())
+            .tempoSentadoMinutos(sessao != null ? sessao.getTempoSentadoMinutos() : 0)
+            .totalPausas(sessao != null ? sessao.getTotalPausas() : 0)
+            .mensagem("Frame descartado: " + motivo)
+            .sugestoes(java.util.List.of("Envie os frames em sequência, aguardando a resposta do anterior"))
+            .timestamp(agora)
+            .build();
+    }
+    
+    /**
+     * Decodifica o frame (JPEG, PNG, etc)
+     * 
+     * Com resolução de análise configurada, usa subamostragem da fonte (ImageReadParam) para que o decoder
+     * já entregue uma imagem próxima do tamanho final, em vez de decodificar a resolução completa da webcam
+     * e reduzir depois. O fator é inteiro e nunca deixa a imagem menor que a resolução de análise.
+     * 
+     * @return imagem decodificada, ou null se o formato não for reconhecido
+     */
+    BufferedImage decodificarFrame(byte[] frameBytes) throws IOException {
+        return decodificarFrame(new ByteArrayInputStream(frameBytes));
+    }
+    
+    BufferedImage decodificarFrame(InputStream frame) throws IOException {
+        try (ImageInputStream entrada = new MemoryCacheImageInputStream(frame)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(entrada);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(entrada, true, true);
+                ImageReadParam param = reader.getDefaultReadParam();
+                if (larguraAnalise > 0) {
+                    int fator = Math.max(1, Math.min(reader.getWidth(0) / larguraAnalise, reader.getHeight(0) / alturaAnalise));
+                    if (fator > 1) {
+                        param.setSourceSubsampling(fator, fator, 0, 0);
                     }
                 }
-                
-                int media = (int) (soma / count);
-                int grayPixel = (media << 16) | (media << 8) | media;
-                blurred.setRGB(x, y, grayPixel);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
             }
         }
-        
-        return blurred;
+    }
+    
+    /**
+     * Converte o frame para escala de cinza na resolução de análise e aplica blur gaussiano
+     * 
+     * O resultado fica no buffer de rascunho da thread (ver {@link LumaPipeline}) e é válido até a
+     * próxima chamada nesta thread; quem precisar guardá-lo deve copiar.
+     */
+    byte[] extrairLumaBorrada(BufferedImage frame, int width, int height) {
+        return extrairLumaBorrada(frame, width, height, null);
+    }
+    
+    /**
+     * Com recorte, só o retângulo das regiões de interesse é processado; o plano retornado tem
+     * recorte.largura * recorte.altura bytes, com zero fora das regiões
+     */
+    byte[] extrairLumaBorrada(BufferedImage frame, int width, int height, MascaraRoi.Recorte recorte) {
+        LumaPipeline.Buffers buffers = LumaPipeline.buffers();
+        if (recorte == null) {
+            byte[] borrado = buffers.borrado(width * height);
+            byte[] cinza = LumaPipeline.converterParaCinza(frame, width, height, buffers);
+            LumaPipeline.borrar(cinza, borrado, width, height, raioBlur, buffers);
+            return borrado;
+        }
+        byte[] borrado = buffers.borrado(recorte.largura * recorte.altura);
+        byte[] cinza = LumaPipeline.converterParaCinza(frame, width, height,
+            recorte.x, recorte.y, recorte.largura, recorte.altura, buffers);
+        LumaPipeline.borrar(cinza, borrado, recorte.largura, recorte.altura, raioBlur, buffers);
+        recorte.aplicar(borrado);
+        return borrado;
     }
     
     /**
@@ -296,6 +629,7 @@ public class PausaMonitorService {
      */
     private ResultadoMonitoramento criarResultadoErro(String mensagem) {
         return ResultadoMonitoramento.builder()
+            .erro(true)
             .movimentoDetectado(false)
             .presente(false)
             .mensagem("Erro: " + mensagem)
@@ -308,25 +642,295 @@ public class PausaMonitorService {
      * Reseta sessão de monitoramento para um usuário
      */
     public void resetarSessao(Integer usuarioId) {
-        sessoes.remove(usuarioId);
-        ultimoFramePorUsuario.remove(usuarioId);
+        resetes.put(usuarioId, LocalDateTime.now());
+        estados.invalidate(usuarioId);
+        ArmazenamentoSessaoPausa atual = armazenamento;
+        if (atual != null) {
+            atual.encerrar(usuarioId);
+        }
         log.info("Sessão de monitoramento resetada para usuário {}", usuarioId);
     }
     
+    /**
+     * Registra as regiões de interesse do usuário (polígonos normalizados 0..1), substituindo as anteriores
+     * 
+     * A referência da sessão é descartada: o próximo frame é comparado já com a nova área.
+     */
+    public void definirRegioesInteresse(Integer usuarioId, List<double[][]> poligonos) {
+        MascaraRoi mascara = new MascaraRoi(poligonos);
+        // Com resolução de análise fixa já se sabe se a máscara cobre algum pixel; sem ela, a máscara só não
+        // ter área é rejeitado (o frame de cada cliente pode ter outra resolução)
+        if (larguraAnalise > 0 && mascara.recorte(larguraAnalise, alturaAnalise, raioBlur) == null) {
+            throw new IllegalArgumentException("As regiões de interesse não cobrem nenhum pixel na resolução de análise ("
+                + larguraAnalise + "x" + alturaAnalise + ")");
+        }
+        if (!mascaras.containsKey(usuarioId) && mascaras.size() >= maximoSessoes) {
+            throw new IllegalStateException("Limite de usuários com regiões de interesse atingido");
+        }
+        gravarRegioes(usuarioId, mascara.getPoligonos());
+        mascaras.put(usuarioId, mascara);
+        descartarReferencia(usuarioId);
+        log.info("Regiões de interesse definidas para usuário {} ({} região(ões))", usuarioId, poligonos.size());
+    }
+    
+    /**
+     * Retângulo normalizado (x, y, largura, altura) como polígono de regiões de interesse
+     */
+    public static double[][] retangulo(double x, double y, double largura, double altura) {
+        return MascaraRoi.retangulo(x, y, largura, altura);
+    }
+    
+    /**
+     * Regiões de interesse do usuário (vazio = frame inteiro)
+     */
+    public List<double[][]> obterRegioesInteresse(Integer usuarioId) {
+        MascaraRoi mascara = mascaras.get(usuarioId);
+        return mascara != null ? mascara.getPoligonos() : List.of();
+    }
+    
+    /**
+     * Remove as regiões de interesse: o frame inteiro volta a ser analisado
+     */
+    public void removerRegioesInteresse(Integer usuarioId) {
+        gravarRegioes(usuarioId, List.of());
+        if (mascaras.remove(usuarioId) != null) {
+            descartarReferencia(usuarioId);
+            log.info("Regiões de interesse removidas para usuário {}", usuarioId);
+        }
+    }
+    
+    /**
+     * Grava as regiões no armazenamento antes de aplicá-las localmente, para que uma restauração em andamento
+     * (que leu as regiões antigas) não as sobrescreva
+     */
+    private void gravarRegioes(Integer usuarioId, List<double[][]> poligonos) {
+        ArmazenamentoSessaoPausa atual = armazenamento;
+        if (atual == null) {
+            return;
+        }
+        try {
+            atual.salvarRegioes(usuarioId, poligonos);
+        } catch (Exception e) {
+            log.warn("⚠️ Erro ao gravar as regiões de interesse do usuário {}; outro nó não as terá: {}", usuarioId, e.getMessage());
+        }
+    }
+    
+    /**
+     * Sessão nova neste nó (primeiro frame, reinício ou usuário vindo de outro nó): busca as regiões gravadas
+     * sem bloquear o frame. Só substitui as regiões locais se elas não mudaram desde o início da busca.
+     */
+    private void restaurarRegioes(Integer usuarioId) {
+        ArmazenamentoSessaoPausa atual = armazenamento;
+        if (atual == null) {
+            return;
+        }
+        MascaraRoi local = mascaras.get(usuarioId);
+        try {
+            atual.carregarRegioes(usuarioId).whenComplete((salvas, erro) -> {
+                if (erro != null) {
+                    log.warn("⚠️ Não foi possível restaurar as regiões de interesse do usuário {} (não crítico): {}",
+                        usuarioId, erro.getMessage());
+                    return;
+                }
+                boolean[] trocou = {false};
+                mascaras.compute(usuarioId, (id, vigente) -> {
+                    if (vigente != local) {
+                        return vigente;
+                    }
+                    MascaraRoi restaurada = salvas.map(this::mascaraGravada).orElse(null);
+                    trocou[0] = restaurada != vigente;
+                    return restaurada;
+                });
+                if (trocou[0]) {
+                    descartarReferencia(usuarioId);
+                    log.info("Regiões de interesse do usuário {} restauradas ({})", usuarioId,
+                        salvas.map(poligonos -> poligonos.size() + " região(ões)").orElse("frame inteiro"));
+                }
+            });
+        } catch (Exception e) {
+            log.warn("⚠️ Não foi possível restaurar as regiões de interesse do usuário {} (não crítico): {}", usuarioId, e.getMessage());
+        }
+    }
+    
+    private MascaraRoi mascaraGravada(List<double[][]> poligonos) {
+        try {
+            return new MascaraRoi(poligonos);
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ Regiões de interesse gravadas inválidas, ignoradas: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    private void descartarReferencia(Integer usuarioId) {
+        EstadoMonitoramento estado = estados.getIfPresent(usuarioId);
+        if (estado != null) {
+            estado.getTrava().lock();
+            try {
+                estado.descartarReferencia();
+            } finally {
+                estado.getTrava().unlock();
+            }
+        }
+    }
+    
     /**
      * Obtém estatísticas da sessão atual
      */
     public SessaoMonitoramento obterEstatisticas(Integer usuarioId) {
-        return sessoes.get(usuarioId);
+        EstadoMonitoramento estado = estados.getIfPresent(usuarioId);
+        return estado != null ? estado.getSessao() : null;
+    }
+    
+    /**
+     * Memória estimada do estado de monitoramento em bytes (sessões + frames de referência)
+     */
+    public long estimarMemoriaBytes() {
+        long total = 0;
+        for (EstadoMonitoramento estado : estados.asMap().values()) {
+            total += OVERHEAD_SESSAO_BYTES + estado.tamanhoReferencia();
+        }
+        for (MascaraRoi mascara : mascaras.values()) {
+            total += mascara.tamanhoBytes();
+        }
+        return total;
+    }
+    
+    /**
+     * Publica a quantidade de sessões e a memória estimada como métricas (Actuator / Micrometer)
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("pausa.monitor.sessoes", estados, Cache::estimatedSize)
+            .description("Sessões de monitoramento de pausas em memória")
+            .register(registry);
+        Gauge.builder("pausa.monitor.memoria", this, PausaMonitorService::estimarMemoriaBytes)
+            .description("Memória estimada das sessões de monitoramento e frames de referência")
+            .baseUnit("bytes")
+            .register(registry);
+        FunctionCounter.builder("pausa.monitor.frames.descartados", framesDescartados, LongAdder::sum)
+            .description("Frames descartados por fila cheia do usuário ou por chegarem fora de ordem")
+            .register(registry);
     }
     
     // Classes internas para armazenamento de dados
     
-    @Data
-    @Builder
-    static class FrameData {
-        private BufferedImage frame;
-        private LocalDateTime timestamp;
+    /**
+     * Estado de um usuário: sessão + último frame em luminância borrada (1 byte por pixel)
+     * ou modelo de fundo (2 bytes por pixel), conforme o detector configurado
+     */
+    @Getter
+    static class EstadoMonitoramento {
+        private final SessaoMonitoramento sessao;
+        // Serializa os frames deste usuário sem bloquear os demais
+        private final ReentrantLock trava = new ReentrantLock();
+        private byte[] referencia;
+        private ModeloFundo fundo;
+        private int largura;
+        private int altura;
+        private LocalDateTime timestampReferencia;
+        // Alterada desde a última gravação; não é gravada enquanto a restauração está pendente
+        private volatile boolean alterada;
+        private volatile boolean restaurando;
+        
+        EstadoMonitoramento(SessaoMonitoramento sessao) {
+            this.sessao = sessao;
+        }
+        
+        void marcarAlterada() {
+            alterada = true;
+        }
+        
+        void iniciarRestauracao() {
+            restaurando = true;
+        }
+        
+        /**
+         * Incorpora a sessão salva à sessão em uso: a sessão continua desde o início salvo, com as pausas
+         * já contadas; o estado de presença é o observado pelos frames novos
+         */
+        void concluirRestauracao(SessaoMonitoramento salva) {
+            trava.lock();
+            try {
+                if (salva != null && salva.getInicioSessao() != null && salva.getInicioSessao().isBefore(sessao.getInicioSessao())) {
+                    sessao.setInicioSessao(salva.getInicioSessao());
+                    sessao.setTotalPausas(sessao.getTotalPausas() + salva.getTotalPausas());
+                    sessao.setTempoSentadoMinutos(Math.max(sessao.getTempoSentadoMinutos(), salva.getTempoSentadoMinutos()));
+                    alterada = true;
+                }
+                restaurando = false;
+            } finally {
+                trava.unlock();
+            }
+        }
+        
+        /**
+         * Cópia da sessão para gravação, se houve alteração desde a última cópia
+         */
+        Optional<SessaoMonitoramento> copiarSessaoSeAlterada() {
+            if (!alterada || restaurando) {
+                return Optional.empty();
+            }
+            trava.lock();
+            try {
+                alterada = false;
+                return Optional.of(SessaoMonitoramento.builder()
+                    .usuarioId(sessao.getUsuarioId())
+                    .inicioSessao(sessao.getInicioSessao())
+                    .ultimoMovimento(sessao.getUltimoMovimento())
+                    .ausente(sessao.isAusente())
+                    .inicioAusencia(sessao.getInicioAusencia())
+                    .tempoSentadoMinutos(sessao.getTempoSentadoMinutos())
+                    .totalPausas(sessao.getTotalPausas())
+                    .build());
+            } finally {
+                trava.unlock();
+            }
+        }
+        
+        boolean possuiReferencia(int width, int height) {
+            return (referencia != null || fundo != null) && largura == width && altura == height;
+        }
+        
+        /**
+         * Copia a luminância do frame atual para o array da sessão, reaproveitando-o quando o tamanho não muda
+         */
+        void atualizarReferencia(byte[] luma, int width, int height, LocalDateTime timestamp) {
+            int tamanho = width * height;
+            if (referencia == null || referencia.length != tamanho) {
+                referencia = new byte[tamanho];
+            }
+            System.arraycopy(luma, 0, referencia, 0, tamanho);
+            this.largura = width;
+            this.altura = height;
+            this.timestampReferencia = timestamp;
+        }
+        
+        /**
+         * Cria o modelo de fundo no primeiro frame (ou na mudança de resolução); depois disso o fundo é
+         * atualizado em {@link ModeloFundo#compararEAtualizar} e aqui só se registra o horário
+         */
+        void registrarFundo(byte[] luma, int width, int height, LocalDateTime timestamp, int peso) {
+            if (fundo == null || largura != width || altura != height) {
+                fundo = new ModeloFundo(luma, width * height, peso);
+                this.largura = width;
+                this.altura = height;
+            }
+            this.timestampReferencia = timestamp;
+        }
+        
+        /**
+         * Descarta o frame de referência e o fundo (mudança das regiões de interesse); a sessão continua
+         */
+        void descartarReferencia() {
+            referencia = null;
+            fundo = null;
+        }
+        
+        int tamanhoReferencia() {
+            byte[] atual = referencia;
+            ModeloFundo modelo = fundo;
+            return (atual != null ? atual.length : 0) + (modelo != null ? modelo.tamanhoBytes() : 0);
+        }
     }
     
     @Data
@@ -352,12 +956,17 @@ public class PausaMonitorService {
     @Builder
     public static class ResultadoMonitoramento {
         private Integer usuarioId;
+        private boolean erro;
+        private boolean descartado;
+        private Integer proximoQuadroSegundos;
         private boolean movimentoDetectado;
         private int quantidadeMovimento;
         private boolean presente;
         private int tempoSentadoMinutos;
         private int totalPausas;
         private boolean sugerirAlongamento;
+        // Só a área das regiões de interesse foi analisada (false = frame inteiro)
+        private boolean regioesInteresseAplicadas;
         private String mensagem;
         private java.util.List<String> sugestoes;
         private LocalDateTime timestamp;
@@ -0,0 +1,116 @@
+package com.nexus.ai;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dica de roteamento do monitoramento de pausas entre várias instâncias (hash consistente)
+ *
+ * A detecção de movimento compara cada frame com o frame anterior do usuário, que fica só na memória do
+ * nó que o processou. Com pausa-monitor.cluster.nos configurado, cada usuário tem um nó responsável,
+ * informado nas respostas pelo header {@link #HEADER_NO}; o balanceador (ou o cliente) usa o header
+ * para manter os frames do usuário no mesmo nó. A adição ou remoção de um nó muda o responsável de
+ * apenas ~1/N dos usuários, que restauram a sessão pelo armazenamento compartilhado.
+ * 
+ * Requisições atendidas por um nó que não é o responsável são contadas em
+ * pausa.monitor.requisicoes.fora-do-no (balanceador ignorando a dica).
+ */
+@Component
+@Slf4j
+public class RoteamentoSessaoPausa implements MeterBinder {
+
+    public static final String HEADER_NO = "X-Pausa-Monitor-No";
+
+    private final NavigableMap<Integer, String> anel = new TreeMap<>();
+    private final String noAtual;
+    private final LongAdder foraDoNo = new LongAdder();
+
+    @Autowired
+    public RoteamentoSessaoPausa(@Value("${pausa-monitor.cluster.nos:}") String nos,
+                                 @Value("${pausa-monitor.cluster.no-atual:}") String noAtual,
+                                 @Value("${pausa-monitor.cluster.nos-virtuais:128}") int nosVirtuais) {
+        this(Arrays.stream(nos.split(",")).map(String::trim).filter(no -> !no.isEmpty()).toList(), noAtual, nosVirtuais);
+    }
+
+    RoteamentoSessaoPausa(List<String> nos, String noAtual, int nosVirtuais) {
+        this.noAtual = noAtual;
+        for (String no : nos) {
+            for (int i = 0; i < Math.max(1, nosVirtuais); i++) {
+                anel.put(hash(no + "#" + i), no);
+            }
+        }
+        if (!anel.isEmpty()) {
+            log.info("Monitoramento de pausas com {} nó(s) no anel de roteamento (nó atual: {})", nos.size(), noAtual);
+        }
+    }
+
+    /**
+     * Nó responsável pelos frames do usuário (vazio sem cluster configurado)
+     */
+    public Optional<String> noResponsavel(Integer usuarioId) {
+        if (anel.isEmpty() || usuarioId == null) {
+            return Optional.empty();
+        }
+        Map.Entry<Integer, String> entrada = anel.ceilingEntry(misturar(usuarioId));
+        return Optional.of((entrada != null ? entrada : anel.firstEntry()).getValue());
+    }
+
+    /**
+     * Nó responsável a informar na resposta de uma requisição deste nó; conta as requisições fora do nó
+     */
+    public Optional<String> rotear(Integer usuarioId) {
+        Optional<String> no = noResponsavel(usuarioId);
+        if (no.isPresent() && !no.get().equals(noAtual)) {
+            foraDoNo.increment();
+            log.debug("Usuário {} atendido pelo nó {}, responsável: {}", usuarioId, noAtual, no.get());
+        }
+        return no;
+    }
+
+    /**
+     * Se este nó é o responsável pelo usuário (sempre true sem cluster configurado)
+     */
+    public boolean responsavelLocal(Integer usuarioId) {
+        return noResponsavel(usuarioId).map(no -> no.equals(noAtual)).orElse(true);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("pausa.monitor.requisicoes.fora-do-no", foraDoNo, LongAdder::sum)
+            .description("Requisições de monitoramento atendidas por um nó diferente do responsável pelo usuário")
+            .register(registry);
+    }
+
+    // Hash estável entre JVMs (String.hashCode dos bytes UTF-8, com mistura final para espalhar no anel)
+    private static int hash(String valor) {
+        int h = 0;
+        for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+            h = 31 * h + b;
+        }
+        return misturar(h);
+    }
+
+    // Finalizador do MurmurHash3 (fmix32)
+    private static int misturar(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
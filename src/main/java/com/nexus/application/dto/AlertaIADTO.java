@@ -5,13 +5,14 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.Serializable;
 import java.time.LocalDate;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class AlertaIADTO {
+public class AlertaIADTO implements Serializable {
     private Integer idAlerta;
     private Integer idUsuario;
     private LocalDate dataAlerta;
@@ -9,11 +9,13 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.Serializable;
+
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class BadgeDTO {
+public class BadgeDTO implements Serializable {
     @Schema(description = "ID do badge (gerado automaticamente, não enviar no POST)", accessMode = Schema.AccessMode.READ_ONLY)
     private Integer idBadge;
     
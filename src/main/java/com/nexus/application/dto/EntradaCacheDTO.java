@@ -0,0 +1,25 @@
+package com.nexus.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntradaCacheDTO {
+    @Schema(description = "Chave da entrada (toString da chave do cache)")
+    private String chave;
+
+    @Schema(description = "Tipo do valor guardado (ex: PageImpl, ArrayList)")
+    private String tipoValor;
+
+    @Schema(description = "Tamanho estimado da entrada (chave + valor) em bytes")
+    private Long pesoBytes;
+
+    @Schema(description = "Segundos desde a gravação da entrada (nulo se o cache não expira por escrita)")
+    private Long idadeSegundos;
+}
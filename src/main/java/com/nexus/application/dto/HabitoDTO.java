@@ -8,13 +8,14 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.Serializable;
 import java.time.LocalDate;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class HabitoDTO {
+public class HabitoDTO implements Serializable {
     @Schema(description = "ID do hábito (gerado automaticamente, não enviar no POST)", accessMode = Schema.AccessMode.READ_ONLY)
     private Integer idHabito;
     
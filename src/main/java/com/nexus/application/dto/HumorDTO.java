@@ -9,13 +9,14 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.Serializable;
 import java.time.LocalDate;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class HumorDTO {
+public class HumorDTO implements Serializable {
     @Schema(description = "ID do humor (gerado automaticamente, não enviar no POST)", accessMode = Schema.AccessMode.READ_ONLY)
     private Integer idHumor;
     
@@ -0,0 +1,29 @@
+package com.nexus.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de um frame com horário de captura, usado no envio em lote do monitoramento de pausas
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Frame de vídeo com horário de captura")
+public class PausaMonitorFrameDTO {
+
+    @NotNull(message = "Frame é obrigatório")
+    @Schema(description = "Frame de vídeo em base64 (JPEG ou PNG)", example = "iVBORw0KGgoAAAANS...", required = true)
+    private String frameBase64;
+
+    @Schema(description = "Horário de captura do frame (opcional; se ausente, usa o horário do processamento)",
+            example = "2025-01-15T10:30:00")
+    private LocalDateTime timestamp;
+}
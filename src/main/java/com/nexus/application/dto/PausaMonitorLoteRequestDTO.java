@@ -0,0 +1,39 @@
+package com.nexus.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para envio em lote de frames do monitoramento de pausas
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Requisição em lote para monitoramento de pausas (frames com horário de captura)")
+public class PausaMonitorLoteRequestDTO {
+
+    public static final int MAXIMO_FRAMES = 120;
+
+    @NotNull(message = "ID do usuário é obrigatório")
+    @Schema(description = "ID do usuário", example = "1", required = true)
+    private Integer usuarioId;
+
+    @NotEmpty(message = "Informe ao menos um frame")
+    @Size(max = MAXIMO_FRAMES, message = "Máximo de " + MAXIMO_FRAMES + " frames por lote")
+    @Valid
+    @Schema(description = "Frames a processar; são ordenados pelo horário de captura", required = true)
+    private List<PausaMonitorFrameDTO> frames;
+
+    @Schema(description = "Resetar sessão de monitoramento antes do lote (opcional)", example = "false")
+    private Boolean resetarSessao;
+}
@@ -0,0 +1,41 @@
+package com.nexus.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para resposta do monitoramento de pausas em lote
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resposta do monitoramento de pausas em lote, com a linha do tempo por frame")
+public class PausaMonitorLoteResponseDTO {
+
+    @Schema(description = "ID do usuário", example = "1")
+    private Integer usuarioId;
+
+    @Schema(description = "Quantidade de frames processados", example = "12")
+    private int totalFrames;
+
+    @Schema(description = "Quantidade de frames com movimento detectado", example = "4")
+    private int framesComMovimento;
+
+    @Schema(description = "Quantidade de frames que não puderam ser processados", example = "0")
+    private int framesComErro;
+
+    @Schema(description = "Quantidade de frames descartados (fora de ordem em relação à sessão)", example = "0")
+    private int framesDescartados;
+
+    @Schema(description = "Estado após o último frame do lote")
+    private PausaMonitorResponseDTO estadoFinal;
+
+    @Schema(description = "Resultado de cada frame, em ordem de captura")
+    private List<PausaMonitorResponseDTO> linhaDoTempo;
+}
@@ -22,6 +22,9 @@ public class PausaMonitorResponseDTO {
     @Schema(description = "ID do usuário", example = "1")
     private Integer usuarioId;
 
+    @Schema(description = "Se o frame foi descartado sem alterar a sessão (outro frame do usuário em processamento ou frame fora de ordem)", example = "false")
+    private boolean descartado;
+
     @Schema(description = "Se movimento foi detectado no frame", example = "true")
     private boolean movimentoDetectado;
 
@@ -40,12 +43,19 @@ public class PausaMonitorResponseDTO {
     @Schema(description = "Se deve sugerir alongamento", example = "true")
     private boolean sugerirAlongamento;
 
+    @Schema(description = "Se só as regiões de interesse do usuário foram analisadas; false = frame inteiro " +
+            "(se o cliente havia definido regiões, deve reenviá-las)", example = "true")
+    private boolean regioesInteresseAplicadas;
+
     @Schema(description = "Mensagem descritiva do estado atual", example = "Movimento detectado. Usuário presente.")
     private String mensagem;
 
     @Schema(description = "Lista de sugestões baseadas no estado atual")
     private List<String> sugestoes;
 
+    @Schema(description = "Intervalo sugerido em segundos até o envio do próximo frame (curto em transições, longo com o usuário parado ou ausente)", example = "10")
+    private Integer proximoQuadroSegundos;
+
     @Schema(description = "Timestamp da análise", example = "2025-01-15T10:30:00")
     private LocalDateTime timestamp;
 }
@@ -0,0 +1,34 @@
+package com.nexus.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO das regiões de interesse (ROI) do monitoramento de pausas de um usuário
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Regiões de interesse: só o movimento dentro delas é considerado")
+public class PausaMonitorRoiDTO {
+
+    public static final int MAXIMO_REGIOES = 16;
+
+    @Schema(description = "ID do usuário (preenchido na resposta)", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
+    private Integer usuarioId;
+
+    @NotEmpty(message = "Informe ao menos uma região")
+    @Size(max = MAXIMO_REGIOES, message = "Máximo de " + MAXIMO_REGIOES + " regiões")
+    @Valid
+    @Schema(description = "Regiões (retângulos ou polígonos); na resposta todas vêm como polígonos", required = true)
+    private List<RegiaoInteresseDTO> regioes;
+}
@@ -0,0 +1,33 @@
+package com.nexus.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de um ponto de região de interesse, em coordenadas normalizadas (0..1) do frame
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Ponto em coordenadas normalizadas (0 = esquerda/topo, 1 = direita/base)")
+public class PontoRegiaoDTO {
+
+    @NotNull(message = "Coordenada x é obrigatória")
+    @DecimalMin(value = "0", message = "Coordenadas devem estar entre 0 e 1")
+    @DecimalMax(value = "1", message = "Coordenadas devem estar entre 0 e 1")
+    @Schema(description = "Posição horizontal", example = "0.25", required = true)
+    private Double x;
+
+    @NotNull(message = "Coordenada y é obrigatória")
+    @DecimalMin(value = "0", message = "Coordenadas devem estar entre 0 e 1")
+    @DecimalMax(value = "1", message = "Coordenadas devem estar entre 0 e 1")
+    @Schema(description = "Posição vertical", example = "0.1", required = true)
+    private Double y;
+}
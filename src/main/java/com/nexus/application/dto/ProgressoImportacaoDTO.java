@@ -0,0 +1,32 @@
+package com.nexus.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressoImportacaoDTO {
+    private String idImportacao;
+    private String tipo;
+
+    @Schema(description = "EM_ANDAMENTO, CONCLUIDA ou FALHOU (leitura do corpo interrompida)")
+    private String status;
+
+    private long linhasLidas;
+    private long linhasImportadas;
+    private long linhasRejeitadas;
+    private int lotesGravados;
+    private LocalDateTime iniciadoEm;
+    private LocalDateTime concluidoEm;
+
+    @Schema(description = "Primeiros erros por linha (ex: 'linha 12: nivelHumor: ...'); o total está em linhasRejeitadas")
+    private List<String> erros;
+}
@@ -0,0 +1,29 @@
+package com.nexus.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProximoBadgeDTO {
+    private Integer idUsuario;
+
+    @Schema(description = "Pontuação total atual do usuário (soma dos hábitos)")
+    private Integer pontuacaoAtual;
+
+    @Schema(description = "Pontos requeridos pelo próximo badge (nulo se o usuário já alcançou todos)")
+    private Integer pontosRequeridos;
+
+    @Schema(description = "Pontos que faltam para o próximo badge (0 se já alcançou todos)")
+    private Integer pontosRestantes;
+
+    @Schema(description = "Badges da próxima faixa de pontos (vazio se já alcançou todos)")
+    private List<BadgeDTO> badges;
+}
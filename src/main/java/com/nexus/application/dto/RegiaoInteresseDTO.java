@@ -0,0 +1,48 @@
+package com.nexus.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de uma região de interesse do monitoramento de pausas: retângulo (x, y, largura, altura)
+ * ou polígono (pontos), em coordenadas normalizadas (0..1) do frame
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Região de interesse: informe x, y, largura e altura (retângulo) ou pontos (polígono)")
+public class RegiaoInteresseDTO {
+
+    @DecimalMin(value = "0", message = "Coordenadas devem estar entre 0 e 1")
+    @DecimalMax(value = "1", message = "Coordenadas devem estar entre 0 e 1")
+    @Schema(description = "Canto esquerdo do retângulo", example = "0.25")
+    private Double x;
+
+    @DecimalMin(value = "0", message = "Coordenadas devem estar entre 0 e 1")
+    @DecimalMax(value = "1", message = "Coordenadas devem estar entre 0 e 1")
+    @Schema(description = "Topo do retângulo", example = "0.1")
+    private Double y;
+
+    @DecimalMin(value = "0", inclusive = false, message = "Largura deve ser maior que 0")
+    @DecimalMax(value = "1", message = "Largura deve ser no máximo 1")
+    @Schema(description = "Largura do retângulo", example = "0.5")
+    private Double largura;
+
+    @DecimalMin(value = "0", inclusive = false, message = "Altura deve ser maior que 0")
+    @DecimalMax(value = "1", message = "Altura deve ser no máximo 1")
+    @Schema(description = "Altura do retângulo", example = "0.8")
+    private Double altura;
+
+    @Valid
+    @Schema(description = "Vértices do polígono (mínimo 3), alternativa ao retângulo")
+    private List<PontoRegiaoDTO> pontos;
+}
@@ -8,6 +8,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
@@ -15,7 +16,7 @@ import java.time.LocalDate;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class SprintDTO {
+public class SprintDTO implements Serializable {
     @Schema(description = "ID da sprint (gerado automaticamente, não enviar no POST)", accessMode = Schema.AccessMode.READ_ONLY)
     private Integer idSprint;
     
@@ -10,13 +10,14 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.Serializable;
 import java.time.LocalDate;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class UsuarioDTO {
+public class UsuarioDTO implements Serializable {
     @Schema(description = "ID do usuário (gerado automaticamente, não enviar no POST)", accessMode = Schema.AccessMode.READ_ONLY)
     private Integer idUsuario;
     
@@ -1,35 +1,248 @@
 package com.nexus.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nexus.config.CachePoliticasProperties.Politica;
+import com.nexus.modules.cache.service.ArmazenamentoCacheL2;
+import com.nexus.modules.cache.service.BarramentoInvalidacaoCache;
+import com.nexus.modules.cache.service.CacheDoisNiveis;
+import com.nexus.modules.cache.service.EstatisticasCacheMicrometer;
+import com.nexus.modules.cache.service.EstimadorPesoCache;
+import com.nexus.modules.cache.service.RecarregadorCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
+/**
+ * Caches Caffeine com política própria por cache (ver {@link CachePoliticasProperties})
+ *
+ * - badges: catálogo global, TTL longo, poucas entradas e atualização em segundo plano das chaves acessadas
+ * - humor, habitos, sprints: páginas por usuário limitadas por bytes estimados, já que uma página de 200 linhas
+ *   é uma única entrada
+ *
+ * As políticas são validadas na inicialização: combinações inválidas impedem a subida da aplicação e as
+ * suspeitas (ex: política para um cache inexistente) são reportadas no log junto com a política efetiva de cada cache.
+ *
+ * Métricas: além das publicadas pelo Actuator para todo cache Caffeine (cache.gets, cache.puts, cache.evictions,
+ * cache.size...), cada cache publica cache.carregamento.tempo e cache.remocoes ({@link EstatisticasCacheMicrometer}),
+ * cache.limite (entradas ou bytes da política) e, nos caches por peso, cache.peso.estimado.
+ *
+ * Cada cache é um {@link CacheDoisNiveis}: Caffeine local + L2 compartilhado opcional (cache.l2.tipo=jdbc), com as
+ * invalidações repassadas aos outros nós pelo {@link BarramentoInvalidacaoCache} (RabbitMQ ou local ao processo).
+ * No L2 a entrada vale pelo expirar-apos-escrita da política (30 minutos se a política não tiver).
+ */
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CachePoliticasProperties.class)
+@Slf4j
 public class CacheConfig {
 
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager("humor", "sprints", "habitos", "badges");
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .expireAfterWrite(30, TimeUnit.MINUTES)
-                .maximumSize(1000)
-                .recordStats());
+    public CacheManager cacheManager(CachePoliticasProperties propriedades,
+                                     ObjectProvider<RecarregadorCache> recarregadores,
+                                     ObjectProvider<MeterRegistry> meterRegistry,
+                                     ObjectProvider<ArmazenamentoCacheL2> armazenamentoL2,
+                                     ObjectProvider<BarramentoInvalidacaoCache> barramento,
+                                     @Value("${spring.cache.cache-names:humor,sprints,habitos,badges}") List<String> nomes) {
+        Map<String, RecarregadorCache> porCache = new LinkedHashMap<>();
+        recarregadores.orderedStream().forEach(r -> porCache.put(r.cacheName(), r));
+
+        List<String> avisos = validar(propriedades, nomes, porCache);
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        ArmazenamentoCacheL2 l2 = armazenamentoL2.getIfAvailable();
+        BarramentoInvalidacaoCache barramentoInvalidacao = barramento.getIfAvailable();
+        // Identifica este nó nas mensagens de invalidação
+        String origem = UUID.randomUUID().toString();
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                Duration validadeL2 = propriedades.politicaDe(name).getExpirarAposEscrita();
+                CacheDoisNiveis doisNiveis = new CacheDoisNiveis(name, cache, isAllowNullValues(), l2,
+                        validadeL2 != null ? validadeL2 : Duration.ofMinutes(30), barramentoInvalidacao, origem);
+                if (registry != null) {
+                    FunctionCounter.builder("cache.cargas.suprimidas", doisNiveis, CacheDoisNiveis::getCargasSuprimidas)
+                            .description("Cargas duplicadas evitadas: chamadores que esperaram a carga da mesma chave")
+                            .tag("cache", name)
+                            .register(registry);
+                }
+                return doisNiveis;
+            }
+        };
+        // Lista fechada de caches: nomes desconhecidos não geram caches dinâmicos sem política
+        cacheManager.setCacheNames(Collections.emptyList());
+        for (String nome : nomes) {
+            Politica politica = propriedades.politicaDe(nome);
+            Cache<Object, Object> cache = criarCache(nome, politica, porCache.get(nome), registry);
+            if (registry != null) {
+                registrarMedidores(registry, nome, politica, cache);
+            }
+            cacheManager.registerCustomCache(nome, cache);
+            log.info("📋 Cache '{}': {}", nome, descrever(politica, porCache.containsKey(nome)));
+        }
+        avisos.forEach(aviso -> log.warn("⚠️ Cache: {}", aviso));
+        log.info("✅ {} cache(s) configurado(s), {} aviso(s) de política, L2: {}, invalidação entre nós: {}",
+                nomes.size(), avisos.size(), l2 != null ? ClassUtils.getUserClass(l2).getSimpleName() : "nenhum",
+                barramentoInvalidacao != null ? ClassUtils.getUserClass(barramentoInvalidacao).getSimpleName() : "nenhuma");
         return cacheManager;
     }
-}
 
+    /**
+     * Valida as políticas configuradas
+     *
+     * @return avisos de configuração suspeita (não impedem a subida)
+     * @throws IllegalStateException se alguma política for inválida
+     */
+    static List<String> validar(CachePoliticasProperties propriedades, List<String> nomes,
+                                Map<String, RecarregadorCache> recarregadores) {
+        List<String> erros = new ArrayList<>();
+        List<String> avisos = new ArrayList<>();
 
+        propriedades.getPoliticas().keySet().stream()
+                .filter(nome -> !nomes.contains(nome))
+                .forEach(nome -> avisos.add("política para '" + nome + "', que não está em spring.cache.cache-names (ignorada)"));
+        recarregadores.keySet().stream()
+                .filter(nome -> !nomes.contains(nome))
+                .forEach(nome -> avisos.add("recarregador para '" + nome + "', que não está em spring.cache.cache-names"));
 
+        for (String nome : nomes) {
+            Politica politica = propriedades.politicaDe(nome);
+            String prefixo = "'" + nome + "': ";
+            if (politica.getTamanhoMaximo() != null && politica.getPesoMaximo() != null) {
+                erros.add(prefixo + "tamanho-maximo e peso-maximo são exclusivos");
+            }
+            if (politica.getTamanhoMaximo() != null && politica.getTamanhoMaximo() <= 0) {
+                erros.add(prefixo + "tamanho-maximo deve ser positivo");
+            }
+            if (politica.getPesoMaximo() != null && politica.getPesoMaximo().toBytes() <= 0) {
+                erros.add(prefixo + "peso-maximo deve ser positivo");
+            }
+            verificarDuracao(erros, prefixo + "expirar-apos-escrita", politica.getExpirarAposEscrita());
+            verificarDuracao(erros, prefixo + "expirar-apos-acesso", politica.getExpirarAposAcesso());
+            verificarDuracao(erros, prefixo + "atualizar-apos-escrita", politica.getAtualizarAposEscrita());
 
+            if (politica.getTamanhoMaximo() == null && politica.getPesoMaximo() == null) {
+                avisos.add(prefixo + "sem limite de tamanho ou peso");
+            }
+            Duration atualizar = politica.getAtualizarAposEscrita();
+            if (atualizar != null) {
+                if (!recarregadores.containsKey(nome)) {
+                    avisos.add(prefixo + "atualizar-apos-escrita ignorado, não há RecarregadorCache para o cache");
+                } else if (politica.getExpirarAposEscrita() != null
+                        && atualizar.compareTo(politica.getExpirarAposEscrita()) >= 0) {
+                    avisos.add(prefixo + "atualizar-apos-escrita >= expirar-apos-escrita, a entrada expira antes de ser atualizada");
+                }
+            }
+        }
 
+        if (!erros.isEmpty()) {
+            throw new IllegalStateException("Políticas de cache inválidas: " + String.join("; ", erros));
+        }
+        return avisos;
+    }
 
+    private static void verificarDuracao(List<String> erros, String campo, Duration duracao) {
+        if (duracao != null && (duracao.isZero() || duracao.isNegative())) {
+            erros.add(campo + " deve ser positivo");
+        }
+    }
 
+    /**
+     * Cria o cache Caffeine da política. Com atualizar-apos-escrita e um recarregador, o cache é um LoadingCache
+     * cujo load não encontra nada (o @Cacheable calcula o valor) e cujo reload usa o recarregador.
+     */
+    static Cache<Object, Object> criarCache(String nome, Politica politica, RecarregadorCache recarregador,
+                                            MeterRegistry registry) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder();
+        if (registry != null) {
+            builder.recordStats(() -> new EstatisticasCacheMicrometer(registry, nome));
+        } else {
+            builder.recordStats();
+        }
+        if (politica.getExpirarAposEscrita() != null) {
+            builder.expireAfterWrite(politica.getExpirarAposEscrita());
+        }
+        if (politica.getExpirarAposAcesso() != null) {
+            builder.expireAfterAccess(politica.getExpirarAposAcesso());
+        }
+        if (politica.getPesoMaximo() != null) {
+            builder.maximumWeight(politica.getPesoMaximo().toBytes())
+                    .weigher((chave, valor) -> EstimadorPesoCache.pesar(chave, valor));
+        } else if (politica.getTamanhoMaximo() != null) {
+            builder.maximumSize(politica.getTamanhoMaximo());
+        }
 
+        if (politica.getAtualizarAposEscrita() == null || recarregador == null) {
+            return builder.build();
+        }
+        builder.refreshAfterWrite(politica.getAtualizarAposEscrita());
+        return builder.build(new CacheLoader<Object, Object>() {
+            @Override
+            public Object load(Object chave) {
+                return null;
+            }
 
+            @Override
+            public Object reload(Object chave, Object anterior) {
+                return recarregador.recarregar(chave);
+            }
+        });
+    }
+
+    private static void registrarMedidores(MeterRegistry registry, String nome, Politica politica,
+                                           Cache<Object, Object> cache) {
+        boolean porPeso = politica.getPesoMaximo() != null;
+        cache.policy().eviction().ifPresent(eviction -> Gauge.builder("cache.limite", eviction, e -> e.getMaximum())
+                .description("Limite da política do cache (entradas ou bytes estimados)")
+                .tag("cache", nome)
+                .tag("tipo", porPeso ? "bytes" : "entradas")
+                .register(registry));
+        if (porPeso) {
+            Gauge.builder("cache.peso.estimado", cache,
+                            c -> c.policy().eviction().map(e -> (double) e.weightedSize().orElse(0)).orElse(0.0))
+                    .description("Soma dos pesos (bytes estimados) das entradas do cache")
+                    .baseUnit("bytes")
+                    .tag("cache", nome)
+                    .register(registry);
+        }
+    }
 
+    private static String descrever(Politica politica, boolean temRecarregador) {
+        List<String> partes = new ArrayList<>();
+        if (politica.getPesoMaximo() != null) {
+            partes.add("peso máximo " + politica.getPesoMaximo());
+        } else if (politica.getTamanhoMaximo() != null) {
+            partes.add("tamanho máximo " + politica.getTamanhoMaximo());
+        }
+        if (politica.getExpirarAposEscrita() != null) {
+            partes.add("expira após escrita " + politica.getExpirarAposEscrita());
+        }
+        if (politica.getExpirarAposAcesso() != null) {
+            partes.add("expira após acesso " + politica.getExpirarAposAcesso());
+        }
+        if (politica.getAtualizarAposEscrita() != null && temRecarregador) {
+            partes.add("atualiza após escrita " + politica.getAtualizarAposEscrita());
+        }
+        return String.join(", ", partes);
+    }
+}
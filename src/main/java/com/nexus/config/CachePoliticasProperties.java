@@ -0,0 +1,69 @@
+package com.nexus.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Políticas dos caches Caffeine, por nome de cache (prefixo "cache")
+ *
+ * - cache.padrao.*: usada pelos caches sem política própria e para os campos não informados
+ * - cache.politicas.&lt;nome&gt;.*: política de um cache específico
+ *
+ * O limite é por quantidade de entradas (tamanho-maximo) ou por bytes estimados (peso-maximo), nunca os dois.
+ * Se a política do cache não informar nenhum dos dois, herda o limite do padrão.
+ */
+@Data
+@ConfigurationProperties(prefix = "cache")
+public class CachePoliticasProperties {
+
+    private Politica padrao = Politica.padrao();
+    private Map<String, Politica> politicas = new LinkedHashMap<>();
+
+    /**
+     * Política efetiva do cache: a política própria completada com os valores do padrão
+     */
+    public Politica politicaDe(String cacheName) {
+        Politica propria = politicas.get(cacheName);
+        if (propria == null) {
+            return padrao;
+        }
+        Politica efetiva = new Politica();
+        efetiva.setExpirarAposEscrita(valorOu(propria.getExpirarAposEscrita(), padrao.getExpirarAposEscrita()));
+        efetiva.setExpirarAposAcesso(valorOu(propria.getExpirarAposAcesso(), padrao.getExpirarAposAcesso()));
+        efetiva.setAtualizarAposEscrita(valorOu(propria.getAtualizarAposEscrita(), padrao.getAtualizarAposEscrita()));
+        if (propria.getTamanhoMaximo() == null && propria.getPesoMaximo() == null) {
+            efetiva.setTamanhoMaximo(padrao.getTamanhoMaximo());
+            efetiva.setPesoMaximo(padrao.getPesoMaximo());
+        } else {
+            efetiva.setTamanhoMaximo(propria.getTamanhoMaximo());
+            efetiva.setPesoMaximo(propria.getPesoMaximo());
+        }
+        return efetiva;
+    }
+
+    private static <T> T valorOu(T valor, T padrao) {
+        return valor != null ? valor : padrao;
+    }
+
+    @Data
+    public static class Politica {
+        private Duration expirarAposEscrita;
+        private Duration expirarAposAcesso;
+        // Atualização em segundo plano das entradas acessadas (exige um RecarregadorCache para o cache)
+        private Duration atualizarAposEscrita;
+        private Long tamanhoMaximo;
+        private DataSize pesoMaximo;
+
+        static Politica padrao() {
+            Politica politica = new Politica();
+            politica.setExpirarAposEscrita(Duration.ofMinutes(30));
+            politica.setTamanhoMaximo(1000L);
+            return politica;
+        }
+    }
+}
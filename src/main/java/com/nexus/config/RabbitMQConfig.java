@@ -1,5 +1,9 @@
 package com.nexus.config;
 
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
@@ -17,12 +21,29 @@ import org.springframework.context.annotation.Configuration;
 public class RabbitMQConfig {
 
     public static final String BURNOUT_ALERT_QUEUE = "burnout.alert.queue";
+    public static final String CACHE_INVALIDACAO_EXCHANGE = "cache.invalidacao.exchange";
 
     @Bean
     public Queue burnoutAlertQueue() {
         return new Queue(BURNOUT_ALERT_QUEUE, true);
     }
 
+    // Invalidação de cache entre nós: cada instância tem a sua fila (exclusiva, removida ao desconectar)
+    @Bean
+    public FanoutExchange cacheInvalidacaoExchange() {
+        return new FanoutExchange(CACHE_INVALIDACAO_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public Queue filaInvalidacaoCache() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding bindingInvalidacaoCache(FanoutExchange cacheInvalidacaoExchange, Queue filaInvalidacaoCache) {
+        return BindingBuilder.bind(filaInvalidacaoCache).to(cacheInvalidacaoExchange);
+    }
+
     @Bean
     public MessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
@@ -41,12 +41,16 @@ public class SecurityConfig {
                                 "/v3/api-docs/**",
                                 "/v3/api-docs",
                                 "/webjars/**",
-                                "/actuator/**",
+                                "/actuator/health/**",
+                                "/actuator/info",
                                 "/h2-console/**",
+                                "/ws/**", // WebSocket autentica o JWT no handshake (PausaMonitorHandshakeInterceptor)
                                 "/swagger-resources/**",
                                 "/configuration/**",
                                 "/error"
                         ).permitAll()
+                        // Métricas expõem rotas, caches e o monitor de pausas: só gestores
+                        .requestMatchers("/actuator/metrics", "/actuator/metrics/**").hasRole("GESTOR")
                         .requestMatchers("/ia/**").authenticated()
                         .anyRequest().authenticated()
                 )
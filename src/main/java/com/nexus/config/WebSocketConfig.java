@@ -0,0 +1,40 @@
+package com.nexus.config;
+
+import com.nexus.modules.ia.websocket.PausaMonitorHandshakeInterceptor;
+import com.nexus.modules.ia.websocket.PausaMonitorWebSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final PausaMonitorWebSocketHandler pausaMonitorWebSocketHandler;
+    private final PausaMonitorHandshakeInterceptor pausaMonitorHandshakeInterceptor;
+
+    @Value("${pausa-monitor.websocket.max-frame-bytes:2097152}")
+    private int maxFrameBytes;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(pausaMonitorWebSocketHandler, "/ws/pausa-monitor")
+                .addInterceptors(pausaMonitorHandshakeInterceptor)
+                .setAllowedOriginPatterns("*");
+    }
+
+    @Bean
+    public ServletServerContainerFactoryBean createWebSocketContainer() {
+        // Frames de webcam chegam como uma única mensagem binária; o padrão do container (8 KB) é pequeno demais
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxBinaryMessageBufferSize(maxFrameBytes);
+        container.setMaxTextMessageBufferSize(8192);
+        return container;
+    }
+}
@@ -19,7 +19,8 @@ import java.time.LocalDate;
 public class AlertaIA {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sq_mt_alertas_ia")
+    @SequenceGenerator(name = "sq_mt_alertas_ia", sequenceName = "sq_mt_alertas_ia", allocationSize = 50)
     @Column(name = "id_alerta")
     private Integer idAlerta;
 
@@ -21,7 +21,8 @@ import java.time.LocalDateTime;
 public class ConversaIA {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sq_mt_conversas_ia")
+    @SequenceGenerator(name = "sq_mt_conversas_ia", sequenceName = "sq_mt_conversas_ia", allocationSize = 50)
     @Column(name = "id_conversa")
     private Integer idConversa;
 
@@ -0,0 +1,42 @@
+package com.nexus.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrada do segundo nível de cache (L2), compartilhado entre as instâncias da aplicação
+ * Lida e gravada por JDBC (ArmazenamentoCacheL2Jdbc); a entidade existe para o esquema da tabela
+ */
+@Entity
+@Table(name = "t_mt_cache_l2",
+        uniqueConstraints = @UniqueConstraint(name = "uk_cache_l2_nome_chave", columnNames = {"nome_cache", "chave"}),
+        indexes = @Index(name = "idx_cache_l2_expiracao", columnList = "expira_em"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntradaCacheL2 {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_entrada")
+    private Long idEntrada;
+
+    @Column(name = "nome_cache", nullable = false, length = 50)
+    private String nomeCache;
+
+    @Column(name = "chave", nullable = false, length = 500)
+    private String chave;
+
+    @Lob
+    @Column(name = "valor", nullable = false)
+    private byte[] valor;
+
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+}
@@ -17,7 +17,8 @@ import java.time.LocalDate;
 public class Habito {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sq_mt_habitos")
+    @SequenceGenerator(name = "sq_mt_habitos", sequenceName = "sq_mt_habitos", allocationSize = 50)
     @Column(name = "id_habito")
     private Integer idHabito;
 
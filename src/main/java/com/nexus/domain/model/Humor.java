@@ -19,7 +19,8 @@ import java.time.LocalDate;
 public class Humor {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sq_mt_humor")
+    @SequenceGenerator(name = "sq_mt_humor", sequenceName = "sq_mt_humor", allocationSize = 50)
     @Column(name = "id_humor")
     private Integer idHumor;
 
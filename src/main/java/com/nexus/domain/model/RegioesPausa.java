@@ -0,0 +1,40 @@
+package com.nexus.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Regiões de interesse do monitoramento de pausas de um usuário (uma linha por usuário)
+ * Gravadas quando o usuário as define, para que o nó que assumir o usuário (falha ou mudança de rota)
+ * continue analisando só a área escolhida
+ */
+@Entity
+@Table(name = "t_mt_regioes_pausa")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegioesPausa {
+
+    @Id
+    @Column(name = "id_usuario")
+    private Integer idUsuario;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @MapsId
+    @JoinColumn(name = "id_usuario")
+    private Usuario usuario;
+
+    // Polígonos normalizados: separados por ';', pontos por espaço e coordenadas por ','
+    @Lob
+    @Column(name = "poligonos", nullable = false)
+    private String poligonos;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+}
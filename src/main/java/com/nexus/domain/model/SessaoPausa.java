@@ -0,0 +1,58 @@
+package com.nexus.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot de uma sessão de monitoramento de pausas
+ * Gravado periodicamente pelo monitoramento (write-behind); cada sessão é uma linha, o que também
+ * mantém o histórico de sessões para análises
+ */
+@Entity
+@Table(name = "t_mt_sessoes_pausa",
+        uniqueConstraints = @UniqueConstraint(name = "uk_sessao_pausa_usuario_inicio", columnNames = {"id_usuario", "inicio_sessao"}),
+        indexes = @Index(name = "idx_sessao_pausa_atualizacao", columnList = "id_usuario, atualizado_em"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessaoPausa {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_sessao")
+    private Integer idSessao;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_usuario", nullable = false)
+    private Usuario usuario;
+
+    @Column(name = "inicio_sessao", nullable = false)
+    private LocalDateTime inicioSessao;
+
+    @Column(name = "ultimo_movimento")
+    private LocalDateTime ultimoMovimento;
+
+    @Column(name = "ausente", nullable = false)
+    private Boolean ausente;
+
+    @Column(name = "inicio_ausencia")
+    private LocalDateTime inicioAusencia;
+
+    @Column(name = "tempo_sentado_minutos")
+    private Integer tempoSentadoMinutos;
+
+    @Column(name = "total_pausas")
+    private Integer totalPausas;
+
+    @Column(name = "encerrada", nullable = false)
+    private Boolean encerrada;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+}
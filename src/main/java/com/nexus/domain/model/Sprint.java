@@ -20,7 +20,8 @@ import java.time.LocalDate;
 public class Sprint {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sq_mt_sprints")
+    @SequenceGenerator(name = "sq_mt_sprints", sequenceName = "sq_mt_sprints", allocationSize = 50)
     @Column(name = "id_sprint")
     private Integer idSprint;
 
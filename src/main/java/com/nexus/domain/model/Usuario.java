@@ -17,7 +17,8 @@ import java.time.LocalDate;
 public class Usuario {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sq_mt_usuarios")
+    @SequenceGenerator(name = "sq_mt_usuarios", sequenceName = "sq_mt_usuarios", allocationSize = 50)
     @Column(name = "id_usuario")
     private Integer idUsuario;
 
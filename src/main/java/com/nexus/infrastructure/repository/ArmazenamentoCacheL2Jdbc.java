@@ -0,0 +1,249 @@
+package com.nexus.infrastructure.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nexus.messaging.events.InvalidacaoCacheEvent;
+import com.nexus.modules.cache.service.ArmazenamentoCacheL2;
+import com.nexus.modules.cache.service.SerializacaoCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Segundo nível de cache na tabela t_mt_cache_l2 (JDBC), compartilhado pelas instâncias (cache.l2.tipo=jdbc)
+ *
+ * - Valores em serialização Java: os DTOs guardados nos caches implementam Serializable; valores que não
+ *   serializam ou passam de cache.l2.tamanho-maximo-entrada ficam só no L1
+ * - Gravações rodam num pool próprio e pequeno, fora da requisição; leituras e remoções são síncronas, para que
+ *   uma invalidação já valha quando os outros nós recebem a mensagem
+ * - A remoção sempre vence a gravação pendente: cada remoção (local ou recebida de outro nó) fica registrada com um
+ *   número de sequência; a gravação que entrou na fila antes dela é descartada e, se o MERGE já tiver sido feito
+ *   quando a remoção aparece, a entrada é apagada de novo. Gravações que esperam na fila mais que
+ *   cache.l2.gravacao.espera-maxima são descartadas (o registro de remoções só guarda esse intervalo)
+ * - A desserialização só aceita classes da aplicação, do JDK e do Spring Data/Cache ({@link SerializacaoCache})
+ * - Entradas expiradas são ignoradas na leitura e apagadas periodicamente
+ */
+@Repository
+@ConditionalOnProperty(name = "cache.l2.tipo", havingValue = "jdbc")
+@Slf4j
+public class ArmazenamentoCacheL2Jdbc implements ArmazenamentoCacheL2 {
+
+    private static final int TAMANHO_MAXIMO_CHAVE = 500;
+
+    private static final String SQL_LER =
+            "SELECT valor FROM t_mt_cache_l2 WHERE nome_cache = ? AND chave = ? AND expira_em > ?";
+
+    private static final String SQL_MERGE =
+            "MERGE INTO t_mt_cache_l2 c USING (SELECT 1 FROM DUAL) d " +
+            "ON (c.nome_cache = ? AND c.chave = ?) " +
+            "WHEN MATCHED THEN UPDATE SET valor = ?, expira_em = ? " +
+            "WHEN NOT MATCHED THEN INSERT (nome_cache, chave, valor, expira_em) VALUES (?, ?, ?, ?)";
+
+    private static final String SQL_REMOVER = "DELETE FROM t_mt_cache_l2 WHERE nome_cache = ? AND chave = ?";
+
+    private static final String SQL_REMOVER_PREFIXO =
+            "DELETE FROM t_mt_cache_l2 WHERE nome_cache = ? AND chave LIKE ? ESCAPE '\\'";
+
+    private static final String SQL_LIMPAR = "DELETE FROM t_mt_cache_l2 WHERE nome_cache = ?";
+
+    private static final String SQL_EXPIRADAS = "DELETE FROM t_mt_cache_l2 WHERE expira_em <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long tamanhoMaximoEntrada;
+    private final ExecutorService executor;
+    private final long esperaMaximaNanos;
+
+    // Remoções recentes (chave, prefixo ou cache inteiro) -> sequência em que aconteceram
+    private final AtomicLong sequencia = new AtomicLong();
+    private final Cache<Remocao, Long> remocoes;
+
+    public ArmazenamentoCacheL2Jdbc(JdbcTemplate jdbcTemplate,
+                                    @Value("${cache.l2.tamanho-maximo-entrada:1MB}") DataSize tamanhoMaximoEntrada,
+                                    @Value("${cache.l2.gravacao.threads:2}") int threads,
+                                    @Value("${cache.l2.gravacao.fila:1000}") int fila,
+                                    @Value("${cache.l2.gravacao.espera-maxima:30s}") Duration esperaMaxima) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tamanhoMaximoEntrada = tamanhoMaximoEntrada.toBytes();
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+        // Guarda as remoções um pouco além da espera máxima: nenhuma gravação aceita é mais antiga que isso
+        this.remocoes = Caffeine.newBuilder().expireAfterWrite(esperaMaxima.multipliedBy(2)).build();
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, fila)), tarefa -> {
+                    Thread thread = new Thread(tarefa, "cache-l2-gravacao-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public Optional<Object> ler(String cacheName, String chave) {
+        if (chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            return Optional.empty();
+        }
+        List<byte[]> valores = jdbcTemplate.query(SQL_LER, (rs, linha) -> rs.getBytes("valor"),
+                cacheName, chave, Timestamp.valueOf(LocalDateTime.now()));
+        if (valores.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(SerializacaoCache.desserializar(valores.get(0)));
+        } catch (IOException | ClassNotFoundException e) {
+            // Versão incompatível da classe (ex: deploy novo): descarta a entrada
+            log.debug("Entrada '{}' do L2 '{}' ilegível, descartada: {}", chave, cacheName, e.getMessage());
+            remover(cacheName, chave);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void gravar(String cacheName, String chave, Object valor, Duration validade) {
+        if (chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            return;
+        }
+        long enfileiradaEm = System.nanoTime();
+        long sequenciaInicial = sequencia.get();
+        try {
+            executor.execute(() -> gravarAgora(cacheName, chave, valor, validade, enfileiradaEm, sequenciaInicial));
+        } catch (RejectedExecutionException e) {
+            log.debug("Fila de gravação do L2 cheia, entrada '{}' do cache '{}' fica só no L1", chave, cacheName);
+        }
+    }
+
+    private void gravarAgora(String cacheName, String chave, Object valor, Duration validade,
+                             long enfileiradaEm, long sequenciaInicial) {
+        if (System.nanoTime() - enfileiradaEm > esperaMaximaNanos) {
+            log.debug("Gravação da entrada '{}' do cache '{}' esperou demais na fila, descartada", chave, cacheName);
+            return;
+        }
+        if (removidaDesde(cacheName, chave, sequenciaInicial)) {
+            log.debug("Entrada '{}' do cache '{}' removida antes da gravação no L2, descartada", chave, cacheName);
+            return;
+        }
+        byte[] bytes;
+        try {
+            bytes = SerializacaoCache.serializar(valor);
+        } catch (IOException e) {
+            log.debug("Valor do cache '{}' não serializável ({}), fica só no L1", cacheName, e.getMessage());
+            return;
+        }
+        if (bytes.length > tamanhoMaximoEntrada) {
+            log.debug("Entrada '{}' do cache '{}' com {} bytes, acima do limite do L2", chave, cacheName, bytes.length);
+            return;
+        }
+        Timestamp expiraEm = Timestamp.valueOf(LocalDateTime.now().plus(validade));
+        try {
+            jdbcTemplate.update(SQL_MERGE, ps -> {
+                ps.setString(1, cacheName);
+                ps.setString(2, chave);
+                ps.setBinaryStream(3, new ByteArrayInputStream(bytes), bytes.length);
+                ps.setTimestamp(4, expiraEm);
+                ps.setString(5, cacheName);
+                ps.setString(6, chave);
+                ps.setBinaryStream(7, new ByteArrayInputStream(bytes), bytes.length);
+                ps.setTimestamp(8, expiraEm);
+            });
+            // Remoção registrada entre a verificação acima e o MERGE: apaga de novo o valor antigo
+            if (removidaDesde(cacheName, chave, sequenciaInicial)) {
+                jdbcTemplate.update(SQL_REMOVER, cacheName, chave);
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ Erro ao gravar entrada do cache '{}' no L2 (não crítico): {}", cacheName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void remover(String cacheName, String chave) {
+        registrarRemocao(cacheName, InvalidacaoCacheEvent.Tipo.CHAVE, chave);
+        jdbcTemplate.update(SQL_REMOVER, cacheName, chave);
+    }
+
+    @Override
+    public void removerPorPrefixo(String cacheName, String prefixo) {
+        registrarRemocao(cacheName, InvalidacaoCacheEvent.Tipo.PREFIXO, prefixo);
+        String padrao = prefixo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        jdbcTemplate.update(SQL_REMOVER_PREFIXO, cacheName, padrao);
+    }
+
+    @Override
+    public void limpar(String cacheName) {
+        registrarRemocao(cacheName, InvalidacaoCacheEvent.Tipo.TUDO, null);
+        jdbcTemplate.update(SQL_LIMPAR, cacheName);
+    }
+
+    @Override
+    public void descartarGravacoesPendentes(String cacheName, InvalidacaoCacheEvent.Tipo tipo, String chave) {
+        registrarRemocao(cacheName, tipo, chave);
+    }
+
+    private void registrarRemocao(String cacheName, InvalidacaoCacheEvent.Tipo tipo, String chave) {
+        remocoes.put(new Remocao(cacheName, tipo, tipo == InvalidacaoCacheEvent.Tipo.TUDO ? "" : chave),
+                sequencia.incrementAndGet());
+    }
+
+    /**
+     * Alguma remoção que alcança a chave (ela própria, um prefixo dela ou o cache inteiro) aconteceu depois da
+     * sequência informada
+     */
+    private boolean removidaDesde(String cacheName, String chave, long sequenciaInicial) {
+        if (depois(new Remocao(cacheName, InvalidacaoCacheEvent.Tipo.TUDO, ""), sequenciaInicial)
+                || depois(new Remocao(cacheName, InvalidacaoCacheEvent.Tipo.CHAVE, chave), sequenciaInicial)) {
+            return true;
+        }
+        for (int fim = 0; fim <= chave.length(); fim++) {
+            if (depois(new Remocao(cacheName, InvalidacaoCacheEvent.Tipo.PREFIXO, chave.substring(0, fim)),
+                    sequenciaInicial)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean depois(Remocao remocao, long sequenciaInicial) {
+        Long registrada = remocoes.getIfPresent(remocao);
+        return registrada != null && registrada > sequenciaInicial;
+    }
+
+    private record Remocao(String cacheName, InvalidacaoCacheEvent.Tipo tipo, String chave) {
+    }
+
+    /**
+     * Apaga as entradas expiradas
+     */
+    @Scheduled(fixedDelayString = "${cache.l2.limpeza-ms:600000}")
+    public void removerExpiradas() {
+        try {
+            int removidas = jdbcTemplate.update(SQL_EXPIRADAS, Timestamp.valueOf(LocalDateTime.now()));
+            if (removidas > 0) {
+                log.debug("🗑️ {} entrada(s) expirada(s) removida(s) do L2", removidas);
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ Erro ao remover entradas expiradas do L2 (não crítico): {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void finalizar() {
+        executor.shutdown();
+    }
+}
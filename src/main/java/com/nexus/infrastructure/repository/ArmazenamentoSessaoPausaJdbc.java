@@ -0,0 +1,213 @@
+package com.nexus.infrastructure.repository;
+
+import com.nexus.ai.ArmazenamentoSessaoPausa;
+import com.nexus.ai.PausaMonitorService.SessaoMonitoramento;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Armazenamento das sessões de monitoramento de pausas na tabela t_mt_sessoes_pausa (JDBC)
+ *
+ * - Gravação em lote (batchUpdate) com MERGE por (id_usuario, inicio_sessao): cada sessão é uma linha,
+ *   atualizada a cada ciclo enquanto estiver ativa, o que mantém o histórico para análises
+ * - Leituras de restauração rodam num pool próprio e pequeno, nunca na thread que processa o frame;
+ *   o encerramento (reset) é síncrono
+ * - A tabela é compartilhada pelas instâncias da aplicação: um nó que recebe o usuário de outro
+ *   (falha ou mudança de rota) restaura a sessão gravada por ele (pausa-monitor.sessao.armazenamento=jdbc)
+ * - Regiões de interesse numa linha por usuário em t_mt_regioes_pausa, como texto: polígonos separados
+ *   por ';', pontos por espaço e coordenadas por ',' (ex: "0.1,0.2 0.9,0.2 0.5,0.8")
+ */
+@Repository
+@ConditionalOnProperty(name = "pausa-monitor.sessao.armazenamento", havingValue = "jdbc", matchIfMissing = true)
+@Slf4j
+public class ArmazenamentoSessaoPausaJdbc implements ArmazenamentoSessaoPausa {
+
+    private static final String SQL_MERGE =
+            "MERGE INTO t_mt_sessoes_pausa s USING (SELECT 1 FROM DUAL) d " +
+            "ON (s.id_usuario = ? AND s.inicio_sessao = ?) " +
+            "WHEN MATCHED THEN UPDATE SET ultimo_movimento = ?, ausente = ?, inicio_ausencia = ?, " +
+            "tempo_sentado_minutos = ?, total_pausas = ?, atualizado_em = ? " +
+            "WHEN NOT MATCHED THEN INSERT (id_usuario, inicio_sessao, ultimo_movimento, ausente, inicio_ausencia, " +
+            "tempo_sentado_minutos, total_pausas, encerrada, atualizado_em) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SQL_ULTIMA_ABERTA =
+            "SELECT inicio_sessao, ultimo_movimento, ausente, inicio_ausencia, tempo_sentado_minutos, total_pausas " +
+            "FROM t_mt_sessoes_pausa WHERE id_usuario = ? AND encerrada = ? AND atualizado_em >= ? " +
+            "ORDER BY atualizado_em DESC";
+
+    private static final String SQL_ENCERRAR =
+            "UPDATE t_mt_sessoes_pausa SET encerrada = ? WHERE id_usuario = ? AND encerrada = ?";
+
+    private static final String SQL_MERGE_REGIOES =
+            "MERGE INTO t_mt_regioes_pausa r USING (SELECT 1 FROM DUAL) d ON (r.id_usuario = ?) " +
+            "WHEN MATCHED THEN UPDATE SET poligonos = ?, atualizado_em = ? " +
+            "WHEN NOT MATCHED THEN INSERT (id_usuario, poligonos, atualizado_em) VALUES (?, ?, ?)";
+
+    private static final String SQL_LER_REGIOES = "SELECT poligonos FROM t_mt_regioes_pausa WHERE id_usuario = ?";
+
+    private static final String SQL_REMOVER_REGIOES = "DELETE FROM t_mt_regioes_pausa WHERE id_usuario = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int tamanhoLote;
+    private final ExecutorService executor;
+
+    public ArmazenamentoSessaoPausaJdbc(JdbcTemplate jdbcTemplate,
+                                        @Value("${pausa-monitor.persistencia.tamanho-lote:200}") int tamanhoLote,
+                                        @Value("${pausa-monitor.persistencia.restauracao.threads:2}") int threads,
+                                        @Value("${pausa-monitor.persistencia.restauracao.fila:1000}") int fila) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tamanhoLote = Math.max(1, tamanhoLote);
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, fila)), tarefa -> {
+                    Thread thread = new Thread(tarefa, "sessao-pausa-restauracao-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public void salvar(List<SessaoMonitoramento> sessoes) {
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(SQL_MERGE, sessoes, tamanhoLote, (ps, sessao) -> {
+            Timestamp inicio = Timestamp.valueOf(sessao.getInicioSessao());
+            Timestamp ultimoMovimento = timestamp(sessao.getUltimoMovimento());
+            Timestamp inicioAusencia = timestamp(sessao.getInicioAusencia());
+            ps.setInt(1, sessao.getUsuarioId());
+            ps.setTimestamp(2, inicio);
+            ps.setTimestamp(3, ultimoMovimento);
+            ps.setBoolean(4, sessao.isAusente());
+            ps.setTimestamp(5, inicioAusencia);
+            ps.setInt(6, sessao.getTempoSentadoMinutos());
+            ps.setInt(7, sessao.getTotalPausas());
+            ps.setTimestamp(8, agora);
+            ps.setInt(9, sessao.getUsuarioId());
+            ps.setTimestamp(10, inicio);
+            ps.setTimestamp(11, ultimoMovimento);
+            ps.setBoolean(12, sessao.isAusente());
+            ps.setTimestamp(13, inicioAusencia);
+            ps.setInt(14, sessao.getTempoSentadoMinutos());
+            ps.setInt(15, sessao.getTotalPausas());
+            ps.setBoolean(16, false);
+            ps.setTimestamp(17, agora);
+        });
+    }
+
+    @Override
+    public CompletableFuture<Optional<SessaoMonitoramento>> carregar(Integer usuarioId, LocalDateTime desde) {
+        try {
+            return CompletableFuture.supplyAsync(() -> buscarUltimaAberta(usuarioId, desde), executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("⚠️ Fila de restauração de sessões cheia, sessão do usuário {} inicia do zero", usuarioId);
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+    }
+
+    /**
+     * Síncrono (na thread do reset): roda fora do pool de restauração para que uma restauração pedida pelo
+     * próximo frame nunca seja executada antes do UPDATE e traga de volta a sessão resetada
+     */
+    @Override
+    public void encerrar(Integer usuarioId) {
+        try {
+            jdbcTemplate.update(SQL_ENCERRAR, true, usuarioId, false);
+        } catch (Exception e) {
+            log.warn("⚠️ Erro ao encerrar sessões do usuário {} (não crítico): {}", usuarioId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void salvarRegioes(Integer usuarioId, List<double[][]> poligonos) {
+        if (poligonos.isEmpty()) {
+            jdbcTemplate.update(SQL_REMOVER_REGIOES, usuarioId);
+            return;
+        }
+        String texto = regioesComoTexto(poligonos);
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(SQL_MERGE_REGIOES, usuarioId, texto, agora, usuarioId, texto, agora);
+    }
+
+    @Override
+    public CompletableFuture<Optional<List<double[][]>>> carregarRegioes(Integer usuarioId) {
+        try {
+            return CompletableFuture.supplyAsync(() -> jdbcTemplate.query(SQL_LER_REGIOES,
+                    (rs, linha) -> regioesDoTexto(rs.getString("poligonos")), usuarioId).stream().findFirst(), executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("⚠️ Fila de restauração de sessões cheia, regiões de interesse do usuário {} não restauradas", usuarioId);
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+    }
+
+    static String regioesComoTexto(List<double[][]> poligonos) {
+        StringBuilder texto = new StringBuilder();
+        for (double[][] poligono : poligonos) {
+            if (texto.length() > 0) {
+                texto.append(';');
+            }
+            for (int i = 0; i < poligono.length; i++) {
+                if (i > 0) {
+                    texto.append(' ');
+                }
+                texto.append(poligono[i][0]).append(',').append(poligono[i][1]);
+            }
+        }
+        return texto.toString();
+    }
+
+    static List<double[][]> regioesDoTexto(String texto) {
+        List<double[][]> poligonos = new ArrayList<>();
+        for (String poligono : texto.split(";")) {
+            String[] pontos = poligono.trim().split(" ");
+            double[][] coordenadas = new double[pontos.length][];
+            for (int i = 0; i < pontos.length; i++) {
+                String[] xy = pontos[i].split(",");
+                coordenadas[i] = new double[]{Double.parseDouble(xy[0]), Double.parseDouble(xy[1])};
+            }
+            poligonos.add(coordenadas);
+        }
+        return poligonos;
+    }
+
+    private Optional<SessaoMonitoramento> buscarUltimaAberta(Integer usuarioId, LocalDateTime desde) {
+        List<SessaoMonitoramento> sessoes = jdbcTemplate.query(SQL_ULTIMA_ABERTA, (rs, linha) -> SessaoMonitoramento.builder()
+                .usuarioId(usuarioId)
+                .inicioSessao(rs.getTimestamp("inicio_sessao").toLocalDateTime())
+                .ultimoMovimento(dataHora(rs.getTimestamp("ultimo_movimento")))
+                .ausente(rs.getBoolean("ausente"))
+                .inicioAusencia(dataHora(rs.getTimestamp("inicio_ausencia")))
+                .tempoSentadoMinutos(rs.getInt("tempo_sentado_minutos"))
+                .totalPausas(rs.getInt("total_pausas"))
+                .build(), usuarioId, false, Timestamp.valueOf(desde));
+        return sessoes.stream().findFirst();
+    }
+
+    private static Timestamp timestamp(LocalDateTime dataHora) {
+        return dataHora != null ? Timestamp.valueOf(dataHora) : null;
+    }
+
+    private static LocalDateTime dataHora(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    @PreDestroy
+    public void finalizar() {
+        executor.shutdown();
+    }
+}
@@ -4,14 +4,23 @@ import com.nexus.domain.model.Sprint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface SprintRepository extends JpaRepository<Sprint, Integer> {
     Page<Sprint> findByUsuario_IdUsuario(Integer idUsuario, Pageable pageable);
     Optional<Sprint> findByUsuario_IdUsuarioAndNomeSprint(Integer idUsuario, String nomeSprint);
     boolean existsByUsuario_IdUsuarioAndNomeSprint(Integer idUsuario, String nomeSprint);
+
+    // Pares "idUsuario:nomeSprint" já gravados entre os usuários e nomes informados (uma consulta por lote)
+    @Query("SELECT CONCAT(CAST(s.usuario.idUsuario AS String), ':', s.nomeSprint) FROM Sprint s " +
+            "WHERE s.usuario.idUsuario IN :ids AND s.nomeSprint IN :nomes")
+    Set<String> findChavesExistentes(@Param("ids") Collection<Integer> ids, @Param("nomes") Collection<String> nomes);
 }
 
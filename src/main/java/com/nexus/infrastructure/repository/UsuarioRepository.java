@@ -2,14 +2,21 @@ package com.nexus.infrastructure.repository;
 
 import com.nexus.domain.model.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Integer> {
     Optional<Usuario> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.idUsuario FROM Usuario u WHERE u.idUsuario IN :ids")
+    Set<Integer> findIdsExistentes(@Param("ids") Collection<Integer> ids);
 }
 
 
@@ -0,0 +1,31 @@
+package com.nexus.messaging.consumer;
+
+import com.nexus.messaging.events.InvalidacaoCacheEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recebe as invalidações de cache dos outros nós e as repassa como eventos do processo, o mesmo caminho
+ * do barramento local (CacheService remove a cópia local; BadgeService descarta o índice do catálogo)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "spring.rabbitmq.host")
+public class InvalidacaoCacheConsumer {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @RabbitListener(queues = "#{filaInvalidacaoCache.name}")
+    public void consumirInvalidacao(InvalidacaoCacheEvent evento) {
+        try {
+            eventPublisher.publishEvent(evento);
+        } catch (Exception e) {
+            log.error("Erro ao aplicar invalidação de cache recebida: {}", evento, e);
+        }
+    }
+}
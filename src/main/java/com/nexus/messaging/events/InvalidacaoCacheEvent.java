@@ -0,0 +1,33 @@
+package com.nexus.messaging.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Invalidação de cache feita num nó, repassada aos demais para que removam a cópia local (L1)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvalidacaoCacheEvent implements Serializable {
+
+    public enum Tipo {
+        // Uma chave (toString da chave do cache)
+        CHAVE,
+        // Todas as chaves que começam com o valor (ex: páginas de um usuário)
+        PREFIXO,
+        // O cache inteiro
+        TUDO
+    }
+
+    // Identificador do nó que fez a invalidação (ignorado por ele mesmo ao receber)
+    private String origem;
+    private String cacheName;
+    private Tipo tipo;
+    private String chave;
+}
@@ -0,0 +1,25 @@
+package com.nexus.messaging.producer;
+
+import com.nexus.messaging.events.InvalidacaoCacheEvent;
+import com.nexus.modules.cache.service.BarramentoInvalidacaoCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Barramento de invalidação sem RabbitMQ: as invalidações viram eventos do próprio processo
+ * Com uma única instância não há outro nó a avisar; o evento mantém o mesmo caminho de aplicação (CacheService)
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnExpression("'${spring.rabbitmq.host:}'.isEmpty()")
+public class InvalidacaoCacheLocalProducer implements BarramentoInvalidacaoCache {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publicar(InvalidacaoCacheEvent evento) {
+        eventPublisher.publishEvent(evento);
+    }
+}
@@ -0,0 +1,30 @@
+package com.nexus.messaging.producer;
+
+import com.nexus.config.RabbitMQConfig;
+import com.nexus.messaging.events.InvalidacaoCacheEvent;
+import com.nexus.modules.cache.service.BarramentoInvalidacaoCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "spring.rabbitmq.host")
+public class InvalidacaoCacheProducer implements BarramentoInvalidacaoCache {
+
+    private final RabbitTemplate rabbitTemplate;
+
+    @Override
+    public void publicar(InvalidacaoCacheEvent evento) {
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.CACHE_INVALIDACAO_EXCHANGE, "", evento);
+            log.debug("Invalidação de cache publicada: {}", evento);
+        } catch (Exception e) {
+            log.warn("⚠️ Erro ao publicar invalidação do cache '{}' (outros nós podem servir dados antigos até o TTL): {}",
+                    evento.getCacheName(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.nexus.modules.alertas.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nexus.domain.model.AlertaIA;
+import com.nexus.infrastructure.repository.AlertaIARepository;
+import com.nexus.infrastructure.repository.UsuarioRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Gravação assíncrona e deduplicada de alertas gerados no caminho dos frames (ex: PAUSA_SUGERIDA)
+ *
+ * - Deduplicação em memória por usuário + tipo de alerta: o mesmo evento (ex: o bloco de 30 minutos
+ *   sentado que disparou a sugestão) gera um único registro, mesmo que vários frames o reportem
+ * - Os alertas aceitos vão para uma fila limitada e são gravados em lote (saveAll) por uma tarefa agendada,
+ *   fora da thread que processa o frame
+ * - A deduplicação só vale para alertas que chegaram à fila: fila cheia ou lote que falhou liberam o evento,
+ *   e o próximo frame que o reportar gera o registro
+ */
+@Service
+@Slf4j
+public class AlertaIAEscritaService {
+
+    private final AlertaIARepository alertaIARepository;
+    private final UsuarioRepository usuarioRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Último evento registrado por "usuario:tipo"
+    private final Cache<String, Long> ultimoEvento;
+    private final BlockingQueue<AlertaPendente> fila;
+    private final int tamanhoLote;
+    private final AtomicBoolean gravando = new AtomicBoolean();
+
+    public AlertaIAEscritaService(AlertaIARepository alertaIARepository,
+                                  UsuarioRepository usuarioRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${alertas.deduplicacao.janela-minutos:30}") long janelaMinutos,
+                                  @Value("${alertas.escrita.capacidade-fila:10000}") int capacidadeFila,
+                                  @Value("${alertas.escrita.tamanho-lote:200}") int tamanhoLote) {
+        this.alertaIARepository = alertaIARepository;
+        this.usuarioRepository = usuarioRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ultimoEvento = Caffeine.newBuilder()
+                .expireAfterWrite(janelaMinutos, TimeUnit.MINUTES)
+                .maximumSize(100_000)
+                .build();
+        this.fila = new LinkedBlockingQueue<>(capacidadeFila);
+        this.tamanhoLote = Math.max(1, tamanhoLote);
+    }
+
+    /**
+     * Registra um alerta para gravação assíncrona, a menos que o mesmo evento já tenha sido registrado
+     * para o usuário e tipo dentro da janela de deduplicação
+     *
+     * @param evento identifica a ocorrência (ex: bloco de 30 minutos da sessão); o mesmo valor não gera novo registro
+     * @return true se o alerta foi aceito para gravação
+     */
+    public boolean registrar(Integer usuarioId, String tipoAlerta, long evento, String mensagem,
+                             Integer nivelRisco, LocalDate dataAlerta) {
+        String chave = usuarioId + ":" + tipoAlerta;
+        boolean[] novo = {false};
+        Long[] substituido = {null};
+        ultimoEvento.asMap().compute(chave, (k, anterior) -> {
+            novo[0] = anterior == null || anterior != evento;
+            substituido[0] = anterior;
+            return evento;
+        });
+        if (!novo[0]) {
+            log.debug("Alerta {} do usuário {} já registrado para o evento {}", tipoAlerta, usuarioId, evento);
+            return false;
+        }
+
+        if (!fila.offer(new AlertaPendente(usuarioId, tipoAlerta, evento, mensagem, nivelRisco, dataAlerta))) {
+            // Devolve a deduplicação ao evento anterior: este ainda não tem registro
+            if (substituido[0] == null) {
+                ultimoEvento.asMap().remove(chave, evento);
+            } else {
+                ultimoEvento.asMap().replace(chave, evento, substituido[0]);
+            }
+            log.warn("⚠️ Fila de alertas cheia, alerta {} do usuário {} descartado (não crítico)", tipoAlerta, usuarioId);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Grava os alertas pendentes em lotes
+     */
+    @Scheduled(fixedDelayString = "${alertas.escrita.intervalo-ms:2000}")
+    public void gravarPendentes() {
+        if (!gravando.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<AlertaPendente> lote = new ArrayList<>(tamanhoLote);
+            while (fila.drainTo(lote, tamanhoLote) > 0) {
+                gravarLote(lote);
+                lote.clear();
+            }
+        } finally {
+            gravando.set(false);
+        }
+    }
+
+    private void gravarLote(List<AlertaPendente> lote) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<AlertaIA> alertas = new ArrayList<>(lote.size());
+                for (AlertaPendente pendente : lote) {
+                    alertas.add(AlertaIA.builder()
+                            .usuario(usuarioRepository.getReferenceById(pendente.getUsuarioId()))
+                            .dataAlerta(pendente.getDataAlerta())
+                            .tipoAlerta(pendente.getTipoAlerta())
+                            .mensagem(pendente.getMensagem())
+                            .nivelRisco(pendente.getNivelRisco())
+                            .build());
+                }
+                alertaIARepository.saveAll(alertas);
+            });
+            log.info("✅ {} alerta(s) gravado(s) em lote", lote.size());
+        } catch (Exception e) {
+            // Libera os eventos do lote para que o próximo frame que os reportar gere o registro
+            for (AlertaPendente pendente : lote) {
+                ultimoEvento.asMap().remove(pendente.getUsuarioId() + ":" + pendente.getTipoAlerta(), pendente.getEvento());
+            }
+            log.warn("⚠️ Erro ao gravar lote de {} alerta(s) (não crítico): {}", lote.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Grava o que ainda estiver na fila ao desligar a aplicação
+     */
+    @PreDestroy
+    public void finalizar() {
+        gravarPendentes();
+    }
+
+    int pendentes() {
+        return fila.size();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class AlertaPendente {
+        private final Integer usuarioId;
+        private final String tipoAlerta;
+        private final long evento;
+        private final String mensagem;
+        private final Integer nivelRisco;
+        private final LocalDate dataAlerta;
+    }
+}
@@ -6,6 +6,7 @@ import com.nexus.domain.model.AlertaIA;
 import com.nexus.infrastructure.repository.AlertaIARepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -30,6 +31,10 @@ public class AlertaIAService {
                 .map(this::toDTO);
     }
 
+    /**
+     * Alertas não são alterados depois de gravados, então a entrada do cache 'alertas-id' só sai por tamanho ou TTL
+     */
+    @Cacheable(value = "alertas-id", key = "#id", sync = true)
     public AlertaIADTO buscarPorId(Integer id) {
         AlertaIA alerta = alertaIARepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Alerta não encontrado"));
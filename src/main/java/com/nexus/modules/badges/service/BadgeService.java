@@ -4,24 +4,44 @@ import com.nexus.application.dto.BadgeDTO;
 import com.nexus.application.mapper.BadgeMapper;
 import com.nexus.domain.model.Badge;
 import com.nexus.infrastructure.repository.BadgeRepository;
+import com.nexus.messaging.events.InvalidacaoCacheEvent;
+import com.nexus.modules.cache.service.CacheService;
+import com.nexus.modules.cache.service.RecarregadorCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class BadgeService {
+public class BadgeService implements RecarregadorCache {
 
     private final BadgeRepository badgeRepository;
     private final BadgeMapper badgeMapper;
 
+    // Lazy: o CacheManager depende deste serviço (RecarregadorCache do cache 'badges')
+    @Autowired
+    @Lazy
+    private CacheService cacheService;
+
+    // Índice do catálogo para a atribuição de badges; null até o primeiro uso ou depois de uma invalidação
+    private volatile CatalogoBadges catalogo;
+
+    // Geração do catálogo: toda invalidação avança; uma carga só instala o índice se a geração não mudou desde o início
+    private final AtomicLong geracaoCatalogo = new AtomicLong();
+
     @Transactional
     @CacheEvict(value = "badges", allEntries = true)
     public BadgeDTO criar(BadgeDTO dto) {
@@ -29,11 +49,14 @@ public class BadgeService {
         Badge badge = badgeMapper.toEntity(dto);
         Badge saved = badgeRepository.save(badge);
         badgeRepository.flush(); // Garantir que os dados sejam persistidos imediatamente
+        recarregarCatalogoAposCommit();
         log.info("Badge criado e salvo no banco: ID={}, Nome={}", saved.getIdBadge(), saved.getNomeBadge());
-        return badgeMapper.toDTO(saved);
+        BadgeDTO criado = badgeMapper.toDTO(saved);
+        cacheService.atualizarPorId("badges-id", criado.getIdBadge(), criado);
+        return criado;
     }
 
-    @Cacheable(value = "badges")
+    @Cacheable(value = "badges", sync = true)
     public List<BadgeDTO> listarTodos() {
         log.debug("🔍 Buscando badges - Verificando cache primeiro...");
         List<BadgeDTO> result = badgeRepository.findAll().stream()
@@ -43,6 +66,22 @@ public class BadgeService {
         return result;
     }
 
+    @Override
+    public String cacheName() {
+        return "badges";
+    }
+
+    /**
+     * Atualização em segundo plano do catálogo (cache.politicas.badges.atualizar-apos-escrita):
+     * a única chave do cache é a lista completa
+     */
+    @Override
+    public Object recarregar(Object chave) {
+        log.debug("🔄 Atualizando cache 'badges' em segundo plano");
+        return listarTodos();
+    }
+
+    @Cacheable(value = "badges-id", key = "#id", sync = true)
     public BadgeDTO buscarPorId(Integer id) {
         Badge badge = badgeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Badge não encontrado"));
@@ -60,13 +99,86 @@ public class BadgeService {
         badge.setPontosRequeridos(dto.getPontosRequeridos());
 
         Badge updated = badgeRepository.save(badge);
-        return badgeMapper.toDTO(updated);
+        recarregarCatalogoAposCommit();
+        BadgeDTO atualizado = badgeMapper.toDTO(updated);
+        cacheService.atualizarPorId("badges-id", id, atualizado);
+        return atualizado;
     }
 
     @Transactional
     @CacheEvict(value = "badges", allEntries = true)
     public void deletar(Integer id) {
         badgeRepository.deleteById(id);
+        cacheService.evictarPorId("badges-id", id);
+        recarregarCatalogoAposCommit();
+    }
+
+    /**
+     * Índice do catálogo por pontos requeridos, carregado do banco no primeiro uso
+     */
+    public CatalogoBadges catalogo() {
+        CatalogoBadges atual = catalogo;
+        if (atual == null) {
+            atual = carregarCatalogo(geracaoCatalogo.get());
+        }
+        return atual;
+    }
+
+    /**
+     * Reconstrói o índice a partir do banco e o troca de uma vez; cargas iniciadas antes desta são descartadas
+     */
+    public CatalogoBadges recarregarCatalogo() {
+        return carregarCatalogo(invalidarCatalogo());
+    }
+
+    /**
+     * Outro nó alterou o catálogo (invalidação do cache 'badges'): o índice é recarregado no próximo uso
+     */
+    @EventListener
+    public void aoInvalidarCache(InvalidacaoCacheEvent evento) {
+        if ("badges".equals(evento.getCacheName())) {
+            invalidarCatalogo();
+        }
+    }
+
+    private long invalidarCatalogo() {
+        synchronized (geracaoCatalogo) {
+            catalogo = null;
+            return geracaoCatalogo.incrementAndGet();
+        }
+    }
+
+    /**
+     * Lê o catálogo e só o instala se nenhuma invalidação aconteceu desde o início da leitura:
+     * uma carga lenta e antiga nunca sobrescreve o índice de uma recarga mais nova
+     */
+    private CatalogoBadges carregarCatalogo(long geracao) {
+        CatalogoBadges novo = CatalogoBadges.de(badgeRepository.findAll().stream()
+                .map(badgeMapper::toDTO)
+                .collect(Collectors.toList()));
+        synchronized (geracaoCatalogo) {
+            if (geracaoCatalogo.get() != geracao) {
+                log.debug("⏭️ Carga do catálogo de badges descartada: o catálogo mudou durante a leitura");
+                CatalogoBadges vigente = catalogo;
+                return vigente != null ? vigente : novo;
+            }
+            catalogo = novo;
+        }
+        log.debug("📋 Catálogo de badges indexado: {} badge(s)", novo.tamanho());
+        return novo;
+    }
+
+    private void recarregarCatalogoAposCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recarregarCatalogo();
+                }
+            });
+        } else {
+            recarregarCatalogo();
+        }
     }
 }
 
@@ -0,0 +1,66 @@
+package com.nexus.modules.badges.service;
+
+import com.nexus.application.dto.BadgeDTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Índice imutável do catálogo de badges por pontos requeridos
+ *
+ * Construído de uma vez a partir do banco e substituído por inteiro quando o catálogo muda (BadgeService),
+ * então pode ser lido por várias threads sem sincronização. As consultas são O(log n) no número de faixas
+ * de pontos, sem ida ao banco.
+ */
+public final class CatalogoBadges {
+
+    private static final CatalogoBadges VAZIO = new CatalogoBadges(new TreeMap<>());
+
+    // Vários badges podem exigir a mesma pontuação
+    private final NavigableMap<Integer, List<BadgeDTO>> porPontos;
+
+    private CatalogoBadges(TreeMap<Integer, List<BadgeDTO>> porPontos) {
+        this.porPontos = Collections.unmodifiableNavigableMap(porPontos);
+    }
+
+    public static CatalogoBadges de(Collection<BadgeDTO> badges) {
+        if (badges.isEmpty()) {
+            return VAZIO;
+        }
+        TreeMap<Integer, List<BadgeDTO>> porPontos = new TreeMap<>();
+        for (BadgeDTO badge : badges) {
+            porPontos.computeIfAbsent(badge.getPontosRequeridos(), p -> new ArrayList<>()).add(badge);
+        }
+        porPontos.replaceAll((pontos, lista) -> List.copyOf(lista));
+        return new CatalogoBadges(porPontos);
+    }
+
+    /**
+     * Badges com pontos requeridos menores ou iguais à pontuação, em ordem crescente de pontos
+     */
+    public List<BadgeDTO> elegiveis(int pontuacao) {
+        NavigableMap<Integer, List<BadgeDTO>> faixa = porPontos.headMap(pontuacao, true);
+        if (faixa.isEmpty()) {
+            return List.of();
+        }
+        List<BadgeDTO> elegiveis = new ArrayList<>();
+        faixa.values().forEach(elegiveis::addAll);
+        return elegiveis;
+    }
+
+    /**
+     * Pontos e badges da próxima faixa acima da pontuação (null se a pontuação já alcança todos)
+     */
+    public Map.Entry<Integer, List<BadgeDTO>> proximaFaixa(int pontuacao) {
+        return porPontos.higherEntry(pontuacao);
+    }
+
+    public int tamanho() {
+        return porPontos.values().stream().mapToInt(List::size).sum();
+    }
+}
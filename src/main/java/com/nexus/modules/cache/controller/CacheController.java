@@ -1,74 +1,97 @@
 package com.nexus.modules.cache.controller;
 
-import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.nexus.application.dto.EntradaCacheDTO;
 import com.nexus.modules.cache.service.CacheService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.CacheManager;
-import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
-// DESABILITADO: Endpoint de cache removido
-/*
+/**
+ * Administração dos caches: estatísticas, inspeção e invalidação pontual de chaves
+ * As métricas contínuas (hit rate, tempo de carga, cargas suprimidas, descartes, peso) ficam no Actuator: /actuator/metrics/cache.*
+ */
 @RestController
 @RequestMapping("/api/cache")
 @RequiredArgsConstructor
-@Tag(name = "Cache", description = "Gerenciamento e demonstração de cache (Caffeine)")
+@Tag(name = "Cache", description = "Estatísticas, inspeção e invalidação dos caches (Caffeine)")
 @SecurityRequirement(name = "bearerAuth")
 public class CacheController {
 
+    private static final int LIMITE_MAXIMO_ENTRADAS = 500;
+
     private final CacheService cacheService;
-    private final CacheManager cacheManager;
 
     @GetMapping("/stats")
     @Operation(
         summary = "Obter estatísticas do cache",
-        description = "Retorna estatísticas detalhadas de todos os caches (hit rate, miss rate, tamanho, etc.) " +
-                     "para demonstrar o funcionamento do sistema de cache."
+        description = "Retorna, para cada cache, acertos, falhas, hit rate, tempo médio de carga, cargas suprimidas " +
+                     "(chamadores que esperaram a carga de outro), descartes, " +
+                     "tamanho e limite da política (entradas ou bytes estimados)."
     )
     @PreAuthorize("hasAnyRole('PROFISSIONAL', 'GESTOR')")
     public ResponseEntity<Map<String, Object>> obterEstatisticas() {
-        Map<String, Object> stats = new HashMap<>();
-        
-        cacheManager.getCacheNames().forEach(cacheName -> {
-            CaffeineCache cache = (CaffeineCache) cacheManager.getCache(cacheName);
-            if (cache != null) {
-                CacheStats cacheStats = cache.getNativeCache().stats();
-                Map<String, Object> cacheInfo = new HashMap<>();
-                cacheInfo.put("hitCount", cacheStats.hitCount());
-                cacheInfo.put("missCount", cacheStats.missCount());
-                cacheInfo.put("hitRate", String.format("%.2f%%", cacheStats.hitRate() * 100));
-                cacheInfo.put("missRate", String.format("%.2f%%", cacheStats.missRate() * 100));
-                cacheInfo.put("requestCount", cacheStats.requestCount());
-                cacheInfo.put("evictionCount", cacheStats.evictionCount());
-                cacheInfo.put("averageLoadPenalty", cacheStats.averageLoadPenalty());
-                cacheInfo.put("size", cache.getNativeCache().estimatedSize());
-                stats.put(cacheName, cacheInfo);
-            }
-        });
-        
+        Map<String, Map<String, Object>> stats = cacheService.estatisticas();
         Map<String, Object> response = new HashMap<>();
         response.put("caches", stats);
-        response.put("totalCaches", cacheManager.getCacheNames().size());
-        response.put("message", "Cache está ativo e funcionando! Use os endpoints de listagem para ver o cache em ação.");
-        
+        response.put("totalCaches", stats.size());
         return ResponseEntity.ok(response);
     }
 
-    @PostMapping("/clear/{cacheName}")
+    @GetMapping("/{cacheName}/chaves")
     @Operation(
-        summary = "Limpar cache específico",
-        description = "Limpa um cache específico para demonstrar a invalidação de cache."
+        summary = "Listar entradas do cache",
+        description = "Lista chaves, tipo do valor, tamanho estimado e idade das entradas. " +
+                     "O prefixo filtra as chaves (ex: '1:' para as páginas do usuário 1). Não altera as estatísticas."
     )
     @PreAuthorize("hasRole('GESTOR')")
-    public ResponseEntity<Map<String, String>> limparCache(@PathVariable String cacheName) {
+    public ResponseEntity<List<EntradaCacheDTO>> listarEntradas(
+            @PathVariable("cacheName") String cacheName,
+            @RequestParam(value = "prefixo", required = false) String prefixo,
+            @RequestParam(value = "limite", defaultValue = "100") int limite) {
+        int limiteEfetivo = Math.max(1, Math.min(limite, LIMITE_MAXIMO_ENTRADAS));
+        return ResponseEntity.ok(cacheService.listarEntradas(cacheName, prefixo, limiteEfetivo));
+    }
+
+    @GetMapping("/{cacheName}/chave")
+    @Operation(summary = "Inspecionar uma entrada do cache", description = "A chave vai como parâmetro (ex: chave=1:0:20:UNSORTED)")
+    @PreAuthorize("hasRole('GESTOR')")
+    public ResponseEntity<EntradaCacheDTO> inspecionar(@PathVariable("cacheName") String cacheName, @RequestParam("chave") String chave) {
+        return cacheService.inspecionar(cacheName, chave)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{cacheName}/chave")
+    @Operation(summary = "Invalidar uma entrada do cache",
+               description = "204 quando a invalidação foi feita. Com L2/barramento configurados ela vale sempre para o L2 " +
+                             "e os demais nós, mesmo que a chave não esteja nesta instância; 404 só em cache apenas local sem a chave")
+    @PreAuthorize("hasRole('GESTOR')")
+    public ResponseEntity<Void> evictarChave(@PathVariable("cacheName") String cacheName, @RequestParam("chave") String chave) {
+        return cacheService.evictarChave(cacheName, chave)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @DeleteMapping("/{cacheName}/usuario/{idUsuario}")
+    @Operation(summary = "Invalidar as entradas de um usuário", description = "Remove as páginas do usuário sem afetar os demais")
+    @PreAuthorize("hasRole('GESTOR')")
+    public ResponseEntity<Void> evictarPorUsuario(@PathVariable("cacheName") String cacheName, @PathVariable("idUsuario") Integer idUsuario) {
+        cacheService.evictarPorUsuario(cacheName, idUsuario);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/clear/{cacheName}")
+    @Operation(summary = "Limpar cache específico")
+    @PreAuthorize("hasRole('GESTOR')")
+    public ResponseEntity<Map<String, String>> limparCache(@PathVariable("cacheName") String cacheName) {
         cacheService.limparCache(cacheName);
         Map<String, String> response = new HashMap<>();
         response.put("message", "Cache '" + cacheName + "' limpo com sucesso!");
@@ -77,10 +100,7 @@ public class CacheController {
     }
 
     @PostMapping("/clear-all")
-    @Operation(
-        summary = "Limpar todos os caches",
-        description = "Limpa todos os caches para demonstrar a invalidação completa."
-    )
+    @Operation(summary = "Limpar todos os caches")
     @PreAuthorize("hasRole('GESTOR')")
     public ResponseEntity<Map<String, String>> limparTodosCaches() {
         cacheService.limparTodosCaches();
@@ -88,26 +108,4 @@ public class CacheController {
         response.put("message", "Todos os caches foram limpos com sucesso!");
         return ResponseEntity.ok(response);
     }
-
-    @GetMapping("/test")
-    @Operation(
-        summary = "Testar cache",
-        description = "Endpoint de teste para demonstrar o funcionamento do cache. " +
-                     "Chame este endpoint múltiplas vezes para ver o cache em ação."
-    )
-    @PreAuthorize("hasAnyRole('PROFISSIONAL', 'GESTOR')")
-    public ResponseEntity<Map<String, Object>> testarCache() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("message", "Cache está funcionando! Verifique os logs para ver '🔍 Buscando...' e '✅ Dados retornados do cache'.");
-        response.put("instruction", "Chame endpoints como GET /api/badges múltiplas vezes para ver o cache em ação. " +
-                                   "A primeira chamada buscará do banco, as próximas virão do cache.");
-        response.put("endpoints", new String[]{
-            "GET /api/badges - Listar badges (cacheável)",
-            "GET /api/humor/usuario/{id} - Listar humor (cacheável)",
-            "GET /api/habitos/usuario/{id} - Listar hábitos (cacheável)",
-            "GET /api/sprints/usuario/{id} - Listar sprints (cacheável)"
-        });
-        return ResponseEntity.ok(response);
-    }
 }
-*/
@@ -0,0 +1,324 @@
+package com.nexus.modules.cache.service;
+
+import com.nexus.messaging.events.InvalidacaoCacheEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Aquecimento dos caches após reinício (cache.aquecimento.habilitado=true)
+ *
+ * - No desligamento gracioso, grava em disco local as entradas mais usadas de cada cache (até
+ *   cache.aquecimento.entradas-por-cache, as mais frequentes primeiro)
+ * - Na subida, uma thread em segundo plano relê o arquivo e devolve as entradas ao L1, sem bloquear a aplicação
+ *   e parando ao fim de cache.aquecimento.tempo-maximo. O arquivo é apagado depois de lido.
+ * - Snapshot mais velho que cache.aquecimento.idade-maxima é descartado: escritas feitas por outras instâncias
+ *   enquanto esta estava parada não chegaram até ela
+ * - Entradas recarregadas vão só para o L1 e só se a chave ainda não foi carregada: não regravam o L2 nem
+ *   publicam invalidação para os outros nós
+ * - Invalidações vistas enquanto o aquecimento não termina (deste nó ou de outros) valem contra o snapshot: a
+ *   entrada alcançada ainda não relida é pulada, e a já relida sai do L1 se ainda tiver o valor do snapshot
+ */
+@Service
+@ConditionalOnProperty(name = "cache.aquecimento.habilitado", havingValue = "true")
+@Slf4j
+public class AquecimentoCacheService {
+
+    private static final int VERSAO_ARQUIVO = 1;
+    private static final int FIM_DAS_ENTRADAS = -1;
+
+    private final CacheManager cacheManager;
+    private final Path arquivo;
+    private final int entradasPorCache;
+    private final Duration idadeMaxima;
+    private final Duration tempoMaximo;
+
+    // Invalidações e entradas relidas desde a subida, até o fim do aquecimento (por cache); guardadas pela trava
+    private final Object trava = new Object();
+    private final Map<String, InvalidacoesVistas> invalidacoes = new HashMap<>();
+    private final Map<String, Map<Object, Object>> recarregadas = new HashMap<>();
+    private volatile boolean aquecendo = true;
+
+    public AquecimentoCacheService(CacheManager cacheManager,
+                                   @Value("${cache.aquecimento.arquivo:${java.io.tmpdir}/nexus-cache-snapshot.bin}") Path arquivo,
+                                   @Value("${cache.aquecimento.entradas-por-cache:500}") int entradasPorCache,
+                                   @Value("${cache.aquecimento.idade-maxima:15m}") Duration idadeMaxima,
+                                   @Value("${cache.aquecimento.tempo-maximo:20s}") Duration tempoMaximo) {
+        this.cacheManager = cacheManager;
+        this.arquivo = arquivo;
+        this.entradasPorCache = Math.max(0, entradasPorCache);
+        this.idadeMaxima = idadeMaxima;
+        this.tempoMaximo = tempoMaximo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoSubir() {
+        if (!Files.exists(arquivo)) {
+            encerrarAquecimento();
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                carregar();
+            } catch (Exception e) {
+                log.warn("⚠️ Erro ao aquecer os caches (não crítico): {}", e.getMessage());
+            }
+        }, "cache-aquecimento");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Invalidação (local ou de outro nó) durante o aquecimento: o snapshot não pode trazer de volta a entrada
+     */
+    @EventListener
+    public void aoInvalidarCache(InvalidacaoCacheEvent evento) {
+        if (!aquecendo || evento.getCacheName() == null) {
+            return;
+        }
+        synchronized (trava) {
+            if (!aquecendo) {
+                return;
+            }
+            invalidacoes.computeIfAbsent(evento.getCacheName(), nome -> new InvalidacoesVistas()).registrar(evento);
+            Map<Object, Object> relidas = recarregadas.get(evento.getCacheName());
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine = nativo(evento.getCacheName());
+            if (relidas == null || caffeine == null) {
+                return;
+            }
+            relidas.entrySet().removeIf(relida -> {
+                if (!InvalidacoesVistas.alcanca(evento, relida.getKey())) {
+                    return false;
+                }
+                caffeine.asMap().remove(relida.getKey(), relida.getValue());
+                return true;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void aoDesligar() {
+        try {
+            salvar();
+        } catch (Exception e) {
+            log.warn("⚠️ Erro ao gravar o snapshot dos caches (não crítico): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Grava o snapshot (arquivo temporário + troca atômica, para nunca deixar um arquivo pela metade)
+     *
+     * @return entradas gravadas
+     */
+    public int salvar() throws IOException {
+        if (arquivo.getParent() != null) {
+            Files.createDirectories(arquivo.getParent());
+        }
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        int gravadas = 0;
+        try (DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporario)))) {
+            saida.writeInt(VERSAO_ARQUIVO);
+            saida.writeLong(System.currentTimeMillis());
+            for (String cacheName : cacheManager.getCacheNames()) {
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine = nativo(cacheName);
+                if (caffeine == null) {
+                    continue;
+                }
+                saida.writeUTF(cacheName);
+                for (Map.Entry<Object, Object> entrada : maisUsadas(caffeine).entrySet()) {
+                    byte[] chave;
+                    byte[] valor;
+                    try {
+                        chave = SerializacaoCache.serializar(entrada.getKey());
+                        valor = SerializacaoCache.serializar(entrada.getValue());
+                    } catch (IOException e) {
+                        continue; // valor não serializável: fica de fora
+                    }
+                    saida.writeInt(chave.length);
+                    saida.write(chave);
+                    saida.writeInt(valor.length);
+                    saida.write(valor);
+                    gravadas++;
+                }
+                saida.writeInt(FIM_DAS_ENTRADAS);
+            }
+        }
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("💾 Snapshot dos caches gravado em {}: {} entrada(s)", arquivo, gravadas);
+        return gravadas;
+    }
+
+    /**
+     * Relê o snapshot e devolve as entradas aos caches, dentro do tempo máximo
+     *
+     * @return entradas recarregadas
+     */
+    public int carregar() throws IOException {
+        long inicio = System.nanoTime();
+        long limite = inicio + tempoMaximo.toNanos();
+        int carregadas = 0;
+        int ignoradas = 0;
+        int invalidadas = 0;
+        boolean completo = false;
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(arquivo)))) {
+            if (entrada.readInt() != VERSAO_ARQUIVO) {
+                log.info("♻️ Snapshot dos caches em formato antigo, descartado");
+                return 0;
+            }
+            Duration idade = Duration.ofMillis(System.currentTimeMillis() - entrada.readLong());
+            if (idade.compareTo(idadeMaxima) > 0) {
+                log.info("♻️ Snapshot dos caches com {}s, acima da idade máxima ({}s), descartado",
+                        idade.toSeconds(), idadeMaxima.toSeconds());
+                return 0;
+            }
+            while (System.nanoTime() < limite) {
+                String cacheName;
+                try {
+                    cacheName = entrada.readUTF();
+                } catch (EOFException fim) {
+                    completo = true;
+                    break;
+                }
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine = nativo(cacheName);
+                int tamanho;
+                while ((tamanho = entrada.readInt()) != FIM_DAS_ENTRADAS && System.nanoTime() < limite) {
+                    byte[] chave = entrada.readNBytes(tamanho);
+                    byte[] valor = entrada.readNBytes(entrada.readInt());
+                    if (caffeine == null) {
+                        continue; // cache removido da configuração desde o snapshot
+                    }
+                    try {
+                        switch (recarregar(cacheName, caffeine, SerializacaoCache.desserializar(chave),
+                                SerializacaoCache.desserializar(valor))) {
+                            case RECARREGADA -> carregadas++;
+                            case INVALIDADA -> invalidadas++;
+                            default -> { } // já carregada depois da subida
+                        }
+                    } catch (IOException | ClassNotFoundException e) {
+                        ignoradas++; // classe alterada ou não permitida desde o snapshot
+                    }
+                }
+            }
+        } finally {
+            encerrarAquecimento();
+            Files.deleteIfExists(arquivo);
+        }
+        long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+        if (!completo) {
+            log.info("⏱️ Aquecimento dos caches interrompido pelo tempo máximo ({} ms)", tempoMaximo.toMillis());
+        }
+        log.info("🔥 Caches aquecidos a partir do snapshot: {} entrada(s) em {} ms, {} ignorada(s), {} invalidada(s)",
+                carregadas, duracaoMs, ignoradas, invalidadas);
+        return carregadas;
+    }
+
+    private enum Recarga { RECARREGADA, JA_CARREGADA, INVALIDADA }
+
+    /**
+     * Devolve a entrada ao L1, a menos que tenha sido invalidada desde a subida ou já esteja carregada
+     */
+    private Recarga recarregar(String cacheName, com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine,
+                               Object chave, Object valor) {
+        synchronized (trava) {
+            InvalidacoesVistas vistas = invalidacoes.get(cacheName);
+            if (vistas != null && vistas.alcanca(chave)) {
+                return Recarga.INVALIDADA;
+            }
+            if (caffeine.asMap().putIfAbsent(chave, valor) != null) {
+                return Recarga.JA_CARREGADA;
+            }
+            recarregadas.computeIfAbsent(cacheName, nome -> new HashMap<>()).put(chave, valor);
+            return Recarga.RECARREGADA;
+        }
+    }
+
+    private void encerrarAquecimento() {
+        synchronized (trava) {
+            aquecendo = false;
+            invalidacoes.clear();
+            recarregadas.clear();
+        }
+    }
+
+    /**
+     * As entradas mais frequentes segundo a política de descarte do Caffeine (ou as que houver, sem política)
+     */
+    private Map<Object, Object> maisUsadas(com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine) {
+        return caffeine.policy().eviction()
+                .map(eviction -> eviction.hottest(entradasPorCache))
+                .orElseGet(() -> caffeine.asMap().entrySet().stream()
+                        .limit(entradasPorCache)
+                        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativo(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return (com.github.benmanes.caffeine.cache.Cache<Object, Object>) caffeine;
+        }
+        return null;
+    }
+
+    /**
+     * Invalidações de um cache vistas durante o aquecimento (chaves e prefixos no formato toString da chave)
+     */
+    private static final class InvalidacoesVistas {
+        private boolean tudo;
+        private final Set<String> chaves = new HashSet<>();
+        private final Set<String> prefixos = new HashSet<>();
+
+        void registrar(InvalidacaoCacheEvent evento) {
+            switch (evento.getTipo()) {
+                case TUDO -> tudo = true;
+                case PREFIXO -> prefixos.add(evento.getChave());
+                default -> chaves.add(evento.getChave());
+            }
+        }
+
+        boolean alcanca(Object chave) {
+            String texto = String.valueOf(chave);
+            if (tudo || chaves.contains(texto)) {
+                return true;
+            }
+            for (int fim = 0; fim <= texto.length(); fim++) {
+                if (prefixos.contains(texto.substring(0, fim))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        static boolean alcanca(InvalidacaoCacheEvent evento, Object chave) {
+            String texto = String.valueOf(chave);
+            return switch (evento.getTipo()) {
+                case TUDO -> true;
+                case PREFIXO -> texto.startsWith(evento.getChave());
+                default -> texto.equals(evento.getChave());
+            };
+        }
+    }
+}
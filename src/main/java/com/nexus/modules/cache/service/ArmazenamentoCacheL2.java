@@ -0,0 +1,35 @@
+package com.nexus.modules.cache.service;
+
+import com.nexus.messaging.events.InvalidacaoCacheEvent;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Segundo nível de cache, compartilhado entre as instâncias da aplicação (cache.l2.tipo)
+ *
+ * Consultado quando a entrada não está no cache local (L1); os valores são gravados já no formato guardado pelo
+ * cache do Spring (ex: NullValue para resultados nulos). As chaves são o toString da chave do cache.
+ */
+public interface ArmazenamentoCacheL2 {
+
+    Optional<Object> ler(String cacheName, String chave);
+
+    /**
+     * Grava a entrada sem bloquear quem chamou; falhas (ex: valor não serializável) só deixam a entrada fora do L2
+     */
+    void gravar(String cacheName, String chave, Object valor, Duration validade);
+
+    void remover(String cacheName, String chave);
+
+    void removerPorPrefixo(String cacheName, String prefixo);
+
+    void limpar(String cacheName);
+
+    /**
+     * Invalidação feita por outro nó (que já atualizou o L2): gravações deste nó ainda pendentes para as chaves
+     * alcançadas não podem trazer o valor antigo de volta
+     */
+    default void descartarGravacoesPendentes(String cacheName, InvalidacaoCacheEvent.Tipo tipo, String chave) {
+    }
+}
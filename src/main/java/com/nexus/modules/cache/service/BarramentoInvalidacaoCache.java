@@ -0,0 +1,14 @@
+package com.nexus.modules.cache.service;
+
+import com.nexus.messaging.events.InvalidacaoCacheEvent;
+
+/**
+ * Difusão das invalidações de cache para os outros nós da aplicação
+ *
+ * Com RabbitMQ configurado (spring.rabbitmq.host) as mensagens vão por um exchange fanout, uma fila por nó;
+ * sem RabbitMQ o barramento é local ao processo (ApplicationEvent).
+ */
+public interface BarramentoInvalidacaoCache {
+
+    void publicar(InvalidacaoCacheEvent evento);
+}
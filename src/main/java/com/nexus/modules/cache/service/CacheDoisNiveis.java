@@ -0,0 +1,244 @@
+package com.nexus.modules.cache.service;
+
+import com.nexus.messaging.events.InvalidacaoCacheEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache em dois níveis: Caffeine local (L1) + armazenamento compartilhado opcional (L2)
+ *
+ * - Leitura: L1; na falta, L2 (a entrada lida volta para o L1); na falta dos dois, o método do @Cacheable,
+ *   cujo resultado é gravado no L1 e, em segundo plano, no L2
+ * - Escrita e invalidação (put, evict, clear, por prefixo): aplicadas no L1 e no L2 e publicadas no barramento,
+ *   para que os outros nós removam a cópia local. Quem recebe remove só do L1 ({@link #aplicarRemota}) e descarta
+ *   as suas gravações pendentes no L2 para as chaves alcançadas.
+ *
+ * Carga única por chave (@Cacheable(sync = true)): numa falta, só o primeiro chamador executa o método; os
+ * demais esperam o resultado dele (compute atômico do Caffeine). Quem esperou uma carga em andamento é contado
+ * em {@link #getCargasSuprimidas()} (métrica cache.cargas.suprimidas). A contagem é aproximada: um chamador que
+ * chega entre o início do compute e o registro da carga espera sem ser contado.
+ *
+ * Estende CaffeineCache para manter as métricas do Actuator (cache.gets etc.) e o acesso ao cache nativo
+ * usado pelo CacheService.
+ */
+@Slf4j
+public class CacheDoisNiveis extends CaffeineCache {
+
+    private final ArmazenamentoCacheL2 l2;
+    private final Duration validadeL2;
+    private final BarramentoInvalidacaoCache barramento;
+    private final String origem;
+
+    // Chaves com carga em andamento neste nó e chamadores que esperaram por uma delas
+    private final ConcurrentHashMap<Object, Boolean> cargasEmAndamento = new ConcurrentHashMap<>();
+    private final LongAdder cargasSuprimidas = new LongAdder();
+
+    /**
+     * @param l2 pode ser nulo (só L1)
+     * @param barramento pode ser nulo (invalidações só locais)
+     */
+    public CacheDoisNiveis(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                           boolean allowNullValues, ArmazenamentoCacheL2 l2, Duration validadeL2,
+                           BarramentoInvalidacaoCache barramento, String origem) {
+        super(name, cache, allowNullValues);
+        this.l2 = l2;
+        this.validadeL2 = validadeL2;
+        this.barramento = barramento;
+        this.origem = origem;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object valor = super.lookup(key);
+        if (valor != null || l2 == null) {
+            return valor;
+        }
+        Optional<Object> compartilhado = lerL2(key);
+        compartilhado.ifPresent(v -> getNativeCache().put(key, v));
+        return compartilhado.orElse(null);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean havendoCarga = cargasEmAndamento.containsKey(key);
+        boolean[] carregou = {false};
+        T valor = super.get(key, () -> {
+            carregou[0] = true;
+            cargasEmAndamento.put(key, Boolean.TRUE);
+            try {
+                return carregar(key, valueLoader);
+            } finally {
+                cargasEmAndamento.remove(key);
+            }
+        });
+        if (havendoCarga && !carregou[0]) {
+            cargasSuprimidas.increment();
+        }
+        return valor;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T carregar(Object key, Callable<T> valueLoader) throws Exception {
+        if (l2 == null) {
+            return valueLoader.call();
+        }
+        Optional<Object> compartilhado = lerL2(key);
+        if (compartilhado.isPresent()) {
+            return (T) fromStoreValue(compartilhado.get());
+        }
+        T valor = valueLoader.call();
+        gravarL2(key, toStoreValue(valor));
+        return valor;
+    }
+
+    /**
+     * Chamadores que, numa falta, esperaram a carga de outro em vez de executar o método de novo
+     */
+    public long getCargasSuprimidas() {
+        return cargasSuprimidas.sum();
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        super.put(key, value);
+        gravarL2(key, toStoreValue(value));
+        publicar(InvalidacaoCacheEvent.Tipo.CHAVE, String.valueOf(key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existente = super.putIfAbsent(key, value);
+        if (existente == null) {
+            gravarL2(key, toStoreValue(value));
+        }
+        return existente;
+    }
+
+    @Override
+    public void evict(Object key) {
+        super.evict(key);
+        invalidarCompartilhado(InvalidacaoCacheEvent.Tipo.CHAVE, String.valueOf(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean removida = super.evictIfPresent(key);
+        invalidarCompartilhado(InvalidacaoCacheEvent.Tipo.CHAVE, String.valueOf(key));
+        return removida;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        invalidarCompartilhado(InvalidacaoCacheEvent.Tipo.TUDO, null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean havia = super.invalidate();
+        invalidarCompartilhado(InvalidacaoCacheEvent.Tipo.TUDO, null);
+        return havia;
+    }
+
+    /**
+     * Remove as entradas cuja chave começa com o prefixo, neste nó, no L2 e nos demais nós
+     */
+    public void evictarPorPrefixo(String prefixo) {
+        removerLocal(InvalidacaoCacheEvent.Tipo.PREFIXO, prefixo);
+        invalidarCompartilhado(InvalidacaoCacheEvent.Tipo.PREFIXO, prefixo);
+    }
+
+    /**
+     * Remove a entrada cuja chave (toString) é igual à informada, neste nó, no L2 e nos demais nós
+     *
+     * @return true se havia a entrada neste nó
+     */
+    public boolean evictarPorTexto(String chave) {
+        boolean removida = removerLocal(InvalidacaoCacheEvent.Tipo.CHAVE, chave);
+        invalidarCompartilhado(InvalidacaoCacheEvent.Tipo.CHAVE, chave);
+        return removida;
+    }
+
+    /**
+     * Aplica no L1 uma invalidação recebida de outro nó (o L2 já foi atualizado por ele)
+     */
+    public void aplicarRemota(InvalidacaoCacheEvent evento) {
+        if (origem.equals(evento.getOrigem())) {
+            return;
+        }
+        removerLocal(evento.getTipo(), evento.getChave());
+        if (l2 != null) {
+            l2.descartarGravacoesPendentes(getName(), evento.getTipo(), evento.getChave());
+        }
+        log.debug("🗑️ Cache '{}' invalidado por outro nó ({} {})", getName(), evento.getTipo(), evento.getChave());
+    }
+
+    private boolean removerLocal(InvalidacaoCacheEvent.Tipo tipo, String chave) {
+        switch (tipo) {
+            case TUDO:
+                getNativeCache().invalidateAll();
+                return true;
+            case PREFIXO:
+                return getNativeCache().asMap().keySet().removeIf(k -> String.valueOf(k).startsWith(chave));
+            default:
+                return getNativeCache().asMap().keySet().removeIf(k -> String.valueOf(k).equals(chave));
+        }
+    }
+
+    private void invalidarCompartilhado(InvalidacaoCacheEvent.Tipo tipo, String chave) {
+        if (l2 != null) {
+            try {
+                switch (tipo) {
+                    case TUDO -> l2.limpar(getName());
+                    case PREFIXO -> l2.removerPorPrefixo(getName(), chave);
+                    default -> l2.remover(getName(), chave);
+                }
+            } catch (Exception e) {
+                log.warn("⚠️ Erro ao invalidar o L2 do cache '{}' (não crítico): {}", getName(), e.getMessage());
+            }
+        }
+        publicar(tipo, chave);
+    }
+
+    private void publicar(InvalidacaoCacheEvent.Tipo tipo, String chave) {
+        if (barramento == null) {
+            return;
+        }
+        try {
+            barramento.publicar(InvalidacaoCacheEvent.builder()
+                    .origem(origem)
+                    .cacheName(getName())
+                    .tipo(tipo)
+                    .chave(chave)
+                    .build());
+        } catch (Exception e) {
+            log.warn("⚠️ Erro ao publicar invalidação do cache '{}' (não crítico): {}", getName(), e.getMessage());
+        }
+    }
+
+    private Optional<Object> lerL2(Object key) {
+        try {
+            return l2.ler(getName(), String.valueOf(key));
+        } catch (Exception e) {
+            log.warn("⚠️ Erro ao ler o L2 do cache '{}' (não crítico): {}", getName(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void gravarL2(Object key, Object valorGuardado) {
+        if (l2 == null) {
+            return;
+        }
+        try {
+            l2.gravar(getName(), String.valueOf(key), valorGuardado, validadeL2);
+        } catch (Exception e) {
+            log.warn("⚠️ Erro ao gravar no L2 do cache '{}' (não crítico): {}", getName(), e.getMessage());
+        }
+    }
+}
@@ -1,10 +1,24 @@
 package com.nexus.modules.cache.service;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.nexus.application.dto.EntradaCacheDTO;
+import com.nexus.messaging.events.InvalidacaoCacheEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
@@ -13,6 +27,208 @@ public class CacheService {
 
     private final CacheManager cacheManager;
 
+    /**
+     * Chave das páginas por usuário ("usuario:pagina:tamanho:ordenacao"), usada nos @Cacheable de listagem.
+     * O prefixo do usuário permite invalidar só as páginas dele ({@link #evictarPorUsuario}).
+     */
+    public static String chavePagina(Integer idUsuario, Pageable pageable) {
+        String pagina = pageable.isPaged()
+                ? pageable.getPageNumber() + ":" + pageable.getPageSize()
+                : "todas";
+        return prefixoUsuario(idUsuario) + pagina + ":" + pageable.getSort();
+    }
+
+    private static String prefixoUsuario(Integer idUsuario) {
+        return idUsuario + ":";
+    }
+
+    /**
+     * Remove do cache apenas as entradas do usuário, sem afetar as páginas dos demais
+     * Dentro de uma transação, a remoção acontece depois do commit, para que uma leitura concorrente
+     * não recarregue o cache com os dados anteriores à escrita.
+     */
+    public void evictarPorUsuario(String cacheName, Integer idUsuario) {
+        aposCommit(() -> removerEntradasDoUsuario(cacheName, idUsuario));
+    }
+
+    /**
+     * Grava no cache por id (ex: 'humor-id') o valor que a escrita acabou de salvar, depois do commit
+     * A leitura seguinte já encontra a versão nova, sem ir ao banco; com rollback nada é gravado.
+     */
+    public void atualizarPorId(String cacheName, Integer id, Object valor) {
+        aposCommit(() -> {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.put(id, valor);
+            }
+        });
+    }
+
+    /**
+     * Remove a entrada do cache por id depois do commit (exclusões)
+     */
+    public void evictarPorId(String cacheName, Integer id) {
+        aposCommit(() -> {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.evict(id);
+                log.debug("🗑️ Id {} removido do cache '{}'", id, cacheName);
+            }
+        });
+    }
+
+    /**
+     * Dentro de uma transação, adia a ação para depois do commit; fora dela, executa na hora
+     */
+    private static void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+
+    private void removerEntradasDoUsuario(String cacheName, Integer idUsuario) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            log.warn("⚠️ Cache '{}' não encontrado", cacheName);
+            return;
+        }
+        if (cache instanceof CacheDoisNiveis doisNiveis) {
+            // Também remove do L2 e avisa os outros nós
+            doisNiveis.evictarPorPrefixo(prefixoUsuario(idUsuario));
+            log.debug("🗑️ Cache '{}' invalidado para o usuário {}", cacheName, idUsuario);
+        } else if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            String prefixo = prefixoUsuario(idUsuario);
+            caffeine.asMap().keySet().removeIf(chave -> chave instanceof String texto && texto.startsWith(prefixo));
+            log.debug("🗑️ Cache '{}' invalidado para o usuário {}", cacheName, idUsuario);
+        } else {
+            // Cache sem acesso às chaves: invalida tudo
+            cache.clear();
+            log.debug("🗑️ Cache '{}' limpo (invalidação por usuário não suportada)", cacheName);
+        }
+    }
+
+    /**
+     * Estatísticas de todos os caches (acertos, falhas, tempo médio de carga, cargas suprimidas, descartes,
+     * tamanho e limite)
+     */
+    public Map<String, Map<String, Object>> estatisticas() {
+        Map<String, Map<String, Object>> estatisticas = new LinkedHashMap<>();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine)) {
+                continue;
+            }
+            CacheStats stats = caffeine.stats();
+            Map<String, Object> info = new LinkedHashMap<>();
+            info.put("hitCount", stats.hitCount());
+            info.put("missCount", stats.missCount());
+            info.put("hitRate", String.format("%.2f%%", stats.hitRate() * 100));
+            info.put("requestCount", stats.requestCount());
+            info.put("loadCount", stats.loadCount());
+            info.put("averageLoadPenaltyMs", stats.averageLoadPenalty() / 1_000_000.0);
+            info.put("evictionCount", stats.evictionCount());
+            info.put("size", caffeine.estimatedSize());
+            if (cache instanceof CacheDoisNiveis doisNiveis) {
+                info.put("suppressedLoads", doisNiveis.getCargasSuprimidas());
+            }
+            caffeine.policy().eviction().ifPresent(eviction -> {
+                info.put("maximum", eviction.getMaximum());
+                eviction.weightedSize().ifPresent(peso -> info.put("weightedSizeBytes", peso));
+            });
+            estatisticas.put(cacheName, info);
+        }
+        return estatisticas;
+    }
+
+    /**
+     * Entradas do cache cuja chave começa com o prefixo (ex: "1:" para as páginas do usuário 1)
+     * Lê pelo mapa do Caffeine, sem contar como acerto nem renovar a entrada.
+     */
+    public List<EntradaCacheDTO> listarEntradas(String cacheName, String prefixo, int limite) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine = nativo(cacheName);
+        List<EntradaCacheDTO> entradas = new ArrayList<>();
+        for (Map.Entry<Object, Object> entrada : caffeine.asMap().entrySet()) {
+            if (entradas.size() >= limite) {
+                break;
+            }
+            if (prefixo == null || String.valueOf(entrada.getKey()).startsWith(prefixo)) {
+                entradas.add(descrever(caffeine, entrada.getKey(), entrada.getValue()));
+            }
+        }
+        return entradas;
+    }
+
+    public Optional<EntradaCacheDTO> inspecionar(String cacheName, String chave) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine = nativo(cacheName);
+        return caffeine.asMap().entrySet().stream()
+                .filter(entrada -> String.valueOf(entrada.getKey()).equals(chave))
+                .findFirst()
+                .map(entrada -> descrever(caffeine, entrada.getKey(), entrada.getValue()));
+    }
+
+    /**
+     * Remove a entrada cuja chave (toString) é igual à informada
+     *
+     * @return true se a invalidação foi feita: com {@link CacheDoisNiveis} sempre (o L2 e os outros nós são
+     *         invalidados mesmo que a chave não esteja neste nó); no cache só local, se a entrada existia
+     */
+    public boolean evictarChave(String cacheName, String chave) {
+        if (cacheManager.getCache(cacheName) instanceof CacheDoisNiveis doisNiveis) {
+            boolean local = doisNiveis.evictarPorTexto(chave);
+            log.info("🗑️ Chave '{}' invalidada no cache '{}' (L2 e demais nós; presente neste nó: {})", chave, cacheName, local);
+            return true;
+        }
+        boolean removida = nativo(cacheName).asMap().keySet().removeIf(k -> String.valueOf(k).equals(chave));
+        if (removida) {
+            log.info("🗑️ Chave '{}' removida do cache '{}'", chave, cacheName);
+        }
+        return removida;
+    }
+
+    /**
+     * Aplica no cache local uma invalidação feita por outro nó (RabbitMQ) ou publicada no próprio processo
+     */
+    @EventListener
+    public void aplicarInvalidacao(InvalidacaoCacheEvent evento) {
+        if (cacheManager.getCache(evento.getCacheName()) instanceof CacheDoisNiveis doisNiveis) {
+            doisNiveis.aplicarRemota(evento);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativo(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            throw new RuntimeException("Cache '" + cacheName + "' não encontrado");
+        }
+        if (!(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine)) {
+            throw new RuntimeException("Cache '" + cacheName + "' não permite inspeção de chaves");
+        }
+        return (com.github.benmanes.caffeine.cache.Cache<Object, Object>) caffeine;
+    }
+
+    private static EntradaCacheDTO descrever(com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine,
+                                             Object chave, Object valor) {
+        Long idade = caffeine.policy().expireAfterWrite()
+                .map(expiracao -> expiracao.ageOf(chave, TimeUnit.SECONDS))
+                .filter(java.util.OptionalLong::isPresent)
+                .map(java.util.OptionalLong::getAsLong)
+                .orElse(null);
+        return EntradaCacheDTO.builder()
+                .chave(String.valueOf(chave))
+                .tipoValor(valor == null ? null : valor.getClass().getSimpleName())
+                .pesoBytes((long) EstimadorPesoCache.pesar(chave, valor))
+                .idadeSegundos(idade)
+                .build();
+    }
+
     public void limparCache(String cacheName) {
         Cache cache = cacheManager.getCache(cacheName);
         if (cache != null) {
@@ -34,5 +250,3 @@ public class CacheService {
         log.info("✅ Todos os caches foram limpos");
     }
 }
-
-
@@ -0,0 +1,89 @@
+package com.nexus.modules.cache.service;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estatísticas de um cache Caffeine que, além dos contadores usuais (snapshot usado por cache.gets, cache.size etc.
+ * do Actuator e pelo /api/cache/stats), publicam no Micrometer:
+ *
+ * - cache.carregamento.tempo (tags cache, resultado=sucesso|falha): histograma do tempo de carga das entradas
+ *   (miss de @Cacheable(sync = true) e atualizações em segundo plano)
+ * - cache.remocoes (tags cache, causa=SIZE|EXPIRED|COLLECTED): entradas descartadas pelo próprio cache, separando
+ *   limite de tamanho/peso de expiração por tempo
+ */
+public final class EstatisticasCacheMicrometer implements StatsCounter {
+
+    private final StatsCounter contagem = new ConcurrentStatsCounter();
+    private final Timer cargaSucesso;
+    private final Timer cargaFalha;
+    private final Map<RemovalCause, Counter> remocoes = new EnumMap<>(RemovalCause.class);
+
+    public EstatisticasCacheMicrometer(MeterRegistry registry, String cacheName) {
+        this.cargaSucesso = timerCarga(registry, cacheName, "sucesso");
+        this.cargaFalha = timerCarga(registry, cacheName, "falha");
+        for (RemovalCause causa : RemovalCause.values()) {
+            if (causa.wasEvicted()) {
+                remocoes.put(causa, Counter.builder("cache.remocoes")
+                        .description("Entradas descartadas pelo cache (limite ou expiração)")
+                        .tag("cache", cacheName)
+                        .tag("causa", causa.name())
+                        .register(registry));
+            }
+        }
+    }
+
+    private static Timer timerCarga(MeterRegistry registry, String cacheName, String resultado) {
+        return Timer.builder("cache.carregamento.tempo")
+                .description("Tempo de carga das entradas do cache")
+                .tag("cache", cacheName)
+                .tag("resultado", resultado)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Override
+    public void recordHits(int count) {
+        contagem.recordHits(count);
+    }
+
+    @Override
+    public void recordMisses(int count) {
+        contagem.recordMisses(count);
+    }
+
+    @Override
+    public void recordLoadSuccess(long loadTime) {
+        contagem.recordLoadSuccess(loadTime);
+        cargaSucesso.record(loadTime, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordLoadFailure(long loadTime) {
+        contagem.recordLoadFailure(loadTime);
+        cargaFalha.record(loadTime, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordEviction(int weight, RemovalCause cause) {
+        contagem.recordEviction(weight, cause);
+        Counter contador = remocoes.get(cause);
+        if (contador != null) {
+            contador.increment();
+        }
+    }
+
+    @Override
+    public CacheStats snapshot() {
+        return contagem.snapshot();
+    }
+}
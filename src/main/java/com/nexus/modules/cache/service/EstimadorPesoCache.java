@@ -0,0 +1,180 @@
+package com.nexus.modules.cache.service;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.Temporal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Estimativa do tamanho em bytes de uma entrada de cache, usada como peso (weigher) nos caches com peso-maximo
+ *
+ * Percorre o grafo do valor (Page, listas, mapas, DTOs) somando tamanhos aproximados de uma JVM 64 bits com
+ * compressed oops: cabeçalho de 12 bytes, referências de 4 bytes, alinhamento em 8. Tipos do JDK (String,
+ * números, datas, coleções) têm tamanho calculado sem reflexão; as demais classes são lidas campo a campo.
+ * Não precisa ser exata, só proporcional: uma página de 200 linhas pesa ~200 vezes uma de 1 linha.
+ */
+public final class EstimadorPesoCache {
+
+    private static final int CABECALHO = 12;
+    private static final int REFERENCIA = 4;
+    private static final int CABECALHO_ARRAY = 16;
+    // Limite de objetos visitados por entrada, para valores com grafos muito grandes
+    private static final int MAXIMO_OBJETOS = 50_000;
+
+    private static final ClassValue<List<Field>> CAMPOS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(Class<?> tipo) {
+            return camposDeInstancia(tipo);
+        }
+    };
+
+    private EstimadorPesoCache() {
+    }
+
+    /**
+     * Peso em bytes da chave + valor, limitado a Integer.MAX_VALUE (tipo do weigher do Caffeine)
+     */
+    public static int pesar(Object chave, Object valor) {
+        long total = estimar(chave) + estimar(valor);
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, total));
+    }
+
+    public static long estimar(Object raiz) {
+        if (raiz == null) {
+            return 0;
+        }
+        Set<Object> visitados = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Object> pendentes = new ArrayDeque<>();
+        pendentes.push(raiz);
+        long total = 0;
+        while (!pendentes.isEmpty() && visitados.size() < MAXIMO_OBJETOS) {
+            Object atual = pendentes.pop();
+            if (atual == null || !visitados.add(atual)) {
+                continue;
+            }
+            total += tamanhoRaso(atual, pendentes);
+        }
+        return total;
+    }
+
+    /**
+     * Tamanho do objeto sem os objetos referenciados, que são empilhados para visita
+     */
+    private static long tamanhoRaso(Object objeto, Deque<Object> pendentes) {
+        Class<?> tipo = objeto.getClass();
+        if (objeto instanceof String texto) {
+            // String (24) + byte[] (16 + conteúdo Latin-1)
+            return alinhar(24) + alinhar(CABECALHO_ARRAY + texto.length());
+        }
+        if (objeto instanceof Enum<?> || objeto instanceof Class<?>) {
+            // Instâncias compartilhadas: só a referência conta, no objeto que aponta para elas
+            return 0;
+        }
+        if (objeto instanceof Number || objeto instanceof Boolean || objeto instanceof Character) {
+            if (objeto instanceof BigDecimal || objeto instanceof BigInteger) {
+                return 40;
+            }
+            return objeto instanceof Long || objeto instanceof Double ? 24 : 16;
+        }
+        if (objeto instanceof Temporal) {
+            // LocalDateTime = LocalDate + LocalTime
+            return tipo.getSimpleName().contains("DateTime") ? 72 : 24;
+        }
+        if (tipo.isArray()) {
+            return tamanhoArray(objeto, tipo, pendentes);
+        }
+        if (objeto instanceof Collection<?> colecao) {
+            pendentes.addAll(colecao);
+            return alinhar(CABECALHO + 28) + alinhar(CABECALHO_ARRAY + (long) REFERENCIA * colecao.size());
+        }
+        if (objeto instanceof Map<?, ?> mapa) {
+            for (Map.Entry<?, ?> entrada : mapa.entrySet()) {
+                pendentes.push(entrada.getKey());
+                pendentes.push(entrada.getValue());
+            }
+            // HashMap (48) + tabela + um Node (32) por entrada
+            return 48 + alinhar(CABECALHO_ARRAY + (long) REFERENCIA * mapa.size()) + 32L * mapa.size();
+        }
+        return tamanhoObjeto(objeto, tipo, pendentes);
+    }
+
+    private static long tamanhoArray(Object array, Class<?> tipo, Deque<Object> pendentes) {
+        int tamanho = Array.getLength(array);
+        Class<?> componente = tipo.getComponentType();
+        if (componente.isPrimitive()) {
+            return alinhar(CABECALHO_ARRAY + (long) tamanhoPrimitivo(componente) * tamanho);
+        }
+        Object[] elementos = (Object[]) array;
+        for (Object elemento : elementos) {
+            if (elemento != null) {
+                pendentes.push(elemento);
+            }
+        }
+        return alinhar(CABECALHO_ARRAY + (long) REFERENCIA * tamanho);
+    }
+
+    private static long tamanhoObjeto(Object objeto, Class<?> tipo, Deque<Object> pendentes) {
+        long tamanho = CABECALHO;
+        for (Field campo : CAMPOS.get(tipo)) {
+            Class<?> tipoCampo = campo.getType();
+            if (tipoCampo.isPrimitive()) {
+                tamanho += tamanhoPrimitivo(tipoCampo);
+                continue;
+            }
+            tamanho += REFERENCIA;
+            try {
+                Object valor = campo.get(objeto);
+                if (valor != null) {
+                    pendentes.push(valor);
+                }
+            } catch (IllegalAccessException e) {
+                // Campo inacessível: conta só a referência
+            }
+        }
+        return alinhar(tamanho);
+    }
+
+    private static List<Field> camposDeInstancia(Class<?> tipo) {
+        List<Field> campos = new ArrayList<>();
+        for (Class<?> atual = tipo; atual != null && atual != Object.class; atual = atual.getSuperclass()) {
+            for (Field campo : atual.getDeclaredFields()) {
+                if (Modifier.isStatic(campo.getModifiers())) {
+                    continue;
+                }
+                if (!campo.getType().isPrimitive()) {
+                    campo.trySetAccessible();
+                }
+                campos.add(campo);
+            }
+        }
+        return campos;
+    }
+
+    private static int tamanhoPrimitivo(Class<?> tipo) {
+        if (tipo == long.class || tipo == double.class) {
+            return 8;
+        }
+        if (tipo == int.class || tipo == float.class) {
+            return 4;
+        }
+        if (tipo == short.class || tipo == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static long alinhar(long tamanho) {
+        return (tamanho + 7) & ~7L;
+    }
+}
@@ -0,0 +1,14 @@
+package com.nexus.modules.cache.service;
+
+/**
+ * Recalcula o valor de uma chave de cache, usado pelo refreshAfterWrite (cache.politicas.&lt;nome&gt;.atualizar-apos-escrita)
+ *
+ * A entrada acessada depois do intervalo continua sendo servida enquanto o novo valor é calculado em segundo plano.
+ * Retornar null remove a entrada (a próxima leitura vai ao banco).
+ */
+public interface RecarregadorCache {
+
+    String cacheName();
+
+    Object recarregar(Object chave);
+}
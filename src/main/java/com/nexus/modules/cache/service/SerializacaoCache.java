@@ -0,0 +1,36 @@
+package com.nexus.modules.cache.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * Serialização Java das chaves e valores de cache gravados fora da memória (L2 e snapshot de aquecimento)
+ * A desserialização só aceita classes da aplicação, do JDK e do Spring Data/Cache.
+ */
+public final class SerializacaoCache {
+
+    private static final ObjectInputFilter FILTRO_CLASSES = ObjectInputFilter.Config.createFilter(
+            "com.nexus.**;java.**;org.springframework.data.domain.**;org.springframework.cache.support.NullValue;!*");
+
+    private SerializacaoCache() {
+    }
+
+    public static byte[] serializar(Object valor) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (ObjectOutputStream objetos = new ObjectOutputStream(saida)) {
+            objetos.writeObject(valor);
+        }
+        return saida.toByteArray();
+    }
+
+    public static Object desserializar(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream objetos = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            objetos.setObjectInputFilter(FILTRO_CLASSES);
+            return objetos.readObject();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.nexus.modules.habitos.controller;
 
 import com.nexus.application.dto.HabitoDTO;
+import com.nexus.application.dto.ProximoBadgeDTO;
 import com.nexus.modules.habitos.service.HabitoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -71,6 +72,11 @@ public class HabitoController {
     public ResponseEntity<Integer> obterPontuacaoTotal(@PathVariable("idUsuario") Integer idUsuario) {
         return ResponseEntity.ok(habitoService.obterPontuacaoTotal(idUsuario));
     }
-}
-
 
+    @GetMapping("/usuario/{idUsuario}/proximo-badge")
+    @Operation(summary = "Próximo badge do usuário", description = "Badges da próxima faixa de pontos e quantos pontos faltam")
+    @PreAuthorize("hasAnyRole('PROFISSIONAL', 'GESTOR')")
+    public ResponseEntity<ProximoBadgeDTO> obterProximoBadge(@PathVariable("idUsuario") Integer idUsuario) {
+        return ResponseEntity.ok(habitoService.obterProximoBadge(idUsuario));
+    }
+}
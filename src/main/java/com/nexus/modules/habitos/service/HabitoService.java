@@ -1,8 +1,9 @@
 package com.nexus.modules.habitos.service;
 
+import com.nexus.application.dto.BadgeDTO;
 import com.nexus.application.dto.HabitoDTO;
+import com.nexus.application.dto.ProximoBadgeDTO;
 import com.nexus.application.mapper.HabitMapper;
-import com.nexus.domain.model.Badge;
 import com.nexus.domain.model.Habito;
 import com.nexus.domain.model.Usuario;
 import com.nexus.domain.model.UsuarioBadge;
@@ -11,9 +12,10 @@ import com.nexus.infrastructure.repository.BadgeRepository;
 import com.nexus.infrastructure.repository.HabitoRepository;
 import com.nexus.infrastructure.repository.UsuarioBadgeRepository;
 import com.nexus.infrastructure.repository.UsuarioRepository;
+import com.nexus.modules.badges.service.BadgeService;
+import com.nexus.modules.cache.service.CacheService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -22,6 +24,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -33,11 +38,11 @@ public class HabitoService {
     private final BadgeRepository badgeRepository;
     private final UsuarioBadgeRepository usuarioBadgeRepository;
     private final HabitMapper habitMapper;
+    private final CacheService cacheService;
+    private final BadgeService badgeService;
 
     @Transactional
-    @CacheEvict(value = "habitos", allEntries = true)
     public HabitoDTO criar(HabitoDTO dto) {
-        log.debug("🗑️ Cache 'habitos' invalidado - novo hábito sendo criado");
         Usuario usuario = usuarioRepository.findById(dto.getIdUsuario())
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
 
@@ -52,15 +57,18 @@ public class HabitoService {
 
         Habito saved = habitoRepository.save(habito);
         habitoRepository.flush(); // Garantir que os dados sejam persistidos imediatamente
+        cacheService.evictarPorUsuario("habitos", usuario.getIdUsuario());
         
         // Verificar e atribuir badges
         verificarEAtribuirBadges(usuario.getIdUsuario());
 
         log.info("Hábito criado e salvo no banco: ID={}, Usuário={}, Tipo={}", saved.getIdHabito(), saved.getUsuario().getIdUsuario(), saved.getTipoHabito());
-        return habitMapper.toDTO(saved);
+        HabitoDTO criado = habitMapper.toDTO(saved);
+        cacheService.atualizarPorId("habitos-id", criado.getIdHabito(), criado);
+        return criado;
     }
 
-    @Cacheable(value = "habitos", key = "#idUsuario + '_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    @Cacheable(value = "habitos", key = "T(com.nexus.modules.cache.service.CacheService).chavePagina(#idUsuario, #pageable)", sync = true)
     public Page<HabitoDTO> listarPorUsuario(Integer idUsuario, Pageable pageable) {
         log.debug("🔍 Buscando hábitos do usuário {} - Verificando cache primeiro...", idUsuario);
         Page<HabitoDTO> result = habitoRepository.findByUsuario_IdUsuario(idUsuario, pageable)
@@ -69,6 +77,7 @@ public class HabitoService {
         return result;
     }
 
+    @Cacheable(value = "habitos-id", key = "#id", sync = true)
     public HabitoDTO buscarPorId(Integer id) {
         Habito habito = habitoRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Hábito não encontrado"));
@@ -76,7 +85,6 @@ public class HabitoService {
     }
 
     @Transactional
-    @CacheEvict(value = "habitos", allEntries = true)
     public HabitoDTO atualizar(Integer id, HabitoDTO dto) {
         Habito habito = habitoRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Hábito não encontrado"));
@@ -87,18 +95,22 @@ public class HabitoService {
                 calcularPontuacaoPadrao(dto.getTipoHabito()));
 
         Habito updated = habitoRepository.save(habito);
+        cacheService.evictarPorUsuario("habitos", habito.getUsuario().getIdUsuario());
         verificarEAtribuirBadges(habito.getUsuario().getIdUsuario());
 
-        return habitMapper.toDTO(updated);
+        HabitoDTO atualizado = habitMapper.toDTO(updated);
+        cacheService.atualizarPorId("habitos-id", id, atualizado);
+        return atualizado;
     }
 
     @Transactional
-    @CacheEvict(value = "habitos", allEntries = true)
     public void deletar(Integer id) {
         Habito habito = habitoRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Hábito não encontrado"));
         Integer idUsuario = habito.getUsuario().getIdUsuario();
         habitoRepository.deleteById(id);
+        cacheService.evictarPorUsuario("habitos", idUsuario);
+        cacheService.evictarPorId("habitos-id", id);
         verificarEAtribuirBadges(idUsuario);
     }
 
@@ -107,7 +119,7 @@ public class HabitoService {
         return total != null ? total : 0;
     }
 
-    private Integer calcularPontuacaoPadrao(String tipoHabito) {
+    public static Integer calcularPontuacaoPadrao(String tipoHabito) {
         return switch (tipoHabito.toUpperCase()) {
             case "EXERCICIO" -> 10;
             case "MEDITACAO" -> 8;
@@ -118,20 +130,43 @@ public class HabitoService {
         };
     }
 
-    private void verificarEAtribuirBadges(Integer idUsuario) {
+    /**
+     * Próxima faixa de badges do usuário e quantos pontos faltam, pelo índice do catálogo (sem consultar badges no banco)
+     */
+    public ProximoBadgeDTO obterProximoBadge(Integer idUsuario) {
+        int pontuacao = obterPontuacaoTotal(idUsuario);
+        Map.Entry<Integer, List<BadgeDTO>> proxima = badgeService.catalogo().proximaFaixa(pontuacao);
+        return ProximoBadgeDTO.builder()
+                .idUsuario(idUsuario)
+                .pontuacaoAtual(pontuacao)
+                .pontosRequeridos(proxima != null ? proxima.getKey() : null)
+                .pontosRestantes(proxima != null ? proxima.getKey() - pontuacao : 0)
+                .badges(proxima != null ? proxima.getValue() : List.of())
+                .build();
+    }
+
+    /**
+     * Atribui os badges alcançados pela pontuação atual que o usuário ainda não tem
+     * Também usado pela importação em massa, uma vez por usuário e lote.
+     */
+    public void verificarEAtribuirBadges(Integer idUsuario) {
         Integer pontuacaoTotal = obterPontuacaoTotal(idUsuario);
-        List<Badge> badgesElegiveis = badgeRepository.findByPontosRequeridosLessThanEqualOrderByPontosRequeridosAsc(pontuacaoTotal);
-
-        for (Badge badge : badgesElegiveis) {
-            UsuarioBadgeId id = new UsuarioBadgeId(idUsuario, badge.getIdBadge());
-            if (!usuarioBadgeRepository.existsById(id)) {
-                Usuario usuario = usuarioRepository.findById(idUsuario)
-                        .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-                
+        List<BadgeDTO> badgesElegiveis = badgeService.catalogo().elegiveis(pontuacaoTotal);
+        if (badgesElegiveis.isEmpty()) {
+            return;
+        }
+
+        // Badges já conquistados numa única consulta, em vez de uma por badge elegível
+        Set<Integer> conquistados = usuarioBadgeRepository.findById_Usuario(idUsuario).stream()
+                .map(usuarioBadge -> usuarioBadge.getId().getBadge())
+                .collect(Collectors.toSet());
+
+        for (BadgeDTO badge : badgesElegiveis) {
+            if (!conquistados.contains(badge.getIdBadge())) {
                 UsuarioBadge usuarioBadge = UsuarioBadge.builder()
-                        .id(id)
-                        .usuario(usuario)
-                        .badge(badge)
+                        .id(new UsuarioBadgeId(idUsuario, badge.getIdBadge()))
+                        .usuario(usuarioRepository.getReferenceById(idUsuario))
+                        .badge(badgeRepository.getReferenceById(badge.getIdBadge()))
                         .dataConquista(LocalDate.now())
                         .build();
 
@@ -141,4 +176,3 @@ public class HabitoService {
         }
     }
 }
-
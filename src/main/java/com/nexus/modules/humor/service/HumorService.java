@@ -8,10 +8,10 @@ import com.nexus.infrastructure.repository.HumorRepository;
 import com.nexus.infrastructure.repository.UsuarioRepository;
 import com.nexus.messaging.events.BurnoutAlertEvent;
 import com.nexus.messaging.producer.AlertProducer;
+import com.nexus.modules.cache.service.CacheService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -28,14 +28,13 @@ public class HumorService {
     private final HumorRepository humorRepository;
     private final UsuarioRepository usuarioRepository;
     private final MoodEntryMapper moodEntryMapper;
+    private final CacheService cacheService;
     
     @Autowired(required = false)
     private AlertProducer alertProducer;
 
     @Transactional
-    @CacheEvict(value = "humor", allEntries = true)
     public HumorDTO criar(HumorDTO dto) {
-        log.debug("🗑️ Cache 'humor' invalidado - novo registro sendo criado");
         Usuario usuario = usuarioRepository.findById(dto.getIdUsuario())
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
 
@@ -45,15 +44,18 @@ public class HumorService {
 
         Humor saved = humorRepository.save(humor);
         humorRepository.flush(); // Garantir que os dados sejam persistidos imediatamente
+        cacheService.evictarPorUsuario("humor", usuario.getIdUsuario());
 
         // Verificar se deve gerar alerta de burnout
         verificarAlertaBurnout(saved);
 
         log.info("Humor criado com sucesso: ID={}, Usuário={}", saved.getIdHumor(), saved.getUsuario().getIdUsuario());
-        return moodEntryMapper.toDTO(saved);
+        HumorDTO criado = moodEntryMapper.toDTO(saved);
+        cacheService.atualizarPorId("humor-id", criado.getIdHumor(), criado);
+        return criado;
     }
 
-    @Cacheable(value = "humor", key = "#idUsuario + '_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    @Cacheable(value = "humor", key = "T(com.nexus.modules.cache.service.CacheService).chavePagina(#idUsuario, #pageable)", sync = true)
     public Page<HumorDTO> listarPorUsuario(Integer idUsuario, Pageable pageable) {
         log.debug("🔍 Buscando humor do usuário {} - Verificando cache primeiro...", idUsuario);
         Page<HumorDTO> result = humorRepository.findByUsuario_IdUsuario(idUsuario, pageable)
@@ -62,6 +64,7 @@ public class HumorService {
         return result;
     }
 
+    @Cacheable(value = "humor-id", key = "#id", sync = true)
     public HumorDTO buscarPorId(Integer id) {
         Humor humor = humorRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Humor não encontrado"));
@@ -69,7 +72,6 @@ public class HumorService {
     }
 
     @Transactional
-    @CacheEvict(value = "humor", allEntries = true)
     public HumorDTO atualizar(Integer id, HumorDTO dto) {
         Humor humor = humorRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Humor não encontrado"));
@@ -79,15 +81,20 @@ public class HumorService {
         humor.setComentario(dto.getComentario());
 
         Humor updated = humorRepository.save(humor);
+        cacheService.evictarPorUsuario("humor", humor.getUsuario().getIdUsuario());
         verificarAlertaBurnout(updated);
 
-        return moodEntryMapper.toDTO(updated);
+        HumorDTO atualizado = moodEntryMapper.toDTO(updated);
+        cacheService.atualizarPorId("humor-id", id, atualizado);
+        return atualizado;
     }
 
     @Transactional
-    @CacheEvict(value = "humor", allEntries = true)
     public void deletar(Integer id) {
+        humorRepository.findById(id)
+                .ifPresent(humor -> cacheService.evictarPorUsuario("humor", humor.getUsuario().getIdUsuario()));
         humorRepository.deleteById(id);
+        cacheService.evictarPorId("humor-id", id);
     }
 
     private void verificarAlertaBurnout(Humor humor) {
@@ -11,18 +11,26 @@ import com.nexus.application.dto.CoPlannerRequestDTO;
 import com.nexus.application.dto.CoPlannerResponseDTO;
 import com.nexus.application.dto.FeedbackRequestDTO;
 import com.nexus.application.dto.FeedbackResponseDTO;
+import com.nexus.application.dto.PausaMonitorLoteRequestDTO;
+import com.nexus.application.dto.PausaMonitorLoteResponseDTO;
 import com.nexus.application.dto.PausaMonitorRequestDTO;
 import com.nexus.application.dto.PausaMonitorResponseDTO;
+import com.nexus.application.dto.PausaMonitorRoiDTO;
+import com.nexus.ai.RoteamentoSessaoPausa;
 import com.nexus.modules.ia.service.IAService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 @RestController
 @RequestMapping("/ia")
 @Tag(name = "IA Generativa", description = "Endpoints de IA para feedback empático e análises inteligentes")
@@ -30,9 +38,11 @@ import org.springframework.web.bind.annotation.*;
 public class IAController {
 
     private final IAService iaService;
+    private final RoteamentoSessaoPausa roteamentoSessaoPausa;
     
-    public IAController(IAService iaService) {
+    public IAController(IAService iaService, RoteamentoSessaoPausa roteamentoSessaoPausa) {
         this.iaService = iaService;
+        this.roteamentoSessaoPausa = roteamentoSessaoPausa;
     }
 
     @PostMapping("/feedback")
@@ -229,6 +239,7 @@ public class IAController {
                      "    \"💡 Você está sentado há 75 minutos. Hora de se alongar!\",\n" +
                      "    \"🏃 Faça uma pausa de 5 minutos: levante-se, caminhe e alongue braços e pernas\"\n" +
                      "  ],\n" +
+                     "  \"proximoQuadroSegundos\": 5,\n" +
                      "  \"timestamp\": \"2025-01-15T10:30:00\"\n" +
                      "}\n" +
                      "```\n\n" +
@@ -238,15 +249,117 @@ public class IAController {
                      "- Blur gaussiano para reduzir ruído\n" +
                      "- Sem dependências externas pesadas (OpenCV não necessário)\n\n" +
                      "**Uso recomendado:**\n" +
-                     "- Envie frames a cada 5-10 segundos durante o trabalho\n" +
+                     "- Envie o próximo frame após `proximoQuadroSegundos` (intervalo calculado pelo servidor: curto em transições, longo com o usuário parado ou ausente)\n" +
                      "- Use webcam comum ou câmera de notebook\n" +
                      "- O sistema mantém sessão ativa por usuário\n" +
-                     "- Para resetar sessão, envie `resetarSessao: true`"
+                     "- Para resetar sessão, envie `resetarSessao: true`\n" +
+                     "- Com várias instâncias, envie os frames seguintes para o nó do header `" + RoteamentoSessaoPausa.HEADER_NO + "`"
     )
     @PreAuthorize("hasAnyRole('PROFISSIONAL', 'GESTOR')")
     public ResponseEntity<PausaMonitorResponseDTO> monitorarPausa(@Valid @RequestBody PausaMonitorRequestDTO request) {
         PausaMonitorResponseDTO response = iaService.monitorarPausa(request);
-        return ResponseEntity.ok(response);
+        return respostaPausaMonitor(request.getUsuarioId(), response);
+    }
+
+    @PostMapping("/pausa-monitor/lote")
+    @Operation(
+        summary = "Monitoramento de Pausas - Lote de frames com linha do tempo",
+        description = "Processa vários frames numa única requisição (ex: frames acumulados enquanto o cliente estava offline). " +
+                     "Os frames são ordenados pelo horário de captura e processados em sequência na mesma sessão; " +
+                     "ausência e tempo sentado usam o horário de captura de cada frame. " +
+                     "Token e usuário são validados uma vez por lote. Máximo de " + PausaMonitorLoteRequestDTO.MAXIMO_FRAMES + " frames.\n\n" +
+                     "**Request:**\n" +
+                     "```json\n" +
+                     "{\n" +
+                     "  \"usuarioId\": 1,\n" +
+                     "  \"frames\": [\n" +
+                     "    { \"frameBase64\": \"iVBORw0KGgo...\", \"timestamp\": \"2025-01-15T10:30:00\" },\n" +
+                     "    { \"frameBase64\": \"iVBORw0KGgo...\", \"timestamp\": \"2025-01-15T10:30:10\" }\n" +
+                     "  ]\n" +
+                     "}\n" +
+                     "```\n\n" +
+                     "**Response:** totais do lote, `estadoFinal` (resultado do último frame) e `linhaDoTempo` " +
+                     "com o resultado de cada frame no mesmo formato de `/ia/pausa-monitor`."
+    )
+    @PreAuthorize("hasAnyRole('PROFISSIONAL', 'GESTOR')")
+    public ResponseEntity<PausaMonitorLoteResponseDTO> monitorarPausaLote(@Valid @RequestBody PausaMonitorLoteRequestDTO request) {
+        PausaMonitorLoteResponseDTO response = iaService.monitorarPausaLote(request);
+        return respostaPausaMonitor(request.getUsuarioId(), response);
+    }
+
+    @PostMapping(value = "/pausa-monitor/{usuarioId}/frame",
+            consumes = {MediaType.APPLICATION_OCTET_STREAM_VALUE, MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE})
+    @Operation(
+        summary = "Monitoramento de Pausas - Frame binário (sem base64)",
+        description = "Mesmo processamento de `/ia/pausa-monitor`, mas o corpo da requisição é a própria imagem " +
+                     "(JPEG ou PNG) em vez de JSON com base64: payload ~33% menor e sem parsing de JSON nem decodificação base64.\n\n" +
+                     "**Exemplo:**\n" +
+                     "```\n" +
+                     "curl -X POST -H 'Authorization: Bearer <token>' -H 'Content-Type: image/jpeg' \\\n" +
+                     "     --data-binary @frame.jpg http://localhost:8080/ia/pausa-monitor/1/frame\n" +
+                     "```\n\n" +
+                     "**Canal persistente:** para envio contínuo, conecte em `ws://host/ws/pausa-monitor?token=<jwt>` " +
+                     "e envie cada frame como mensagem binária; a resposta de cada frame chega como mensagem de texto (JSON). " +
+                     "O token e o usuário são validados apenas na conexão. Envie a mensagem de texto `resetar` para reiniciar a sessão."
+    )
+    @PreAuthorize("hasAnyRole('PROFISSIONAL', 'GESTOR')")
+    public ResponseEntity<PausaMonitorResponseDTO> monitorarPausaBinario(
+            @PathVariable("usuarioId") Integer usuarioId,
+            @RequestParam(value = "resetarSessao", required = false) Boolean resetarSessao,
+            InputStream frame) throws IOException {
+        PausaMonitorResponseDTO response = iaService.monitorarPausaBinario(usuarioId, frame, resetarSessao);
+        return respostaPausaMonitor(usuarioId, response);
+    }
+
+    @PutMapping("/pausa-monitor/{usuarioId}/roi")
+    @Operation(
+        summary = "Monitoramento de Pausas - Regiões de interesse",
+        description = "Define as regiões do frame onde o movimento é considerado (ex: a cadeira do usuário), " +
+                     "ignorando outro monitor, janelas ou pessoas passando. Só a área das regiões é processada, " +
+                     "então o custo por frame cai na proporção da área. Coordenadas normalizadas (0 a 1), válidas " +
+                     "para qualquer resolução; substitui as regiões anteriores.\n\n" +
+                     "**Request:**\n" +
+                     "```json\n" +
+                     "{\n" +
+                     "  \"regioes\": [\n" +
+                     "    { \"x\": 0.25, \"y\": 0.1, \"largura\": 0.5, \"altura\": 0.9 },\n" +
+                     "    { \"pontos\": [ {\"x\": 0.1, \"y\": 0.5}, {\"x\": 0.3, \"y\": 0.5}, {\"x\": 0.2, \"y\": 0.9} ] }\n" +
+                     "  ]\n" +
+                     "}\n" +
+                     "```\n\n" +
+                     "As regiões são gravadas junto com a sessão do monitor e restauradas após reinício da aplicação ou quando outra instância assume o usuário."
+    )
+    @PreAuthorize("hasAnyRole('PROFISSIONAL', 'GESTOR')")
+    public ResponseEntity<PausaMonitorRoiDTO> definirRegioesInteresse(
+            @PathVariable("usuarioId") Integer usuarioId,
+            @Valid @RequestBody PausaMonitorRoiDTO request) {
+        PausaMonitorRoiDTO response = iaService.definirRegioesInteresse(usuarioId, request);
+        return respostaPausaMonitor(usuarioId, response);
+    }
+
+    @GetMapping("/pausa-monitor/{usuarioId}/roi")
+    @Operation(summary = "Monitoramento de Pausas - Consultar regiões de interesse",
+               description = "Retorna as regiões de interesse do usuário como polígonos (lista vazia = frame inteiro)")
+    @PreAuthorize("hasAnyRole('PROFISSIONAL', 'GESTOR')")
+    public ResponseEntity<PausaMonitorRoiDTO> obterRegioesInteresse(@PathVariable("usuarioId") Integer usuarioId) {
+        return ResponseEntity.ok(iaService.obterRegioesInteresse(usuarioId));
     }
-}
 
+    @DeleteMapping("/pausa-monitor/{usuarioId}/roi")
+    @Operation(summary = "Monitoramento de Pausas - Remover regiões de interesse",
+               description = "Remove as regiões de interesse: o frame inteiro volta a ser analisado")
+    @PreAuthorize("hasAnyRole('PROFISSIONAL', 'GESTOR')")
+    public ResponseEntity<Void> removerRegioesInteresse(@PathVariable("usuarioId") Integer usuarioId) {
+        iaService.removerRegioesInteresse(usuarioId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Resposta do monitoramento de pausas com o nó responsável pelo usuário (dica para o balanceador)
+     */
+    private <T> ResponseEntity<T> respostaPausaMonitor(Integer usuarioId, T response) {
+        return roteamentoSessaoPausa.rotear(usuarioId)
+                .map(no -> ResponseEntity.ok().header(RoteamentoSessaoPausa.HEADER_NO, no).body(response))
+                .orElseGet(() -> ResponseEntity.ok(response));
+    }
+}
@@ -17,8 +17,14 @@ import com.nexus.application.dto.CoPlannerRequestDTO;
 import com.nexus.application.dto.CoPlannerResponseDTO;
 import com.nexus.application.dto.FeedbackRequestDTO;
 import com.nexus.application.dto.FeedbackResponseDTO;
+import com.nexus.application.dto.PausaMonitorFrameDTO;
+import com.nexus.application.dto.PausaMonitorLoteRequestDTO;
+import com.nexus.application.dto.PausaMonitorLoteResponseDTO;
 import com.nexus.application.dto.PausaMonitorRequestDTO;
 import com.nexus.application.dto.PausaMonitorResponseDTO;
+import com.nexus.application.dto.PausaMonitorRoiDTO;
+import com.nexus.application.dto.PontoRegiaoDTO;
+import com.nexus.application.dto.RegiaoInteresseDTO;
 import com.nexus.application.dto.TarefaDTO;
 import com.nexus.domain.model.AlertaIA;
 import com.nexus.domain.model.ConversaIA;
@@ -28,6 +34,8 @@ import com.nexus.infrastructure.repository.AlertaIARepository;
 import com.nexus.infrastructure.repository.ConversaIARepository;
 import com.nexus.infrastructure.repository.HumorRepository;
 import com.nexus.infrastructure.repository.UsuarioRepository;
+import com.nexus.modules.alertas.service.AlertaIAEscritaService;
+import com.nexus.modules.usuarios.service.UsuarioService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
@@ -52,6 +60,8 @@ public class IAService {
     private final UsuarioRepository usuarioRepository;
     private final HumorRepository humorRepository;
     private final PausaMonitorService pausaMonitorService;
+    private final AlertaIAEscritaService alertaIAEscritaService;
+    private final UsuarioService usuarioService;
     
     // Injeção opcional do GPTService
     @Autowired(required = false)
@@ -63,20 +73,41 @@ public class IAService {
                      ConversaIARepository conversaIARepository,
                      UsuarioRepository usuarioRepository,
                      HumorRepository humorRepository,
-                     PausaMonitorService pausaMonitorService) {
+                     PausaMonitorService pausaMonitorService,
+                     AlertaIAEscritaService alertaIAEscritaService,
+                     UsuarioService usuarioService) {
         this.historicoIAService = historicoIAService;
         this.alertaIARepository = alertaIARepository;
         this.conversaIARepository = conversaIARepository;
         this.usuarioRepository = usuarioRepository;
         this.humorRepository = humorRepository;
         this.pausaMonitorService = pausaMonitorService;
+        this.alertaIAEscritaService = alertaIAEscritaService;
+        this.usuarioService = usuarioService;
+    }
+
+    /**
+     * Valida o usuário pelo cache 'usuarios' e devolve só a referência para as associações (alertas, conversas),
+     * sem carregar a entidade do banco
+     */
+    private Usuario referenciaUsuario(Integer idUsuario) {
+        usuarioService.buscarPorId(idUsuario); // lança "Usuário não encontrado"
+        return usuarioRepository.getReferenceById(idUsuario);
+    }
+
+    private boolean usuarioExiste(Integer idUsuario) {
+        try {
+            usuarioService.buscarPorId(idUsuario);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
     }
 
     @Transactional
     public FeedbackResponseDTO gerarFeedback(FeedbackRequestDTO request) {
         // Busca o usuário
-        Usuario usuario = usuarioRepository.findById(request.getUsuarioId())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        Usuario usuario = referenciaUsuario(request.getUsuarioId());
 
         Integer humor = request.getHumor() != null ? request.getHumor() : 3;
         String produtividade = request.getProdutividade() != null ? request.getProdutividade() : "media";
@@ -135,8 +166,7 @@ public class IAService {
 
     public AnaliseResponseDTO gerarAnalise(AnaliseRequestDTO request) {
         // Busca o usuário
-        Usuario usuario = usuarioRepository.findById(request.getUsuarioId())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        Usuario usuario = referenciaUsuario(request.getUsuarioId());
 
         // Gera dados históricos (método interno do AIService)
         String dadosHistoricos = gerarDadosHistoricosParaAnalise(request.getUsuarioId());
@@ -203,8 +233,7 @@ public class IAService {
 
     public AssistenteResponseDTO gerarConteudoAssistente(AssistenteRequestDTO request) {
         // Busca o usuário
-        Usuario usuario = usuarioRepository.findById(request.getUsuarioId())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        Usuario usuario = referenciaUsuario(request.getUsuarioId());
 
         // Se recebeu tipo e mensagem, processa como mensagem do assistant
         if (request.getTipo() != null && request.getMensagem() != null && !request.getMensagem().trim().isEmpty()) {
@@ -531,8 +560,7 @@ public class IAService {
      */
     @Transactional
     public ChatResponseDTO chatConversacional(ChatRequestDTO request) {
-        Usuario usuario = usuarioRepository.findById(request.getUsuarioId())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        Usuario usuario = referenciaUsuario(request.getUsuarioId());
 
         Integer idConversaPai = request.getIdConversaPai();
         LocalDateTime agora = LocalDateTime.now();
@@ -703,18 +731,11 @@ public class IAService {
     @Transactional
     public CoPlannerResponseDTO extrairTarefas(CoPlannerRequestDTO request) {
         // Verifica se o usuário existe, mas não bloqueia se não existir (permite teste)
-        Usuario usuario = null;
-        try {
-            usuario = usuarioRepository.findById(request.getUsuarioId())
-                    .orElse(null);
-            if (usuario == null) {
-                log.warn("⚠️ Usuário {} não encontrado, mas continuando com extração de tarefas", request.getUsuarioId());
-            }
-        } catch (Exception e) {
-            log.warn("⚠️ Erro ao buscar usuário, continuando: {}", e.getMessage());
+        if (!usuarioExiste(request.getUsuarioId())) {
+            log.warn("⚠️ Usuário {} não encontrado, mas continuando com extração de tarefas", request.getUsuarioId());
         }
 
-        Integer usuarioId = usuario != null ? usuario.getIdUsuario() : request.getUsuarioId();
+        Integer usuarioId = request.getUsuarioId();
         log.info("🤖 Co-planejador: Extraindo tarefas da mensagem do usuário {}", usuarioId);
 
         GPTService gptServiceParaUsar = getGptService();
@@ -963,13 +984,8 @@ public class IAService {
         log.info("🤖 Assistant: Processando mensagem. Tipo: {}, Usuário: {}", request.getTipo(), request.getUsuarioId());
 
         // Valida usuário (opcional - permite teste)
-        try {
-            Usuario usuario = usuarioRepository.findById(request.getUsuarioId()).orElse(null);
-            if (usuario == null) {
-                log.warn("⚠️ Usuário {} não encontrado, mas continuando com processamento", request.getUsuarioId());
-            }
-        } catch (Exception e) {
-            log.warn("⚠️ Erro ao buscar usuário, continuando: {}", e.getMessage());
+        if (!usuarioExiste(request.getUsuarioId())) {
+            log.warn("⚠️ Usuário {} não encontrado, mas continuando com processamento", request.getUsuarioId());
         }
 
         GPTService gptService = getGptService();
@@ -1002,55 +1018,14 @@ public class IAService {
         log.info("📹 Monitoramento de pausa: Processando frame para usuário {}", request.getUsuarioId());
         
         // Validar usuário
-        Usuario usuario = usuarioRepository.findById(request.getUsuarioId())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado: " + request.getUsuarioId()));
-        
-        // Se solicitado, resetar sessão
-        if (Boolean.TRUE.equals(request.getResetarSessao())) {
-            pausaMonitorService.resetarSessao(request.getUsuarioId());
-            log.info("🔄 Sessão de monitoramento resetada para usuário {}", request.getUsuarioId());
-        }
+        validarUsuarioMonitoramento(request.getUsuarioId(), request.getResetarSessao());
         
         try {
             // Decodificar frame base64
             byte[] frameBytes = java.util.Base64.getDecoder().decode(request.getFrameBase64());
             
             // Processar frame
-            PausaMonitorService.ResultadoMonitoramento resultado = 
-                pausaMonitorService.processarFrame(request.getUsuarioId(), frameBytes);
-            
-            // Converter para DTO
-            PausaMonitorResponseDTO response = PausaMonitorResponseDTO.builder()
-                    .usuarioId(resultado.getUsuarioId())
-                    .movimentoDetectado(resultado.isMovimentoDetectado())
-                    .quantidadeMovimento(resultado.getQuantidadeMovimento())
-                    .presente(resultado.isPresente())
-                    .tempoSentadoMinutos(resultado.getTempoSentadoMinutos())
-                    .totalPausas(resultado.getTotalPausas())
-                    .sugerirAlongamento(resultado.isSugerirAlongamento())
-                    .mensagem(resultado.getMensagem())
-                    .sugestoes(resultado.getSugestoes())
-                    .timestamp(resultado.getTimestamp())
-                    .build();
-            
-            // Se sugerir alongamento, criar alerta opcional
-            if (resultado.isSugerirAlongamento()) {
-                try {
-                    AlertaIA alerta = AlertaIA.builder()
-                            .usuario(usuario)
-                            .dataAlerta(LocalDate.now())
-                            .tipoAlerta("PAUSA_SUGERIDA")
-                            .mensagem("Sugestão de alongamento após " + resultado.getTempoSentadoMinutos() + " minutos sentado")
-                            .nivelRisco(2) // Risco baixo - apenas sugestão
-                            .build();
-                    alertaIARepository.save(alerta);
-                    log.info("✅ Alerta de pausa sugerida salvo para usuário {}", request.getUsuarioId());
-                } catch (Exception e) {
-                    log.warn("⚠️ Erro ao salvar alerta de pausa (não crítico): {}", e.getMessage());
-                }
-            }
-            
-            return response;
+            return processarFramePausa(request.getUsuarioId(), new java.io.ByteArrayInputStream(frameBytes));
             
         } catch (IllegalArgumentException e) {
             log.error("❌ Erro ao decodificar frame base64: {}", e.getMessage());
@@ -1060,5 +1035,198 @@ public class IAService {
             throw new RuntimeException("Erro ao processar monitoramento: " + e.getMessage());
         }
     }
+    
+    /**
+     * Monitora pausas a partir de um frame binário (application/octet-stream, image/jpeg, image/png)
+     * O corpo da requisição vai direto para o decoder, sem base64 nem parsing de JSON
+     */
+    public PausaMonitorResponseDTO monitorarPausaBinario(Integer usuarioId, java.io.InputStream frame, Boolean resetarSessao) {
+        log.debug("📹 Monitoramento de pausa (binário): Processando frame para usuário {}", usuarioId);
+        
+        validarUsuarioMonitoramento(usuarioId, resetarSessao);
+        
+        try {
+            return processarFramePausa(usuarioId, frame);
+        } catch (Exception e) {
+            log.error("❌ Erro ao monitorar pausa para usuário {}", usuarioId, e);
+            throw new RuntimeException("Erro ao processar monitoramento: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Valida o usuário monitorado e, se solicitado, reseta a sessão
+     */
+    public void validarUsuarioMonitoramento(Integer usuarioId, Boolean resetarSessao) {
+        if (!usuarioExiste(usuarioId)) {
+            throw new RuntimeException("Usuário não encontrado: " + usuarioId);
+        }
+        
+        // Se solicitado, resetar sessão
+        if (Boolean.TRUE.equals(resetarSessao)) {
+            pausaMonitorService.resetarSessao(usuarioId);
+            log.info("🔄 Sessão de monitoramento resetada para usuário {}", usuarioId);
+        }
+    }
+    
+    /**
+     * Monitora pausas a partir de um lote de frames com horário de captura (clientes que acumulam frames
+     * offline ou que querem reduzir a taxa de requisições)
+     * 
+     * Usuário e reset da sessão são validados uma única vez; os frames são processados em ordem de captura.
+     */
+    public PausaMonitorLoteResponseDTO monitorarPausaLote(PausaMonitorLoteRequestDTO request) {
+        Integer usuarioId = request.getUsuarioId();
+        log.info("📹 Monitoramento de pausa em lote: {} frames para usuário {}", request.getFrames().size(), usuarioId);
+        
+        validarUsuarioMonitoramento(usuarioId, request.getResetarSessao());
+        
+        // Ordena pelo horário de captura (ordenação estável; frames sem horário mantêm a posição relativa no final)
+        List<PausaMonitorFrameDTO> frames = request.getFrames().stream()
+                .sorted(java.util.Comparator.comparing(PausaMonitorFrameDTO::getTimestamp,
+                        java.util.Comparator.nullsLast(java.util.Comparator.naturalOrder())))
+                .toList();
+        
+        List<PausaMonitorResponseDTO> linhaDoTempo = new java.util.ArrayList<>(frames.size());
+        int framesComMovimento = 0;
+        int framesComErro = 0;
+        int framesDescartados = 0;
+        
+        for (PausaMonitorFrameDTO frame : frames) {
+            PausaMonitorService.ResultadoMonitoramento resultado;
+            try {
+                byte[] frameBytes = java.util.Base64.getDecoder().decode(frame.getFrameBase64());
+                resultado = pausaMonitorService.processarFrame(usuarioId,
+                        new java.io.ByteArrayInputStream(frameBytes), frame.getTimestamp());
+            } catch (IllegalArgumentException e) {
+                log.warn("⚠️ Frame base64 inválido no lote do usuário {}: {}", usuarioId, e.getMessage());
+                resultado = PausaMonitorService.ResultadoMonitoramento.builder()
+                        .usuarioId(usuarioId)
+                        .erro(true)
+                        .mensagem("Erro: Frame base64 inválido")
+                        .sugestoes(List.of("Verifique se a imagem foi enviada corretamente"))
+                        .timestamp(frame.getTimestamp())
+                        .build();
+            }
+            
+            if (resultado.isErro()) {
+                framesComErro++;
+            } else if (resultado.isDescartado()) {
+                framesDescartados++;
+            } else if (resultado.isMovimentoDetectado()) {
+                framesComMovimento++;
+            }
+            registrarAlertaPausa(usuarioId, resultado);
+            linhaDoTempo.add(converterResultadoPausa(resultado));
+        }
+        
+        return PausaMonitorLoteResponseDTO.builder()
+                .usuarioId(usuarioId)
+                .totalFrames(linhaDoTempo.size())
+                .framesComMovimento(framesComMovimento)
+                .framesComErro(framesComErro)
+                .framesDescartados(framesDescartados)
+                .estadoFinal(linhaDoTempo.get(linhaDoTempo.size() - 1))
+                .linhaDoTempo(linhaDoTempo)
+                .build();
+    }
+    
+    /**
+     * Processa um frame de um usuário já validado (usado também pelo canal WebSocket, que valida
+     * o usuário uma única vez no handshake)
+     */
+    public PausaMonitorResponseDTO processarFramePausa(Integer usuarioId, java.io.InputStream frame) {
+        PausaMonitorService.ResultadoMonitoramento resultado = pausaMonitorService.processarFrame(usuarioId, frame);
+        
+        // Se sugerir alongamento, registrar alerta (deduplicado e gravado de forma assíncrona)
+        registrarAlertaPausa(usuarioId, resultado);
+        
+        return converterResultadoPausa(resultado);
+    }
+    
+    /**
+     * Define as regiões de interesse do monitoramento de pausas do usuário (substitui as anteriores)
+     */
+    public PausaMonitorRoiDTO definirRegioesInteresse(Integer usuarioId, PausaMonitorRoiDTO request) {
+        validarUsuarioMonitoramento(usuarioId, false);
+        
+        java.util.List<double[][]> poligonos = new java.util.ArrayList<>();
+        for (RegiaoInteresseDTO regiao : request.getRegioes()) {
+            poligonos.add(converterRegiao(regiao));
+        }
+        pausaMonitorService.definirRegioesInteresse(usuarioId, poligonos);
+        log.info("🎯 Regiões de interesse atualizadas para usuário {}", usuarioId);
+        return obterRegioesInteresse(usuarioId);
+    }
+    
+    /**
+     * Regiões de interesse atuais do usuário (lista vazia = frame inteiro)
+     */
+    public PausaMonitorRoiDTO obterRegioesInteresse(Integer usuarioId) {
+        java.util.List<RegiaoInteresseDTO> regioes = pausaMonitorService.obterRegioesInteresse(usuarioId).stream()
+                .map(poligono -> RegiaoInteresseDTO.builder()
+                        .pontos(java.util.Arrays.stream(poligono)
+                                .map(ponto -> PontoRegiaoDTO.builder().x(ponto[0]).y(ponto[1]).build())
+                                .toList())
+                        .build())
+                .toList();
+        return PausaMonitorRoiDTO.builder()
+                .usuarioId(usuarioId)
+                .regioes(regioes)
+                .build();
+    }
+    
+    public void removerRegioesInteresse(Integer usuarioId) {
+        pausaMonitorService.removerRegioesInteresse(usuarioId);
+    }
+    
+    private double[][] converterRegiao(RegiaoInteresseDTO regiao) {
+        if (regiao.getPontos() != null && !regiao.getPontos().isEmpty()) {
+            return regiao.getPontos().stream()
+                    .map(ponto -> new double[]{ponto.getX(), ponto.getY()})
+                    .toArray(double[][]::new);
+        }
+        if (regiao.getX() == null || regiao.getY() == null || regiao.getLargura() == null || regiao.getAltura() == null) {
+            throw new RuntimeException("Região de interesse deve ter x, y, largura e altura ou uma lista de pontos");
+        }
+        if (regiao.getX() + regiao.getLargura() > 1 || regiao.getY() + regiao.getAltura() > 1) {
+            throw new RuntimeException("Região de interesse ultrapassa os limites do frame");
+        }
+        return PausaMonitorService.retangulo(regiao.getX(), regiao.getY(), regiao.getLargura(), regiao.getAltura());
+    }
+    
+    private PausaMonitorResponseDTO converterResultadoPausa(PausaMonitorService.ResultadoMonitoramento resultado) {
+        return PausaMonitorResponseDTO.builder()
+                .usuarioId(resultado.getUsuarioId())
+                .descartado(resultado.isDescartado())
+                .movimentoDetectado(resultado.isMovimentoDetectado())
+                .quantidadeMovimento(resultado.getQuantidadeMovimento())
+                .presente(resultado.isPresente())
+                .tempoSentadoMinutos(resultado.getTempoSentadoMinutos())
+                .totalPausas(resultado.getTotalPausas())
+                .sugerirAlongamento(resultado.isSugerirAlongamento())
+                .regioesInteresseAplicadas(resultado.isRegioesInteresseAplicadas())
+                .mensagem(resultado.getMensagem())
+                .sugestoes(resultado.getSugestoes())
+                .proximoQuadroSegundos(resultado.getProximoQuadroSegundos())
+                .timestamp(resultado.getTimestamp())
+                .build();
+    }
+    
+    /**
+     * Todos os frames do minuto de sugestão reportam sugerirAlongamento; o bloco de 30 minutos sentado
+     * identifica o evento, então cada sugestão gera um único AlertaIA
+     */
+    private void registrarAlertaPausa(Integer usuarioId, PausaMonitorService.ResultadoMonitoramento resultado) {
+        if (!resultado.isSugerirAlongamento()) {
+            return;
+        }
+        boolean registrado = alertaIAEscritaService.registrar(usuarioId, "PAUSA_SUGERIDA",
+                resultado.getTempoSentadoMinutos() / 30,
+                "Sugestão de alongamento após " + resultado.getTempoSentadoMinutos() + " minutos sentado",
+                2, // Risco baixo - apenas sugestão
+                resultado.getTimestamp() != null ? resultado.getTimestamp().toLocalDate() : LocalDate.now());
+        if (registrado) {
+            log.info("✅ Alerta de pausa sugerida registrado para usuário {}", usuarioId);
+        }
+    }
 }
-
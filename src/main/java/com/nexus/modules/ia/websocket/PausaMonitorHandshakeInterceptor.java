@@ -0,0 +1,103 @@
+package com.nexus.modules.ia.websocket;
+
+import com.nexus.ai.RoteamentoSessaoPausa;
+import com.nexus.domain.model.Usuario;
+import com.nexus.infrastructure.repository.UsuarioRepository;
+import com.nexus.security.JwtService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+
+/**
+ * Autentica a conexão WebSocket do monitoramento de pausas uma única vez, no handshake
+ *
+ * O JWT vem no header Authorization ("Bearer ...") ou no parâmetro "token" (navegadores não permitem
+ * headers customizados em WebSocket). O usuário monitorado é o do parâmetro "usuarioId" ou, se omitido,
+ * o dono do token. Depois do handshake os frames não passam mais por JWT nem consulta ao banco.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PausaMonitorHandshakeInterceptor implements HandshakeInterceptor {
+
+    static final String ATRIBUTO_USUARIO_ID = "usuarioId";
+    static final String ATRIBUTO_TOKEN_EXPIRA_EM = "tokenExpiraEm";
+
+    private final JwtService jwtService;
+    private final UserDetailsService userDetailsService;
+    private final UsuarioRepository usuarioRepository;
+    private final RoteamentoSessaoPausa roteamentoSessaoPausa;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        Map<String, String> parametros = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().toSingleValueMap();
+        String token = extrairToken(request, parametros);
+        if (token == null) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+
+        try {
+            String email = jwtService.extractUsername(token);
+            UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            if (!jwtService.validateToken(token, userDetails)) {
+                response.setStatusCode(HttpStatus.UNAUTHORIZED);
+                return false;
+            }
+
+            Integer usuarioId;
+            if (parametros.get(ATRIBUTO_USUARIO_ID) != null) {
+                usuarioId = Integer.valueOf(parametros.get(ATRIBUTO_USUARIO_ID));
+                if (!usuarioRepository.existsById(usuarioId)) {
+                    response.setStatusCode(HttpStatus.NOT_FOUND);
+                    return false;
+                }
+            } else {
+                usuarioId = usuarioRepository.findByEmail(email)
+                        .map(Usuario::getIdUsuario)
+                        .orElse(null);
+                if (usuarioId == null) {
+                    response.setStatusCode(HttpStatus.NOT_FOUND);
+                    return false;
+                }
+            }
+
+            attributes.put(ATRIBUTO_USUARIO_ID, usuarioId);
+            attributes.put(ATRIBUTO_TOKEN_EXPIRA_EM, jwtService.extractExpiration(token).getTime());
+            roteamentoSessaoPausa.rotear(usuarioId)
+                    .ifPresent(no -> response.getHeaders().add(RoteamentoSessaoPausa.HEADER_NO, no));
+            log.info("📹 Canal WebSocket de monitoramento aberto para usuário {} ({})", usuarioId, email);
+            return true;
+        } catch (Exception e) {
+            log.warn("⚠️ Handshake WebSocket recusado: {}", e.getMessage());
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    private String extrairToken(ServerHttpRequest request, Map<String, String> parametros) {
+        String authHeader = request.getHeaders().getFirst("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7).trim();
+            return token.isEmpty() ? null : token;
+        }
+        String token = parametros.get("token");
+        return token != null && !token.isBlank() ? token : null;
+    }
+}
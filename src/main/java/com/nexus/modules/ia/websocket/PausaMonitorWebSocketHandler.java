@@ -0,0 +1,75 @@
+package com.nexus.modules.ia.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexus.application.dto.PausaMonitorResponseDTO;
+import com.nexus.modules.ia.service.IAService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Canal binário persistente do monitoramento de pausas (/ws/pausa-monitor)
+ *
+ * Cada mensagem binária é um frame (JPEG ou PNG) e recebe como resposta o JSON de
+ * {@link PausaMonitorResponseDTO}. A mensagem de texto "resetar" reinicia a sessão de monitoramento.
+ * Autenticação e validação do usuário acontecem só no handshake ({@link PausaMonitorHandshakeInterceptor}).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PausaMonitorWebSocketHandler extends AbstractWebSocketHandler {
+
+    private final IAService iaService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws Exception {
+        if (tokenExpirado(session)) {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("Token expirado"));
+            return;
+        }
+
+        Integer usuarioId = (Integer) session.getAttributes().get(PausaMonitorHandshakeInterceptor.ATRIBUTO_USUARIO_ID);
+        PausaMonitorResponseDTO response = iaService.processarFramePausa(usuarioId, abrirPayload(message.getPayload()));
+        session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        Integer usuarioId = (Integer) session.getAttributes().get(PausaMonitorHandshakeInterceptor.ATRIBUTO_USUARIO_ID);
+        if ("resetar".equalsIgnoreCase(message.getPayload().trim())) {
+            iaService.validarUsuarioMonitoramento(usuarioId, true);
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.warn("⚠️ Erro no canal WebSocket de monitoramento ({}): {}", session.getId(), exception.getMessage());
+    }
+
+    /**
+     * Lê o payload sem copiar quando o buffer é um array na heap (caso do container servlet)
+     */
+    private InputStream abrirPayload(ByteBuffer payload) {
+        if (payload.hasArray()) {
+            return new ByteArrayInputStream(payload.array(), payload.arrayOffset() + payload.position(), payload.remaining());
+        }
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        return new ByteArrayInputStream(bytes);
+    }
+
+    private boolean tokenExpirado(WebSocketSession session) {
+        Long expiraEm = (Long) session.getAttributes().get(PausaMonitorHandshakeInterceptor.ATRIBUTO_TOKEN_EXPIRA_EM);
+        return expiraEm != null && System.currentTimeMillis() >= expiraEm;
+    }
+}
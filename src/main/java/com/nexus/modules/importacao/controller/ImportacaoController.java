@@ -0,0 +1,65 @@
+package com.nexus.modules.importacao.controller;
+
+import com.nexus.application.dto.ProgressoImportacaoDTO;
+import com.nexus.modules.importacao.service.ImportacaoService;
+import com.nexus.modules.importacao.service.LeitorLinhasImportacao;
+import com.nexus.modules.importacao.service.TipoImportacao;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Importação em massa de dados históricos (humor, hábitos e sprints)
+ * O corpo é lido em streaming: pode ter milhões de linhas sem ser carregado inteiro na memória.
+ */
+@RestController
+@RequestMapping("/api/importacao")
+@RequiredArgsConstructor
+@Tag(name = "Importação", description = "Importação em massa de humor, hábitos e sprints (NDJSON ou CSV)")
+@SecurityRequirement(name = "bearerAuth")
+public class ImportacaoController {
+
+    private final ImportacaoService importacaoService;
+
+    @PostMapping(value = "/{tipo}", consumes = {"application/x-ndjson", "text/csv"})
+    @Operation(
+        summary = "Importar dados históricos",
+        description = "tipo: humor, habitos ou sprints. Corpo em NDJSON (um objeto por linha) ou CSV (cabeçalho com os " +
+                     "nomes dos campos, ex: idUsuario,dataRegistro,nivelHumor,nivelEnergia). Linhas inválidas são " +
+                     "rejeitadas e listadas no resultado; as válidas são gravadas em lotes. Informe 'id' para " +
+                     "acompanhar o progresso em GET /api/importacao/{id} enquanto a importação roda."
+    )
+    @PreAuthorize("hasRole('GESTOR')")
+    public ResponseEntity<ProgressoImportacaoDTO> importar(
+            @PathVariable("tipo") String tipo,
+            @RequestParam(value = "id", required = false) String idImportacao,
+            HttpServletRequest request) throws IOException {
+        TipoImportacao tipoImportacao = TipoImportacao.de(tipo);
+        LeitorLinhasImportacao.Formato formato = LeitorLinhasImportacao.Formato.doContentType(request.getContentType());
+        return ResponseEntity.ok(importacaoService.importar(tipoImportacao, formato, request.getInputStream(), idImportacao));
+    }
+
+    @GetMapping("/{idImportacao}")
+    @Operation(summary = "Progresso de uma importação", description = "Disponível durante e até 24h depois da importação")
+    @PreAuthorize("hasRole('GESTOR')")
+    public ResponseEntity<ProgressoImportacaoDTO> progresso(@PathVariable("idImportacao") String idImportacao) {
+        return importacaoService.progresso(idImportacao)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping
+    @Operation(summary = "Listar importações recentes", description = "As mais novas primeiro")
+    @PreAuthorize("hasRole('GESTOR')")
+    public ResponseEntity<List<ProgressoImportacaoDTO>> listar() {
+        return ResponseEntity.ok(importacaoService.listar());
+    }
+}
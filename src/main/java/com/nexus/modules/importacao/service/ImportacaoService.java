@@ -0,0 +1,383 @@
+package com.nexus.modules.importacao.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nexus.application.dto.HabitoDTO;
+import com.nexus.application.dto.HumorDTO;
+import com.nexus.application.dto.ProgressoImportacaoDTO;
+import com.nexus.application.dto.SprintDTO;
+import com.nexus.application.mapper.HabitMapper;
+import com.nexus.application.mapper.MoodEntryMapper;
+import com.nexus.application.mapper.SprintMapper;
+import com.nexus.domain.model.Habito;
+import com.nexus.domain.model.Humor;
+import com.nexus.domain.model.Sprint;
+import com.nexus.infrastructure.repository.HabitoRepository;
+import com.nexus.infrastructure.repository.HumorRepository;
+import com.nexus.infrastructure.repository.SprintRepository;
+import com.nexus.infrastructure.repository.UsuarioRepository;
+import com.nexus.modules.cache.service.CacheService;
+import com.nexus.modules.habitos.service.HabitoService;
+import com.nexus.modules.sprints.service.SprintService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em massa de dados históricos de humor, hábitos e sprints (NDJSON ou CSV)
+ *
+ * - O corpo é lido em streaming, linha a linha; cada linha é validada com as mesmas regras do DTO da API
+ *   e as linhas inválidas são rejeitadas sem interromper a importação
+ * - As linhas válidas são gravadas em lotes de importacao.tamanho-lote, cada lote numa transação própria:
+ *   um lote com erro é descartado inteiro e os anteriores continuam gravados
+ * - Inserts via saveAll com o batching JDBC do Hibernate (ids por sequence); o contexto de persistência é
+ *   esvaziado a cada lote para a memória não crescer com o arquivo
+ * - Caches invalidados uma vez por usuário e lote (após o commit), não por linha
+ * - Registros históricos não disparam alertas de burnout; hábitos recalculam os badges uma vez por usuário e lote
+ * - O progresso fica consultável pelo id da importação durante e até 24h depois dela
+ */
+@Service
+@Slf4j
+public class ImportacaoService {
+
+    private static final String EM_ANDAMENTO = "EM_ANDAMENTO";
+    private static final String CONCLUIDA = "CONCLUIDA";
+    private static final String FALHOU = "FALHOU";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final UsuarioRepository usuarioRepository;
+    private final HumorRepository humorRepository;
+    private final HabitoRepository habitoRepository;
+    private final SprintRepository sprintRepository;
+    private final MoodEntryMapper moodEntryMapper;
+    private final HabitMapper habitMapper;
+    private final SprintMapper sprintMapper;
+    private final HabitoService habitoService;
+    private final CacheService cacheService;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+    private final int maximoErros;
+
+    // Progresso por id da importação (cópia publicada a cada lote)
+    private final Cache<String, ProgressoImportacaoDTO> progressos = Caffeine.newBuilder()
+            .maximumSize(200)
+            .expireAfterWrite(24, TimeUnit.HOURS)
+            .build();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ImportacaoService(ObjectMapper objectMapper,
+                             Validator validator,
+                             UsuarioRepository usuarioRepository,
+                             HumorRepository humorRepository,
+                             HabitoRepository habitoRepository,
+                             SprintRepository sprintRepository,
+                             MoodEntryMapper moodEntryMapper,
+                             HabitMapper habitMapper,
+                             SprintMapper sprintMapper,
+                             HabitoService habitoService,
+                             CacheService cacheService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${importacao.tamanho-lote:500}") int tamanhoLote,
+                             @Value("${importacao.maximo-erros:100}") int maximoErros) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.usuarioRepository = usuarioRepository;
+        this.humorRepository = humorRepository;
+        this.habitoRepository = habitoRepository;
+        this.sprintRepository = sprintRepository;
+        this.moodEntryMapper = moodEntryMapper;
+        this.habitMapper = habitMapper;
+        this.sprintMapper = sprintMapper;
+        this.habitoService = habitoService;
+        this.cacheService = cacheService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoLote = Math.max(1, tamanhoLote);
+        this.maximoErros = Math.max(0, maximoErros);
+    }
+
+    /**
+     * Importa o corpo inteiro na thread chamadora e devolve o resultado final
+     *
+     * @param idImportacao id para acompanhar o progresso; gerado se não informado
+     */
+    public ProgressoImportacaoDTO importar(TipoImportacao tipo, LeitorLinhasImportacao.Formato formato,
+                                          InputStream corpo, String idImportacao) {
+        String id = idImportacao != null && !idImportacao.isBlank() ? idImportacao : UUID.randomUUID().toString();
+        Execucao execucao = new Execucao(id, tipo);
+        ProgressoImportacaoDTO existente = progressos.asMap().putIfAbsent(id, execucao.copia());
+        if (existente != null) {
+            if (EM_ANDAMENTO.equals(existente.getStatus())) {
+                throw new RuntimeException("Importação " + id + " já está em andamento");
+            }
+            publicar(execucao);
+        }
+        log.info("📥 Importação {} de {} iniciada ({})", id, tipo.getCacheName(), formato);
+
+        List<LinhaValida> lote = new ArrayList<>(tamanhoLote);
+        try (LeitorLinhasImportacao leitor = new LeitorLinhasImportacao(
+                new InputStreamReader(corpo, StandardCharsets.UTF_8), formato, objectMapper)) {
+            LeitorLinhasImportacao.Linha linha;
+            while ((linha = leitor.proxima()) != null) {
+                execucao.linhasLidas++;
+                LinhaValida valida = validar(tipo, linha, execucao);
+                if (valida != null) {
+                    lote.add(valida);
+                }
+                if (lote.size() >= tamanhoLote) {
+                    gravarLote(tipo, lote, execucao);
+                    lote = new ArrayList<>(tamanhoLote);
+                    publicar(execucao);
+                } else if (execucao.linhasLidas % tamanhoLote == 0) {
+                    publicar(execucao);
+                }
+            }
+            if (!lote.isEmpty()) {
+                gravarLote(tipo, lote, execucao);
+            }
+            execucao.status = CONCLUIDA;
+        } catch (IOException e) {
+            log.warn("⚠️ Leitura da importação {} interrompida na linha {}: {}", id, execucao.linhasLidas, e.getMessage());
+            execucao.erro("leitura interrompida após a linha " + execucao.linhasLidas + ": " + e.getMessage(), maximoErros);
+            execucao.status = FALHOU;
+        } catch (RuntimeException e) {
+            // Erro fora da gravação dos lotes: a importação termina como FALHOU para poder ser refeita com o mesmo id
+            log.warn("⚠️ Importação {} interrompida na linha {}: {}", id, execucao.linhasLidas, e.getMessage());
+            execucao.erro("importação interrompida após a linha " + execucao.linhasLidas + ": " + e.getMessage(), maximoErros);
+            execucao.status = FALHOU;
+        }
+        execucao.concluidoEm = LocalDateTime.now();
+        publicar(execucao);
+        log.info("✅ Importação {} {}: {} linha(s) lida(s), {} importada(s), {} rejeitada(s) em {} lote(s)",
+                id, execucao.status, execucao.linhasLidas, execucao.linhasImportadas,
+                execucao.linhasRejeitadas, execucao.lotesGravados);
+        return execucao.copia();
+    }
+
+    public Optional<ProgressoImportacaoDTO> progresso(String idImportacao) {
+        return Optional.ofNullable(progressos.getIfPresent(idImportacao));
+    }
+
+    /**
+     * Importações recentes, as mais novas primeiro
+     */
+    public List<ProgressoImportacaoDTO> listar() {
+        return progressos.asMap().values().stream()
+                .sorted(Comparator.comparing(ProgressoImportacaoDTO::getIniciadoEm).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private LinhaValida validar(TipoImportacao tipo, LeitorLinhasImportacao.Linha linha, Execucao execucao) {
+        if (linha.getErro() != null) {
+            execucao.rejeitar(linha.getNumero(), linha.getErro(), maximoErros);
+            return null;
+        }
+        Object dto;
+        try {
+            dto = objectMapper.treeToValue(linha.getConteudo(), tipo.getClasseDto());
+        } catch (JsonProcessingException e) {
+            execucao.rejeitar(linha.getNumero(), e.getOriginalMessage(), maximoErros);
+            return null;
+        }
+        Set<ConstraintViolation<Object>> violacoes = validator.validate(dto);
+        if (!violacoes.isEmpty()) {
+            String mensagem = violacoes.stream()
+                    .map(violacao -> violacao.getPropertyPath() + ": " + violacao.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            execucao.rejeitar(linha.getNumero(), mensagem, maximoErros);
+            return null;
+        }
+        return new LinhaValida(linha.getNumero(), dto);
+    }
+
+    /**
+     * Grava um lote numa transação própria e invalida os caches dos usuários afetados
+     */
+    private void gravarLote(TipoImportacao tipo, List<LinhaValida> lote, Execucao execucao) {
+        try {
+            Set<Integer> usuariosAfetados = transactionTemplate.execute(status -> {
+                Set<Integer> afetados = gravar(tipo, lote, execucao);
+                if (tipo == TipoImportacao.HABITOS) {
+                    afetados.forEach(habitoService::verificarEAtribuirBadges);
+                }
+                entityManager.flush();
+                entityManager.clear();
+                afetados.forEach(idUsuario -> cacheService.evictarPorUsuario(tipo.getCacheName(), idUsuario));
+                return afetados;
+            });
+            execucao.lotesGravados++;
+            log.debug("Lote {} da importação {} gravado: {} usuário(s) afetado(s)",
+                    execucao.lotesGravados, execucao.idImportacao, usuariosAfetados != null ? usuariosAfetados.size() : 0);
+        } catch (RuntimeException e) {
+            // Transação desfeita: nenhuma linha do lote ficou gravada
+            execucao.linhasImportadas -= execucao.importadasNoLote;
+            execucao.linhasRejeitadas += execucao.importadasNoLote;
+            execucao.erro("Lote com linhas " + lote.get(0).numero + "-" + lote.get(lote.size() - 1).numero +
+                    " não gravado: " + e.getMessage(), maximoErros);
+            log.warn("⚠️ Lote da importação {} não gravado: {}", execucao.idImportacao, e.getMessage());
+        } finally {
+            execucao.importadasNoLote = 0;
+        }
+    }
+
+    /**
+     * Monta e grava as entidades do lote (dentro da transação)
+     *
+     * @return usuários com linhas gravadas
+     */
+    private Set<Integer> gravar(TipoImportacao tipo, List<LinhaValida> lote, Execucao execucao) {
+        Set<Integer> idsUsuarios = lote.stream().map(linha -> idUsuario(linha.dto)).collect(Collectors.toSet());
+        Set<Integer> existentes = usuarioRepository.findIdsExistentes(idsUsuarios);
+        Set<Integer> afetados = new LinkedHashSet<>();
+        // Nomes de sprint já gravados ou já usados neste lote, por "usuario:nome"
+        Set<String> sprintsDoLote = new HashSet<>();
+        if (tipo == TipoImportacao.SPRINTS && !existentes.isEmpty()) {
+            Set<String> nomes = lote.stream().map(linha -> ((SprintDTO) linha.dto).getNomeSprint()).collect(Collectors.toSet());
+            sprintsDoLote.addAll(sprintRepository.findChavesExistentes(existentes, nomes));
+        }
+
+        List<Humor> humores = new ArrayList<>();
+        List<Habito> habitos = new ArrayList<>();
+        List<Sprint> sprints = new ArrayList<>();
+        for (LinhaValida linha : lote) {
+            Integer idUsuario = idUsuario(linha.dto);
+            if (!existentes.contains(idUsuario)) {
+                execucao.rejeitar(linha.numero, "idUsuario: usuário " + idUsuario + " não encontrado", maximoErros);
+                continue;
+            }
+            switch (tipo) {
+                case HUMOR -> {
+                    Humor humor = moodEntryMapper.toEntity((HumorDTO) linha.dto);
+                    humor.setUsuario(usuarioRepository.getReferenceById(idUsuario));
+                    humores.add(humor);
+                }
+                case HABITOS -> {
+                    Habito habito = habitMapper.toEntity((HabitoDTO) linha.dto);
+                    habito.setUsuario(usuarioRepository.getReferenceById(idUsuario));
+                    if (habito.getPontuacao() == null) {
+                        habito.setPontuacao(HabitoService.calcularPontuacaoPadrao(habito.getTipoHabito()));
+                    }
+                    habitos.add(habito);
+                }
+                case SPRINTS -> {
+                    SprintDTO dto = (SprintDTO) linha.dto;
+                    if (!sprintsDoLote.add(idUsuario + ":" + dto.getNomeSprint())) {
+                        execucao.rejeitar(linha.numero, "nomeSprint: sprint '" + dto.getNomeSprint() +
+                                "' já existe para o usuário " + idUsuario, maximoErros);
+                        continue;
+                    }
+                    Sprint sprint = sprintMapper.toEntity(dto);
+                    sprint.setUsuario(usuarioRepository.getReferenceById(idUsuario));
+                    if (sprint.getProdutividade() == null && sprint.getTarefasConcluidas() != null && sprint.getCommits() != null) {
+                        sprint.setProdutividade(SprintService.calcularProdutividade(sprint.getTarefasConcluidas(), sprint.getCommits()));
+                    }
+                    sprints.add(sprint);
+                }
+            }
+            afetados.add(idUsuario);
+            execucao.linhasImportadas++;
+            execucao.importadasNoLote++;
+        }
+
+        humorRepository.saveAll(humores);
+        habitoRepository.saveAll(habitos);
+        sprintRepository.saveAll(sprints);
+        return afetados;
+    }
+
+    private static Integer idUsuario(Object dto) {
+        if (dto instanceof HumorDTO humor) {
+            return humor.getIdUsuario();
+        }
+        if (dto instanceof HabitoDTO habito) {
+            return habito.getIdUsuario();
+        }
+        return ((SprintDTO) dto).getIdUsuario();
+    }
+
+    private void publicar(Execucao execucao) {
+        progressos.put(execucao.idImportacao, execucao.copia());
+    }
+
+    @AllArgsConstructor
+    private static class LinhaValida {
+        private final long numero;
+        private final Object dto;
+    }
+
+    /**
+     * Estado mutável de uma importação, alterado só pela thread que a executa
+     */
+    private static class Execucao {
+        private final String idImportacao;
+        private final TipoImportacao tipo;
+        private final LocalDateTime iniciadoEm = LocalDateTime.now();
+        private final List<String> erros = new ArrayList<>();
+        private String status = EM_ANDAMENTO;
+        private long linhasLidas;
+        private long linhasImportadas;
+        private long linhasRejeitadas;
+        private long importadasNoLote;
+        private int lotesGravados;
+        private LocalDateTime concluidoEm;
+
+        Execucao(String idImportacao, TipoImportacao tipo) {
+            this.idImportacao = idImportacao;
+            this.tipo = tipo;
+        }
+
+        void rejeitar(long numeroLinha, String mensagem, int maximoErros) {
+            linhasRejeitadas++;
+            erro("linha " + numeroLinha + ": " + mensagem, maximoErros);
+        }
+
+        void erro(String mensagem, int maximoErros) {
+            if (erros.size() < maximoErros) {
+                erros.add(mensagem);
+            }
+        }
+
+        ProgressoImportacaoDTO copia() {
+            return ProgressoImportacaoDTO.builder()
+                    .idImportacao(idImportacao)
+                    .tipo(tipo.getCacheName())
+                    .status(status)
+                    .linhasLidas(linhasLidas)
+                    .linhasImportadas(linhasImportadas)
+                    .linhasRejeitadas(linhasRejeitadas)
+                    .lotesGravados(lotesGravados)
+                    .iniciadoEm(iniciadoEm)
+                    .concluidoEm(concluidoEm)
+                    .erros(List.copyOf(erros))
+                    .build();
+        }
+    }
+}
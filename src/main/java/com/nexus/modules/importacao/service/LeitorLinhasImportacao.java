@@ -0,0 +1,163 @@
+package com.nexus.modules.importacao.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lê o corpo da importação uma linha por vez, sem carregá-lo inteiro na memória
+ *
+ * - NDJSON: um objeto JSON por linha
+ * - CSV: primeira linha com os nomes dos campos do DTO (ex: idUsuario,dataRegistro,nivelHumor), separados por
+ *   vírgula ou ponto e vírgula; campos entre aspas podem conter o separador ("" para aspas), mas não quebras de linha
+ *
+ * Cada linha vira um objeto JSON (campos vazios do CSV ficam de fora) ou um erro, sem interromper a leitura.
+ * Linhas em branco são ignoradas.
+ */
+public class LeitorLinhasImportacao implements Closeable {
+
+    public enum Formato {
+        NDJSON, CSV;
+
+        public static Formato doContentType(String contentType) {
+            return contentType != null && contentType.toLowerCase().contains("csv") ? CSV : NDJSON;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Linha {
+        private final long numero;
+        private final JsonNode conteudo;
+        private final String erro;
+    }
+
+    private final BufferedReader reader;
+    private final Formato formato;
+    private final ObjectMapper objectMapper;
+    private List<String> cabecalho;
+    private char separador = ',';
+    private long numeroLinha;
+
+    public LeitorLinhasImportacao(Reader reader, Formato formato, ObjectMapper objectMapper) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.formato = formato;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Próxima linha de dados, ou null no fim do corpo
+     */
+    public Linha proxima() throws IOException {
+        String texto;
+        while ((texto = reader.readLine()) != null) {
+            numeroLinha++;
+            if (numeroLinha == 1 && texto.startsWith("﻿")) {
+                texto = texto.substring(1);
+            }
+            if (texto.isBlank()) {
+                continue;
+            }
+            if (formato == Formato.CSV && cabecalho == null) {
+                lerCabecalho(texto);
+                continue;
+            }
+            return formato == Formato.CSV ? linhaCsv(texto) : linhaJson(texto);
+        }
+        return null;
+    }
+
+    private Linha linhaJson(String texto) {
+        try {
+            JsonNode conteudo = objectMapper.readTree(texto);
+            if (!conteudo.isObject()) {
+                return erro("esperado um objeto JSON");
+            }
+            return new Linha(numeroLinha, conteudo, null);
+        } catch (JsonProcessingException e) {
+            return erro("JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    private void lerCabecalho(String texto) {
+        if (texto.indexOf(';') >= 0 && texto.indexOf(',') < 0) {
+            separador = ';';
+        }
+        List<String> nomes = campos(texto, separador);
+        cabecalho = new ArrayList<>(nomes.size());
+        for (String nome : nomes) {
+            cabecalho.add(nome != null ? nome.trim() : "");
+        }
+    }
+
+    private Linha linhaCsv(String texto) {
+        List<String> valores = campos(texto, separador);
+        if (valores == null) {
+            return erro("aspas não fechadas (quebra de linha dentro de um campo não é suportada)");
+        }
+        if (valores.size() > cabecalho.size()) {
+            return erro(valores.size() + " campos, mas o cabeçalho tem " + cabecalho.size());
+        }
+        ObjectNode conteudo = objectMapper.createObjectNode();
+        for (int i = 0; i < valores.size(); i++) {
+            String valor = valores.get(i).trim();
+            if (!valor.isEmpty() && !cabecalho.get(i).isEmpty()) {
+                conteudo.put(cabecalho.get(i), valor);
+            }
+        }
+        return new Linha(numeroLinha, conteudo, null);
+    }
+
+    private Linha erro(String mensagem) {
+        return new Linha(numeroLinha, null, mensagem);
+    }
+
+    /**
+     * Campos de uma linha CSV (null se alguma aspa não foi fechada)
+     */
+    static List<String> campos(String linha, char separador) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c != '"') {
+                    atual.append(c);
+                } else if (i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else {
+                    entreAspas = false;
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        if (entreAspas) {
+            return null;
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,33 @@
+package com.nexus.modules.importacao.service;
+
+import com.nexus.application.dto.HabitoDTO;
+import com.nexus.application.dto.HumorDTO;
+import com.nexus.application.dto.SprintDTO;
+import lombok.Getter;
+
+/**
+ * Dados aceitos pela importação em massa: DTO de cada linha e cache de páginas por usuário afetado
+ */
+@Getter
+public enum TipoImportacao {
+    HUMOR("humor", HumorDTO.class),
+    HABITOS("habitos", HabitoDTO.class),
+    SPRINTS("sprints", SprintDTO.class);
+
+    private final String cacheName;
+    private final Class<?> classeDto;
+
+    TipoImportacao(String cacheName, Class<?> classeDto) {
+        this.cacheName = cacheName;
+        this.classeDto = classeDto;
+    }
+
+    public static TipoImportacao de(String valor) {
+        for (TipoImportacao tipo : values()) {
+            if (tipo.name().equalsIgnoreCase(valor) || tipo.cacheName.equalsIgnoreCase(valor)) {
+                return tipo;
+            }
+        }
+        throw new RuntimeException("Tipo de importação inválido: " + valor + " (use humor, habitos ou sprints)");
+    }
+}
@@ -7,9 +7,9 @@ import com.nexus.domain.model.Sprint;
 import com.nexus.domain.model.Usuario;
 import com.nexus.infrastructure.repository.SprintRepository;
 import com.nexus.infrastructure.repository.UsuarioRepository;
+import com.nexus.modules.cache.service.CacheService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
@@ -27,6 +27,7 @@ public class SprintService {
     private final SprintRepository sprintRepository;
     private final UsuarioRepository usuarioRepository;
     private final SprintMapper sprintMapper;
+    private final CacheService cacheService;
     
     @Autowired(required = false)
     @Lazy
@@ -34,16 +35,16 @@ public class SprintService {
     
     public SprintService(SprintRepository sprintRepository, 
                         UsuarioRepository usuarioRepository, 
-                        SprintMapper sprintMapper) {
+                        SprintMapper sprintMapper,
+                        CacheService cacheService) {
         this.sprintRepository = sprintRepository;
         this.usuarioRepository = usuarioRepository;
         this.sprintMapper = sprintMapper;
+        this.cacheService = cacheService;
     }
 
     @Transactional
-    @CacheEvict(value = "sprints", allEntries = true)
     public SprintDTO criar(SprintDTO dto) {
-        log.debug("🗑️ Cache 'sprints' invalidado - nova sprint sendo criada");
         Usuario usuario = usuarioRepository.findById(dto.getIdUsuario())
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
 
@@ -62,11 +63,14 @@ public class SprintService {
 
         Sprint saved = sprintRepository.save(sprint);
         sprintRepository.flush(); // Garantir que os dados sejam persistidos imediatamente
+        cacheService.evictarPorUsuario("sprints", usuario.getIdUsuario());
         log.info("Sprint criada e salva no banco: ID={}, Usuário={}, Nome={}", saved.getIdSprint(), saved.getUsuario().getIdUsuario(), saved.getNomeSprint());
-        return sprintMapper.toDTO(saved);
+        SprintDTO criada = sprintMapper.toDTO(saved);
+        cacheService.atualizarPorId("sprints-id", criada.getIdSprint(), criada);
+        return criada;
     }
 
-    @Cacheable(value = "sprints", key = "#idUsuario + '_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    @Cacheable(value = "sprints", key = "T(com.nexus.modules.cache.service.CacheService).chavePagina(#idUsuario, #pageable)", sync = true)
     public Page<SprintDTO> listarPorUsuario(Integer idUsuario, Pageable pageable) {
         log.debug("🔍 Buscando sprints do usuário {} - Verificando cache primeiro...", idUsuario);
         Page<SprintDTO> result = sprintRepository.findByUsuario_IdUsuario(idUsuario, pageable)
@@ -75,6 +79,7 @@ public class SprintService {
         return result;
     }
 
+    @Cacheable(value = "sprints-id", key = "#id", sync = true)
     public SprintDTO buscarPorId(Integer id) {
         Sprint sprint = sprintRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Sprint não encontrada"));
@@ -82,7 +87,6 @@ public class SprintService {
     }
 
     @Transactional
-    @CacheEvict(value = "sprints", allEntries = true)
     public SprintDTO atualizar(Integer id, SprintDTO dto) {
         Sprint sprint = sprintRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Sprint não encontrada"));
@@ -100,13 +104,18 @@ public class SprintService {
         }
 
         Sprint updated = sprintRepository.save(sprint);
-        return sprintMapper.toDTO(updated);
+        cacheService.evictarPorUsuario("sprints", sprint.getUsuario().getIdUsuario());
+        SprintDTO atualizada = sprintMapper.toDTO(updated);
+        cacheService.atualizarPorId("sprints-id", id, atualizada);
+        return atualizada;
     }
 
     @Transactional
-    @CacheEvict(value = "sprints", allEntries = true)
     public void deletar(Integer id) {
+        sprintRepository.findById(id)
+                .ifPresent(sprint -> cacheService.evictarPorUsuario("sprints", sprint.getUsuario().getIdUsuario()));
         sprintRepository.deleteById(id);
+        cacheService.evictarPorId("sprints-id", id);
     }
 
     public String obterMensagemMotivacional(Integer idUsuario) {
@@ -120,7 +129,7 @@ public class SprintService {
         return "Continue focado e determinado. Você está no caminho certo!";
     }
 
-    private BigDecimal calcularProdutividade(Integer tarefas, Integer commits) {
+    public static BigDecimal calcularProdutividade(Integer tarefas, Integer commits) {
         if (tarefas == null || commits == null || tarefas == 0) {
             return BigDecimal.ZERO;
         }
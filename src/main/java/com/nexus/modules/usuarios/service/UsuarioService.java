@@ -6,10 +6,12 @@ import com.nexus.application.dto.UsuarioDTO;
 import com.nexus.application.mapper.UserMapper;
 import com.nexus.domain.model.Usuario;
 import com.nexus.infrastructure.repository.UsuarioRepository;
+import com.nexus.modules.cache.service.CacheService;
 import com.nexus.security.CustomUserDetailsService;
 import com.nexus.security.JwtService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -30,6 +32,7 @@ public class UsuarioService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final CustomUserDetailsService userDetailsService;
+    private final CacheService cacheService;
 
     @Transactional
     public UsuarioDTO registrar(UsuarioDTO dto) {
@@ -45,7 +48,9 @@ public class UsuarioService {
         usuarioRepository.flush(); // Garantir que os dados sejam persistidos imediatamente
         log.info("Usuário registrado e salvo no banco: ID={}, Email={}", saved.getIdUsuario(), saved.getEmail());
         
-        return userMapper.toDTO(saved);
+        UsuarioDTO registrado = userMapper.toDTO(saved);
+        cacheService.atualizarPorId("usuarios", registrado.getIdUsuario(), registrado);
+        return registrado;
     }
 
     public LoginResponse login(LoginRequest request) {
@@ -69,6 +74,11 @@ public class UsuarioService {
                 .build();
     }
 
+    /**
+     * Usuário por id, do cache 'usuarios' (o DTO não leva a senha)
+     * Também usado pelos serviços de IA para validar o usuário sem consultar o banco a cada chamada.
+     */
+    @Cacheable(value = "usuarios", key = "#id", sync = true)
     public UsuarioDTO buscarPorId(Integer id) {
         Usuario usuario = usuarioRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
@@ -101,7 +111,9 @@ public class UsuarioService {
         usuarioRepository.flush(); // Garantir que os dados sejam persistidos imediatamente
         log.info("Usuário atualizado e salvo no banco: ID={}, Email={}", updated.getIdUsuario(), updated.getEmail());
         
-        return userMapper.toDTO(updated);
+        UsuarioDTO atualizado = userMapper.toDTO(updated);
+        cacheService.atualizarPorId("usuarios", id, atualizado);
+        return atualizado;
     }
 
     @Transactional
@@ -111,6 +123,7 @@ public class UsuarioService {
         
         usuarioRepository.delete(usuario);
         usuarioRepository.flush(); // Garantir que a exclusão seja persistida imediatamente
+        cacheService.evictarPorId("usuarios", id);
         log.info("Usuário deletado com sucesso: ID={}, Email={}", id, usuario.getEmail());
     }
 }
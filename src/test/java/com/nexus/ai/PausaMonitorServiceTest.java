@@ -0,0 +1,542 @@
+package com.nexus.ai;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.imageio.ImageIO;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PausaMonitorServiceTest {
+
+    private static final int GAUSSIAN_BLUR_SIZE = 21;
+
+    private final PausaMonitorService pausaMonitorService = servico(0, 0, "diferenca");
+
+    private static PausaMonitorService servico(int largura, int altura, String detector) {
+        return new PausaMonitorService(largura, altura, 60, 1000, detector, 0.05, 2, 2000);
+    }
+
+    @Test
+    void testBlurIdenticoAoKernelOriginal() {
+        Random random = new Random(42);
+        int[][] tamanhos = {{64, 48}, {33, 17}, {5, 3}, {1, 1}, {160, 120}};
+        LumaPipeline.Buffers buffers = LumaPipeline.buffers();
+
+        for (int[] tamanho : tamanhos) {
+            int width = tamanho[0];
+            int height = tamanho[1];
+            BufferedImage imagem = gerarImagem(width, height, BufferedImage.TYPE_BYTE_GRAY, random);
+
+            BufferedImage esperado = blurReferencia(imagem);
+            byte[] cinza = LumaPipeline.converterParaCinza(imagem, width, height, buffers);
+            byte[] obtido = new byte[width * height];
+            LumaPipeline.borrar(cinza, obtido, width, height, GAUSSIAN_BLUR_SIZE / 2, buffers);
+
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    assertEquals(esperado.getRGB(x, y) & 0xFF, obtido[y * width + x] & 0xFF,
+                            "Pixel (" + x + "," + y + ") divergente em " + width + "x" + height);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testDiferencaFramesIdenticaAoCalculoOriginal() {
+        Random random = new Random(7);
+        int[] tipos = {BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_INT_ARGB};
+
+        for (int tipo : tipos) {
+            BufferedImage frame1 = gerarImagem(96, 72, tipo, random);
+            BufferedImage frame2 = gerarImagem(80, 64, tipo, random);
+
+            int width = Math.min(frame1.getWidth(), frame2.getWidth());
+            int height = Math.min(frame1.getHeight(), frame2.getHeight());
+            int esperado = diferencaReferencia(frame1, frame2);
+            assertTrue(esperado > 0);
+
+            byte[] luma1 = pausaMonitorService.extrairLumaBorrada(frame1, width, height).clone();
+            byte[] luma2 = pausaMonitorService.extrairLumaBorrada(frame2, width, height);
+            assertEquals(esperado, LumaPipeline.contarDiferencas(luma1, luma2, width, height));
+            assertEquals(0, LumaPipeline.contarDiferencas(luma1, luma1, width, height));
+        }
+    }
+
+    @Test
+    void testKernelEFaixasParalelasIdenticosAoEscalar() {
+        Random random = new Random(19);
+        EscalarDiferencaKernel escalar = new EscalarDiferencaKernel();
+        int[][] tamanhos = {{1280, 720}, {641, 481}, {31, 7}};
+
+        for (int[] tamanho : tamanhos) {
+            int pixels = tamanho[0] * tamanho[1];
+            byte[] plano1 = new byte[pixels];
+            byte[] plano2 = new byte[pixels];
+            random.nextBytes(plano1);
+            random.nextBytes(plano2);
+
+            int esperado = escalar.contar(plano1, plano2, 0, pixels, LumaPipeline.LIMIAR_DIFERENCA);
+            assertEquals(esperado, LumaPipeline.contarDiferencas(plano1, plano2, tamanho[0], tamanho[1]),
+                    "Divergência com kernel " + LumaPipeline.nomeKernel() + " em " + tamanho[0] + "x" + tamanho[1]);
+        }
+    }
+
+    @Test
+    void testDecodificacaoReduzidaParaResolucaoDeAnalise() throws Exception {
+        BufferedImage hd = gerarImagem(1280, 720, BufferedImage.TYPE_INT_RGB, new Random(3));
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        ImageIO.write(hd, "jpg", jpeg);
+
+        BufferedImage reduzida = servico(320, 240, "diferenca").decodificarFrame(jpeg.toByteArray());
+        assertTrue(reduzida.getWidth() >= 320 && reduzida.getHeight() >= 240);
+        assertTrue(reduzida.getWidth() < 640 && reduzida.getHeight() < 480);
+
+        BufferedImage original = pausaMonitorService.decodificarFrame(jpeg.toByteArray());
+        assertEquals(1280, original.getWidth());
+        assertEquals(720, original.getHeight());
+
+        assertNull(pausaMonitorService.decodificarFrame(new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    void testSessaoGuardaReferenciaCompactaEResetaEstado() throws Exception {
+        BufferedImage frame = gerarImagem(160, 120, BufferedImage.TYPE_INT_RGB, new Random(11));
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(frame, "png", png);
+
+        PausaMonitorService.ResultadoMonitoramento primeiro = pausaMonitorService.processarFrame(1, png.toByteArray());
+        PausaMonitorService.ResultadoMonitoramento segundo = pausaMonitorService.processarFrame(1, png.toByteArray());
+
+        assertTrue(primeiro.isMovimentoDetectado());
+        assertFalse(segundo.isMovimentoDetectado());
+        assertEquals(0, segundo.getQuantidadeMovimento());
+        assertNotNull(pausaMonitorService.obterEstatisticas(1));
+        assertTrue(pausaMonitorService.estimarMemoriaBytes() >= 160 * 120);
+
+        pausaMonitorService.resetarSessao(1);
+        assertNull(pausaMonitorService.obterEstatisticas(1));
+        assertEquals(0, pausaMonitorService.estimarMemoriaBytes());
+    }
+
+    @Test
+    void testDetectorFundoIgnoraOscilacaoGlobalDeBrilho() {
+        Random random = new Random(23);
+        int pixels = 64 * 48;
+        byte[] base = new byte[pixels];
+        for (int i = 0; i < pixels; i++) {
+            base[i] = (byte) (60 + random.nextInt(120));
+        }
+        byte[] maisClaro = new byte[pixels];
+        for (int i = 0; i < pixels; i++) {
+            maisClaro[i] = (byte) ((base[i] & 0xFF) + 40);
+        }
+
+        ModeloFundo fundo = new ModeloFundo(base, pixels, ModeloFundo.pesoDaTaxa(0.05));
+        assertEquals(0, fundo.compararEAtualizar(base, LumaPipeline.LIMIAR_DIFERENCA));
+        // Comparação entre pares conta todos os pixels; o fundo desconta o deslocamento global
+        assertEquals(pixels, LumaPipeline.contarDiferencas(base, maisClaro, 64, 48));
+        assertEquals(0, fundo.compararEAtualizar(maisClaro, LumaPipeline.LIMIAR_DIFERENCA));
+
+        // Uma região que muda de verdade continua sendo detectada
+        byte[] comObjeto = maisClaro.clone();
+        for (int i = 0; i < pixels / 4; i++) {
+            comObjeto[i] = (byte) ((comObjeto[i] & 0xFF) > 128 ? 0 : 255);
+        }
+        assertTrue(fundo.compararEAtualizar(comObjeto, LumaPipeline.LIMIAR_DIFERENCA) >= pixels / 5);
+
+        assertThrows(IllegalArgumentException.class, () -> ModeloFundo.pesoDaTaxa(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> servico(0, 0, "outro"));
+    }
+
+    @Test
+    void testSessaoComDetectorFundo() throws Exception {
+        PausaMonitorService servico = servico(0, 0, "fundo");
+        BufferedImage frame = gerarImagem(160, 120, BufferedImage.TYPE_INT_RGB, new Random(29));
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(frame, "png", png);
+
+        assertTrue(servico.processarFrame(2, png.toByteArray()).isMovimentoDetectado());
+        PausaMonitorService.ResultadoMonitoramento segundo = servico.processarFrame(2, png.toByteArray());
+        assertFalse(segundo.isMovimentoDetectado());
+        assertEquals(0, segundo.getQuantidadeMovimento());
+        assertTrue(servico.estimarMemoriaBytes() >= 160 * 120 * 2);
+    }
+
+    @Test
+    void testFramesComHorarioDeCapturaDefinemAusencia() throws Exception {
+        ByteArrayOutputStream parado = new ByteArrayOutputStream();
+        ImageIO.write(gerarImagem(160, 120, BufferedImage.TYPE_INT_RGB, new Random(31)), "png", parado);
+        ByteArrayOutputStream outro = new ByteArrayOutputStream();
+        ImageIO.write(gerarImagem(160, 120, BufferedImage.TYPE_INT_RGB, new Random(37)), "png", outro);
+        LocalDateTime inicio = LocalDateTime.now().minusMinutes(30);
+        // Resolução de análise 160x120: limiar de movimento proporcional à área do frame
+        PausaMonitorService servico = servico(160, 120, "diferenca");
+
+        servico.processarFrame(3, new ByteArrayInputStream(parado.toByteArray()), inicio);
+        PausaMonitorService.ResultadoMonitoramento ausente = servico.processarFrame(3,
+                new ByteArrayInputStream(parado.toByteArray()), inicio.plusMinutes(6));
+        PausaMonitorService.ResultadoMonitoramento retorno = servico.processarFrame(3,
+                new ByteArrayInputStream(outro.toByteArray()), inicio.plusMinutes(7));
+
+        assertFalse(ausente.isPresente());
+        assertEquals(inicio.plusMinutes(6), ausente.getTimestamp());
+        assertTrue(retorno.isMovimentoDetectado());
+        assertTrue(retorno.isPresente());
+        assertEquals(1, retorno.getTotalPausas());
+    }
+
+    @Test
+    void testFramesDoMesmoUsuarioSaoSerializadosEForaDeOrdemDescartados() throws Exception {
+        PausaMonitorService servico = servico(160, 120, "diferenca");
+        ByteArrayOutputStream a = new ByteArrayOutputStream();
+        ImageIO.write(gerarImagem(160, 120, BufferedImage.TYPE_INT_RGB, new Random(41)), "png", a);
+        ByteArrayOutputStream b = new ByteArrayOutputStream();
+        ImageIO.write(gerarImagem(160, 120, BufferedImage.TYPE_INT_RGB, new Random(43)), "png", b);
+        LocalDateTime base = LocalDateTime.now().minusHours(1);
+
+        servico.processarFrame(4, new ByteArrayInputStream(a.toByteArray()), base.plusSeconds(10));
+        PausaMonitorService.ResultadoMonitoramento atrasado =
+                servico.processarFrame(4, new ByteArrayInputStream(b.toByteArray()), base);
+        assertTrue(atrasado.isDescartado());
+        assertFalse(atrasado.isMovimentoDetectado());
+        // O frame descartado não alterou a referência: o mesmo frame "a" continua sem movimento
+        assertFalse(servico.processarFrame(4, a.toByteArray()).isMovimentoDetectado());
+
+        // Vários frames simultâneos do mesmo usuário: cada um é processado ou descartado, nunca corrompe a sessão
+        int threads = 8;
+        int framesPorThread = 10;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<PausaMonitorService.ResultadoMonitoramento>> futuros = new ArrayList<>();
+            for (int i = 0; i < threads * framesPorThread; i++) {
+                byte[] frame = (i % 2 == 0 ? a : b).toByteArray();
+                futuros.add(executor.submit(() -> servico.processarFrame(5, frame)));
+            }
+            int processados = 0;
+            for (Future<PausaMonitorService.ResultadoMonitoramento> futuro : futuros) {
+                PausaMonitorService.ResultadoMonitoramento resultado = futuro.get();
+                assertFalse(resultado.isErro(), resultado.getMensagem());
+                if (!resultado.isDescartado()) {
+                    processados++;
+                }
+            }
+            assertTrue(processados > 0);
+            assertEquals(0, servico.obterEstatisticas(5).getTotalPausas());
+            assertEquals(0, servico.obterEstatisticas(5).getTempoSentadoMinutos());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testProximoQuadroRespeitaLimitesDeAusenciaEAlongamento() {
+        LocalDateTime inicio = LocalDateTime.now().minusHours(2);
+        PausaMonitorService.SessaoMonitoramento sessao = PausaMonitorService.SessaoMonitoramento.builder()
+                .inicioSessao(inicio)
+                .ultimoMovimento(inicio)
+                .build();
+
+        // Movimento: amostragem rápida
+        assertEquals(5, pausaMonitorService.calcularProximoQuadro(sessao, true, inicio));
+        // Parado: intervalo cresce com o tempo sem movimento, até 30s
+        assertEquals(10, pausaMonitorService.calcularProximoQuadro(sessao, false, inicio.plusSeconds(4)));
+        assertEquals(30, pausaMonitorService.calcularProximoQuadro(sessao, false, inicio.plusSeconds(120)));
+        // Perto do limite de ausência (300s): próximo frame exatamente no limite
+        assertEquals(8, pausaMonitorService.calcularProximoQuadro(sessao, false, inicio.plusSeconds(292)));
+
+        // Perto do minuto 60 (sugestão de alongamento): próximo frame no início do minuto
+        sessao.setUltimoMovimento(inicio.plusMinutes(59));
+        assertEquals(15, pausaMonitorService.calcularProximoQuadro(sessao, false, inicio.plusMinutes(59).plusSeconds(45)));
+        // Dentro do minuto 60 o próximo limite é o minuto 90
+        assertEquals(5, pausaMonitorService.calcularProximoQuadro(sessao, true, inicio.plusMinutes(60).plusSeconds(10)));
+        sessao.setUltimoMovimento(inicio.plusMinutes(89));
+        assertEquals(20, pausaMonitorService.calcularProximoQuadro(sessao, false, inicio.plusMinutes(89).plusSeconds(40)));
+
+        // Ausente: amostragem lenta, mais lenta após 20 minutos
+        sessao.setAusente(true);
+        sessao.setInicioAusencia(inicio.plusMinutes(95));
+        assertEquals(30, pausaMonitorService.calcularProximoQuadro(sessao, false, inicio.plusMinutes(100)));
+        assertEquals(60, pausaMonitorService.calcularProximoQuadro(sessao, false, inicio.plusMinutes(116)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSessaoRestauradaSemBloquearFrameEGravadaEmLote() throws Exception {
+        ArmazenamentoSessaoPausa armazenamento = mock(ArmazenamentoSessaoPausa.class);
+        CompletableFuture<Optional<PausaMonitorService.SessaoMonitoramento>> carregamento = new CompletableFuture<>();
+        when(armazenamento.carregar(eq(1), any())).thenReturn(carregamento);
+        PausaMonitorService servico = servico(0, 0, "diferenca");
+        servico.setArmazenamento(armazenamento);
+
+        BufferedImage frame = gerarImagem(160, 120, BufferedImage.TYPE_INT_RGB, new Random(5));
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(frame, "png", png);
+
+        // O frame não espera o carregamento da sessão salva
+        assertTrue(servico.processarFrame(1, png.toByteArray()).isMovimentoDetectado());
+        assertEquals(0, servico.obterEstatisticas(1).getTotalPausas());
+
+        // Restauração pendente: a sessão nova ainda não é gravada
+        servico.persistirSessoes();
+        verify(armazenamento, never()).salvar(any());
+
+        LocalDateTime inicioSalvo = LocalDateTime.now().minusMinutes(40);
+        carregamento.complete(Optional.of(PausaMonitorService.SessaoMonitoramento.builder()
+                .usuarioId(1)
+                .inicioSessao(inicioSalvo)
+                .ultimoMovimento(inicioSalvo.plusMinutes(30))
+                .tempoSentadoMinutos(30)
+                .totalPausas(2)
+                .build()));
+        assertEquals(inicioSalvo, servico.obterEstatisticas(1).getInicioSessao());
+        assertEquals(2, servico.obterEstatisticas(1).getTotalPausas());
+
+        servico.persistirSessoes();
+        ArgumentCaptor<List<PausaMonitorService.SessaoMonitoramento>> gravadas = ArgumentCaptor.forClass(List.class);
+        verify(armazenamento).salvar(gravadas.capture());
+        assertEquals(1, gravadas.getValue().size());
+        assertEquals(inicioSalvo, gravadas.getValue().get(0).getInicioSessao());
+
+        // Sem alterações desde a última gravação: nada a gravar
+        servico.persistirSessoes();
+        verify(armazenamento, times(1)).salvar(any());
+
+        servico.resetarSessao(1);
+        verify(armazenamento).encerrar(1);
+    }
+
+    @Test
+    void testResetSeguidoDeFrameNaoRestauraSessaoResetada() throws Exception {
+        // O armazenamento ainda devolve a sessão antiga (encerramento que não chegou ao banco)
+        ArmazenamentoSessaoPausa armazenamento = mock(ArmazenamentoSessaoPausa.class);
+        LocalDateTime inicioSalvo = LocalDateTime.now().minusMinutes(40);
+        when(armazenamento.carregar(eq(1), any())).thenReturn(CompletableFuture.completedFuture(Optional.of(
+                PausaMonitorService.SessaoMonitoramento.builder()
+                        .usuarioId(1)
+                        .inicioSessao(inicioSalvo)
+                        .ultimoMovimento(inicioSalvo.plusMinutes(30))
+                        .tempoSentadoMinutos(30)
+                        .totalPausas(2)
+                        .build())));
+        PausaMonitorService servico = servico(0, 0, "diferenca");
+        servico.setArmazenamento(armazenamento);
+
+        BufferedImage frame = gerarImagem(160, 120, BufferedImage.TYPE_INT_RGB, new Random(5));
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(frame, "png", png);
+
+        servico.resetarSessao(1);
+        servico.processarFrame(1, png.toByteArray());
+
+        verify(armazenamento).encerrar(1);
+        assertTrue(servico.obterEstatisticas(1).getInicioSessao().isAfter(inicioSalvo));
+        assertEquals(0, servico.obterEstatisticas(1).getTotalPausas());
+    }
+
+    @Test
+    void testRecorteDaRegiaoDeInteresseIgualAoFrameInteiro() {
+        BufferedImage frame = gerarImagem(200, 150, BufferedImage.TYPE_INT_RGB, new Random(23));
+        MascaraRoi mascara = new MascaraRoi(List.<double[][]>of(new double[][]{{0.3, 0.2}, {0.9, 0.4}, {0.5, 0.95}}));
+        MascaraRoi.Recorte recorte = mascara.recorte(200, 150, GAUSSIAN_BLUR_SIZE / 2);
+        assertTrue(recorte.largura < 200 && recorte.altura < 150);
+
+        byte[] inteiro = pausaMonitorService.extrairLumaBorrada(frame, 200, 150).clone();
+        byte[] recortado = pausaMonitorService.extrairLumaBorrada(frame, 200, 150, recorte);
+
+        // Dentro das regiões o valor é o mesmo do frame inteiro; fora, zero
+        int dentro = 0;
+        for (int y = 0; y < recorte.altura; y++) {
+            for (int x = 0; x < recorte.largura; x++) {
+                int valor = recortado[y * recorte.largura + x] & 0xFF;
+                if (valor != 0) {
+                    assertEquals(inteiro[(recorte.y + y) * 200 + recorte.x + x] & 0xFF, valor);
+                    dentro++;
+                }
+            }
+        }
+        assertEquals(recorte.pixels, dentro);
+    }
+
+    @Test
+    void testMovimentoForaDaRegiaoDeInteresseIgnorado() throws Exception {
+        BufferedImage base = gerarImagem(160, 120, BufferedImage.TYPE_INT_RGB, new Random(41));
+        BufferedImage esquerdaMudou = copiarComMetadeTrocada(base, 0, new Random(43));
+        BufferedImage direitaMudou = copiarComMetadeTrocada(base, 80, new Random(47));
+        PausaMonitorService servico = servico(160, 120, "diferenca");
+        servico.definirRegioesInteresse(4, List.<double[][]>of(PausaMonitorService.retangulo(0.6, 0, 0.4, 1)));
+
+        servico.processarFrame(4, png(base));
+        PausaMonitorService.ResultadoMonitoramento fora = servico.processarFrame(4, png(esquerdaMudou));
+        PausaMonitorService.ResultadoMonitoramento dentro = servico.processarFrame(4, png(direitaMudou));
+
+        assertFalse(fora.isMovimentoDetectado());
+        assertEquals(0, fora.getQuantidadeMovimento());
+        assertTrue(dentro.isMovimentoDetectado());
+        assertEquals(1, servico.obterRegioesInteresse(4).size());
+
+        servico.removerRegioesInteresse(4);
+        assertTrue(servico.obterRegioesInteresse(4).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> servico.definirRegioesInteresse(4, List.<double[][]>of(new double[][]{{0, 0}, {1.5, 0}, {0, 1}})));
+    }
+
+    @Test
+    void testRegioesGravadasValemNoNoQueAssumeOUsuario() throws Exception {
+        BufferedImage base = gerarImagem(160, 120, BufferedImage.TYPE_INT_RGB, new Random(41));
+        BufferedImage esquerdaMudou = copiarComMetadeTrocada(base, 0, new Random(43));
+        ArmazenamentoSessaoPausa compartilhado = new ArmazenamentoSessaoPausaMemoria(60, 100);
+
+        // O nó A recebe as regiões; o nó B assume o usuário sem nunca ter recebido o PUT
+        PausaMonitorService noA = servico(160, 120, "diferenca");
+        noA.setArmazenamento(compartilhado);
+        noA.definirRegioesInteresse(4, List.<double[][]>of(PausaMonitorService.retangulo(0.6, 0, 0.4, 1)));
+        PausaMonitorService noB = servico(160, 120, "diferenca");
+        noB.setArmazenamento(compartilhado);
+
+        PausaMonitorService.ResultadoMonitoramento primeiro = noB.processarFrame(4, png(base));
+        PausaMonitorService.ResultadoMonitoramento segundo = noB.processarFrame(4, png(base));
+        PausaMonitorService.ResultadoMonitoramento fora = noB.processarFrame(4, png(esquerdaMudou));
+
+        // O primeiro frame da sessão nova ainda usa o frame inteiro e informa isso
+        assertFalse(primeiro.isRegioesInteresseAplicadas());
+        assertTrue(segundo.isRegioesInteresseAplicadas());
+        assertFalse(fora.isMovimentoDetectado());
+        assertEquals(1, noB.obterRegioesInteresse(4).size());
+
+        // Remoção também vale para os outros nós a partir da próxima sessão
+        noA.removerRegioesInteresse(4);
+        noB.resetarSessao(4);
+        noB.processarFrame(4, png(base));
+        assertTrue(noB.obterRegioesInteresse(4).isEmpty());
+        assertFalse(noB.processarFrame(4, png(base)).isRegioesInteresseAplicadas());
+    }
+
+    @Test
+    void testRegioesSobrepostasComSentidosOpostosFormamUniao() {
+        double[][] horario = PausaMonitorService.retangulo(0, 0, 0.5, 0.5);
+        double[][] antiHorario = {{0.25, 0.25}, {0.25, 0.75}, {0.75, 0.75}, {0.75, 0.25}};
+        MascaraRoi.Recorte recorte = new MascaraRoi(List.of(horario, antiHorario)).recorte(100, 100, 0);
+
+        // União: 2500 + 2500 - 625 (sobreposição) pixels; com a sobreposição como buraco seriam 3750
+        assertTrue(Math.abs(recorte.pixels - 4375) < 150, "pixels: " + recorte.pixels);
+    }
+
+    @Test
+    void testRegiaoSemPixelsRejeitada() {
+        PausaMonitorService servico = servico(160, 120, "diferenca");
+        // Pontos alinhados: sem área
+        assertThrows(IllegalArgumentException.class,
+                () -> servico.definirRegioesInteresse(4, List.<double[][]>of(new double[][]{{0, 0}, {0.5, 0.5}, {1, 1}})));
+        // Área menor que um pixel na resolução de análise
+        assertThrows(IllegalArgumentException.class,
+                () -> servico.definirRegioesInteresse(4, List.<double[][]>of(PausaMonitorService.retangulo(0.5, 0.5, 0.001, 0.001))));
+        assertTrue(servico.obterRegioesInteresse(4).isEmpty());
+    }
+
+    private BufferedImage copiarComMetadeTrocada(BufferedImage base, int inicioX, Random random) {
+        BufferedImage copia = new BufferedImage(base.getWidth(), base.getHeight(), BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < base.getHeight(); y++) {
+            for (int x = 0; x < base.getWidth(); x++) {
+                boolean trocar = x >= inicioX && x < inicioX + base.getWidth() / 2;
+                copia.setRGB(x, y, trocar ? random.nextInt(0xFFFFFF) : base.getRGB(x, y));
+            }
+        }
+        return copia;
+    }
+
+    private byte[] png(BufferedImage imagem) throws Exception {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(imagem, "png", png);
+        return png.toByteArray();
+    }
+
+    private BufferedImage gerarImagem(int width, int height, int tipo, Random random) {
+        BufferedImage imagem = new BufferedImage(width, height, tipo);
+        // Blocos de cor sólida geram diferenças reais depois do blur (ruído puro some na média)
+        int bloco = 8;
+        for (int by = 0; by < height; by += bloco) {
+            for (int bx = 0; bx < width; bx += bloco) {
+                int argb = random.nextInt();
+                for (int y = by; y < Math.min(by + bloco, height); y++) {
+                    for (int x = bx; x < Math.min(bx + bloco, width); x++) {
+                        imagem.setRGB(x, y, argb);
+                    }
+                }
+            }
+        }
+        return imagem;
+    }
+
+    /**
+     * Cálculo original (imagens novas por frame, getRGB por amostra), usado como referência de equivalência
+     */
+    private int diferencaReferencia(BufferedImage frame1, BufferedImage frame2) {
+        int width = Math.min(frame1.getWidth(), frame2.getWidth());
+        int height = Math.min(frame1.getHeight(), frame2.getHeight());
+        BufferedImage blur1 = blurReferencia(cinzaReferencia(frame1, width, height));
+        BufferedImage blur2 = blurReferencia(cinzaReferencia(frame2, width, height));
+
+        int diferencaTotal = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (Math.abs((blur1.getRGB(x, y) & 0xFF) - (blur2.getRGB(x, y) & 0xFF)) > 25) {
+                    diferencaTotal++;
+                }
+            }
+        }
+        return diferencaTotal;
+    }
+
+    private BufferedImage cinzaReferencia(BufferedImage original, int width, int height) {
+        BufferedImage gray = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g = gray.createGraphics();
+        g.drawImage(original, 0, 0, width, height, null);
+        g.dispose();
+        return gray;
+    }
+
+    private BufferedImage blurReferencia(BufferedImage original) {
+        int width = original.getWidth();
+        int height = original.getHeight();
+        BufferedImage blurred = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        int radius = GAUSSIAN_BLUR_SIZE / 2;
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                long soma = 0;
+                int count = 0;
+                for (int ky = -radius; ky <= radius; ky++) {
+                    for (int kx = -radius; kx <= radius; kx++) {
+                        int px = x + kx;
+                        int py = y + ky;
+                        if (px >= 0 && px < width && py >= 0 && py < height) {
+                            soma += original.getRGB(px, py) & 0xFF;
+                            count++;
+                        }
+                    }
+                }
+                int media = (int) (soma / count);
+                blurred.setRGB(x, y, (media << 16) | (media << 8) | media);
+            }
+        }
+        return blurred;
+    }
+}
@@ -0,0 +1,45 @@
+package com.nexus.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoteamentoSessaoPausaTest {
+
+    @Test
+    void testSemClusterNaoHaDica() {
+        RoteamentoSessaoPausa roteamento = new RoteamentoSessaoPausa("", "", 128);
+        assertTrue(roteamento.noResponsavel(1).isEmpty());
+        assertTrue(roteamento.responsavelLocal(1));
+    }
+
+    @Test
+    void testAdicionarNoMoveApenasParteDosUsuarios() {
+        List<String> nos = List.of("nexus-1", "nexus-2", "nexus-3");
+        RoteamentoSessaoPausa tres = new RoteamentoSessaoPausa(nos, "nexus-1", 128);
+        RoteamentoSessaoPausa outraInstancia = new RoteamentoSessaoPausa(nos, "nexus-2", 128);
+        RoteamentoSessaoPausa quatro = new RoteamentoSessaoPausa(List.of("nexus-1", "nexus-2", "nexus-3", "nexus-4"), "nexus-1", 128);
+
+        int usuarios = 10_000;
+        int[] porNo = new int[nos.size()];
+        int movidos = 0;
+        for (int usuarioId = 1; usuarioId <= usuarios; usuarioId++) {
+            String no = tres.noResponsavel(usuarioId).orElseThrow();
+            porNo[nos.indexOf(no)]++;
+            // Mesma resposta em qualquer instância com a mesma configuração
+            assertEquals(no, outraInstancia.noResponsavel(usuarioId).orElseThrow());
+            String novo = quatro.noResponsavel(usuarioId).orElseThrow();
+            if (!novo.equals(no)) {
+                assertEquals("nexus-4", novo);
+                movidos++;
+            }
+        }
+
+        for (int total : porNo) {
+            assertTrue(total > usuarios / 3 * 0.7, "Distribuição desigual: " + total);
+        }
+        assertTrue(movidos > usuarios / 4 * 0.6 && movidos < usuarios / 4 * 1.4, "Usuários movidos: " + movidos);
+    }
+}
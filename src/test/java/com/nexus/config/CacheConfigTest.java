@@ -0,0 +1,105 @@
+package com.nexus.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.nexus.application.dto.HumorDTO;
+import com.nexus.config.CachePoliticasProperties.Politica;
+import com.nexus.modules.cache.service.EstimadorPesoCache;
+import com.nexus.modules.cache.service.RecarregadorCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    @Test
+    void testPesoProporcionalAoTamanhoDaPagina() {
+        long umaLinha = EstimadorPesoCache.estimar(pagina(1));
+        long duzentasLinhas = EstimadorPesoCache.estimar(pagina(200));
+
+        assertTrue(umaLinha > 0);
+        assertTrue(duzentasLinhas > umaLinha * 50, "200 linhas: " + duzentasLinhas + ", 1 linha: " + umaLinha);
+    }
+
+    @Test
+    void testCachePorPesoDescartaPaginasGrandes() {
+        Politica politica = new Politica();
+        politica.setPesoMaximo(DataSize.ofKilobytes(64));
+        Cache<Object, Object> cache = CacheConfig.criarCache("humor", politica, null, null);
+
+        for (int usuario = 1; usuario <= 20; usuario++) {
+            cache.put(usuario + ":0:200:UNSORTED", pagina(200));
+        }
+        cache.cleanUp();
+
+        assertTrue(cache.estimatedSize() < 20, "entradas: " + cache.estimatedSize());
+        assertTrue(cache.policy().eviction().orElseThrow().weightedSize().orElseThrow() <= 64 * 1024);
+    }
+
+    @Test
+    void testPoliticaHerdaDoPadraoEValidacao() {
+        CachePoliticasProperties propriedades = new CachePoliticasProperties();
+        Politica humor = new Politica();
+        humor.setPesoMaximo(DataSize.ofMegabytes(1));
+        propriedades.getPoliticas().put("humor", humor);
+        Politica badges = new Politica();
+        badges.setAtualizarAposEscrita(java.time.Duration.ofHours(1));
+        propriedades.getPoliticas().put("badges", badges);
+        propriedades.getPoliticas().put("humr", new Politica());
+
+        Politica efetiva = propriedades.politicaDe("humor");
+        assertNull(efetiva.getTamanhoMaximo());
+        assertEquals(propriedades.getPadrao().getExpirarAposEscrita(), efetiva.getExpirarAposEscrita());
+
+        List<String> avisos = CacheConfig.validar(propriedades, List.of("humor", "badges"), Map.of());
+        assertTrue(avisos.stream().anyMatch(a -> a.contains("'humr'")));
+        assertTrue(avisos.stream().anyMatch(a -> a.contains("'badges'") && a.contains("RecarregadorCache")));
+
+        humor.setTamanhoMaximo(10L);
+        assertThrows(IllegalStateException.class,
+                () -> CacheConfig.validar(propriedades, List.of("humor", "badges"), Map.of()));
+    }
+
+    @Test
+    void testAtualizacaoEmSegundoPlanoUsaRecarregador() {
+        Politica politica = new Politica();
+        politica.setTamanhoMaximo(10L);
+        politica.setAtualizarAposEscrita(java.time.Duration.ofMillis(1));
+        RecarregadorCache recarregador = new RecarregadorCache() {
+            @Override
+            public String cacheName() {
+                return "badges";
+            }
+
+            @Override
+            public Object recarregar(Object chave) {
+                return "novo";
+            }
+        };
+        Cache<Object, Object> cache = CacheConfig.criarCache("badges", politica, recarregador, null);
+        cache.put("todos", "antigo");
+
+        long limite = System.currentTimeMillis() + 5000;
+        while (!"novo".equals(cache.getIfPresent("todos")) && System.currentTimeMillis() < limite) {
+            Thread.onSpinWait();
+        }
+        assertEquals("novo", cache.getIfPresent("todos"));
+    }
+
+    private static Page<HumorDTO> pagina(int linhas) {
+        List<HumorDTO> conteudo = new ArrayList<>();
+        for (int i = 0; i < linhas; i++) {
+            conteudo.add(HumorDTO.builder().idHumor(i).idUsuario(1).dataRegistro(LocalDate.now())
+                    .nivelHumor(3).nivelEnergia(4).comentario("Dia produtivo " + i).build());
+        }
+        return new PageImpl<>(conteudo, PageRequest.of(0, Math.max(1, linhas)), linhas);
+    }
+}
@@ -0,0 +1,101 @@
+package com.nexus.infrastructure.repository;
+
+import com.nexus.ai.PausaMonitorService.SessaoMonitoramento;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArmazenamentoSessaoPausaJdbcTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ArmazenamentoSessaoPausaJdbc armazenamento;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:sessoes_pausa;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE t_mt_sessoes_pausa (" +
+                "id_sessao INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                "id_usuario INTEGER NOT NULL, inicio_sessao TIMESTAMP NOT NULL, ultimo_movimento TIMESTAMP, " +
+                "ausente BOOLEAN NOT NULL, inicio_ausencia TIMESTAMP, tempo_sentado_minutos INTEGER, " +
+                "total_pausas INTEGER, encerrada BOOLEAN NOT NULL, atualizado_em TIMESTAMP NOT NULL, " +
+                "CONSTRAINT uk_sessao_pausa_usuario_inicio UNIQUE (id_usuario, inicio_sessao))");
+        jdbcTemplate.execute("CREATE TABLE t_mt_regioes_pausa (id_usuario INTEGER PRIMARY KEY, " +
+                "poligonos CLOB NOT NULL, atualizado_em TIMESTAMP NOT NULL)");
+        armazenamento = new ArmazenamentoSessaoPausaJdbc(jdbcTemplate, 2, 1, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        armazenamento.finalizar();
+        jdbcTemplate.execute("DROP TABLE t_mt_sessoes_pausa");
+        jdbcTemplate.execute("DROP TABLE t_mt_regioes_pausa");
+    }
+
+    @Test
+    void testGravaEmLoteERestauraUltimaSessaoAberta() throws Exception {
+        LocalDateTime inicio = LocalDateTime.now().minusMinutes(40).truncatedTo(ChronoUnit.SECONDS);
+        armazenamento.salvar(List.of(sessao(1, inicio, 10, 0), sessao(2, inicio, 5, 1), sessao(3, inicio, 1, 0)));
+        // Mesma sessão (usuário + início): atualiza a linha em vez de inserir outra
+        armazenamento.salvar(List.of(sessao(1, inicio, 30, 2)));
+
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM t_mt_sessoes_pausa", Integer.class));
+        Optional<SessaoMonitoramento> restaurada = armazenamento.carregar(1, LocalDateTime.now().minusMinutes(60)).get();
+        assertTrue(restaurada.isPresent());
+        assertEquals(inicio, restaurada.get().getInicioSessao());
+        assertEquals(30, restaurada.get().getTempoSentadoMinutos());
+        assertEquals(2, restaurada.get().getTotalPausas());
+
+        // Sessão sem gravação desde o limite de ociosidade não é restaurada
+        assertTrue(armazenamento.carregar(1, LocalDateTime.now().plusMinutes(1)).get().isEmpty());
+        assertTrue(armazenamento.carregar(99, LocalDateTime.now().minusMinutes(60)).get().isEmpty());
+    }
+
+    @Test
+    void testSessaoEncerradaNaoERestaurada() throws Exception {
+        LocalDateTime inicio = LocalDateTime.now().minusMinutes(10).truncatedTo(ChronoUnit.SECONDS);
+        armazenamento.salvar(List.of(sessao(1, inicio, 10, 0)));
+
+        armazenamento.encerrar(1);
+
+        // Encerramento síncrono: a restauração seguinte já não encontra a sessão
+        assertTrue(armazenamento.carregar(1, inicio).get().isEmpty());
+        // O histórico continua na tabela
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM t_mt_sessoes_pausa", Integer.class));
+    }
+
+    @Test
+    void testRegioesDeInteresseGravadasRestauradasERemovidas() throws Exception {
+        double[][] triangulo = {{0.1, 0.2}, {0.9, 0.2}, {0.5, 0.85}};
+        double[][] retangulo = {{0, 0}, {0.25, 0}, {0.25, 1}, {0, 1}};
+        armazenamento.salvarRegioes(1, List.<double[][]>of(triangulo));
+        armazenamento.salvarRegioes(1, List.of(triangulo, retangulo));
+
+        List<double[][]> restauradas = armazenamento.carregarRegioes(1).get().orElseThrow();
+        assertEquals(2, restauradas.size());
+        assertArrayEquals(triangulo, restauradas.get(0));
+        assertArrayEquals(retangulo, restauradas.get(1));
+        assertTrue(armazenamento.carregarRegioes(2).get().isEmpty());
+
+        armazenamento.salvarRegioes(1, List.of());
+        assertTrue(armazenamento.carregarRegioes(1).get().isEmpty());
+    }
+
+    private SessaoMonitoramento sessao(int usuarioId, LocalDateTime inicio, int tempoSentado, int pausas) {
+        return SessaoMonitoramento.builder()
+                .usuarioId(usuarioId)
+                .inicioSessao(inicio)
+                .ultimoMovimento(inicio.plusMinutes(tempoSentado))
+                .tempoSentadoMinutos(tempoSentado)
+                .totalPausas(pausas)
+                .build();
+    }
+}
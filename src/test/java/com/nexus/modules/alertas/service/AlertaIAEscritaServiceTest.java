@@ -0,0 +1,110 @@
+package com.nexus.modules.alertas.service;
+
+import com.nexus.domain.model.AlertaIA;
+import com.nexus.domain.model.Usuario;
+import com.nexus.infrastructure.repository.AlertaIARepository;
+import com.nexus.infrastructure.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlertaIAEscritaServiceTest {
+
+    @Mock
+    private AlertaIARepository alertaIARepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AlertaIAEscritaService alertaIAEscritaService;
+
+    @BeforeEach
+    void setUp() {
+        alertaIAEscritaService = new AlertaIAEscritaService(alertaIARepository, usuarioRepository,
+                transactionManager, 30, 100, 2);
+    }
+
+    @Test
+    void testMesmoEventoGeraUmUnicoAlerta() {
+        LocalDate hoje = LocalDate.now();
+
+        // Vários frames no mesmo minuto de sugestão (bloco 2 = 60 minutos)
+        assertTrue(alertaIAEscritaService.registrar(1, "PAUSA_SUGERIDA", 2, "60 minutos", 2, hoje));
+        assertFalse(alertaIAEscritaService.registrar(1, "PAUSA_SUGERIDA", 2, "60 minutos", 2, hoje));
+        assertFalse(alertaIAEscritaService.registrar(1, "PAUSA_SUGERIDA", 2, "60 minutos", 2, hoje));
+        // Outro usuário e o próximo bloco do mesmo usuário são eventos novos
+        assertTrue(alertaIAEscritaService.registrar(2, "PAUSA_SUGERIDA", 2, "60 minutos", 2, hoje));
+        assertTrue(alertaIAEscritaService.registrar(1, "PAUSA_SUGERIDA", 3, "90 minutos", 2, hoje));
+
+        assertEquals(3, alertaIAEscritaService.pendentes());
+        verifyNoInteractions(alertaIARepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGravaPendentesEmLotes() {
+        when(usuarioRepository.getReferenceById(anyInt()))
+                .thenAnswer(invocation -> Usuario.builder().idUsuario(invocation.getArgument(0)).build());
+        for (int usuario = 1; usuario <= 3; usuario++) {
+            alertaIAEscritaService.registrar(usuario, "PAUSA_SUGERIDA", 2, "60 minutos", 2, LocalDate.now());
+        }
+
+        alertaIAEscritaService.gravarPendentes();
+
+        ArgumentCaptor<List<AlertaIA>> lotes = ArgumentCaptor.forClass(List.class);
+        verify(alertaIARepository, times(2)).saveAll(lotes.capture());
+        assertEquals(2, lotes.getAllValues().get(0).size());
+        assertEquals(1, lotes.getAllValues().get(1).size());
+        assertEquals("PAUSA_SUGERIDA", lotes.getAllValues().get(0).get(0).getTipoAlerta());
+        assertEquals(0, alertaIAEscritaService.pendentes());
+
+        alertaIAEscritaService.gravarPendentes();
+        verify(alertaIARepository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    void testFilaCheiaNaoBloqueiaOEvento() {
+        AlertaIAEscritaService comFilaCurta = new AlertaIAEscritaService(alertaIARepository, usuarioRepository,
+                transactionManager, 30, 1, 2);
+        LocalDate hoje = LocalDate.now();
+
+        assertTrue(comFilaCurta.registrar(1, "PAUSA_SUGERIDA", 2, "60 minutos", 2, hoje));
+        assertFalse(comFilaCurta.registrar(2, "PAUSA_SUGERIDA", 2, "60 minutos", 2, hoje));
+
+        // Com espaço na fila, o próximo frame do evento descartado gera o registro
+        comFilaCurta.gravarPendentes();
+        assertTrue(comFilaCurta.registrar(2, "PAUSA_SUGERIDA", 2, "60 minutos", 2, hoje));
+        assertFalse(comFilaCurta.registrar(2, "PAUSA_SUGERIDA", 2, "60 minutos", 2, hoje));
+    }
+
+    @Test
+    void testLoteComErroLiberaOsEventos() {
+        when(usuarioRepository.getReferenceById(anyInt()))
+                .thenAnswer(invocation -> Usuario.builder().idUsuario(invocation.getArgument(0)).build());
+        when(alertaIARepository.saveAll(anyList())).thenThrow(new RuntimeException("banco indisponível"));
+        LocalDate hoje = LocalDate.now();
+        assertTrue(alertaIAEscritaService.registrar(1, "PAUSA_SUGERIDA", 2, "60 minutos", 2, hoje));
+
+        alertaIAEscritaService.gravarPendentes();
+
+        assertTrue(alertaIAEscritaService.registrar(1, "PAUSA_SUGERIDA", 2, "60 minutos", 2, hoje),
+                "o evento do lote perdido deve poder ser registrado de novo");
+        assertEquals(1, alertaIAEscritaService.pendentes());
+    }
+}
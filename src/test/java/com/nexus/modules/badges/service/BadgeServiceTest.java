@@ -0,0 +1,76 @@
+package com.nexus.modules.badges.service;
+
+import com.nexus.application.mapper.BadgeMapper;
+import com.nexus.domain.model.Badge;
+import com.nexus.infrastructure.repository.BadgeRepository;
+import com.nexus.messaging.events.InvalidacaoCacheEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BadgeServiceTest {
+
+    @Mock
+    private BadgeRepository badgeRepository;
+
+    private BadgeService badgeService;
+
+    @BeforeEach
+    void setUp() {
+        badgeService = new BadgeService(badgeRepository, Mappers.getMapper(BadgeMapper.class));
+    }
+
+    @Test
+    void testCargaAntigaNaoSobrescreveRecargaMaisNova() throws Exception {
+        CountDownLatch leituraAntigaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarLeituraAntiga = new CountDownLatch(1);
+        AtomicInteger leituras = new AtomicInteger();
+        when(badgeRepository.findAll()).thenAnswer(invocation -> {
+            if (leituras.incrementAndGet() == 1) {
+                leituraAntigaIniciada.countDown();
+                assertTrue(liberarLeituraAntiga.await(5, TimeUnit.SECONDS));
+                return List.of(badge(1, 10));
+            }
+            return List.of(badge(1, 10), badge(2, 50));
+        });
+
+        // Primeiro uso lento, ultrapassado pela recarga pós-commit de uma escrita
+        CompletableFuture<CatalogoBadges> primeiroUso = CompletableFuture.supplyAsync(badgeService::catalogo);
+        assertTrue(leituraAntigaIniciada.await(5, TimeUnit.SECONDS));
+        assertEquals(2, badgeService.recarregarCatalogo().tamanho());
+        liberarLeituraAntiga.countDown();
+
+        assertEquals(2, primeiroUso.get(5, TimeUnit.SECONDS).tamanho());
+        assertEquals(2, badgeService.catalogo().tamanho());
+        verify(badgeRepository, times(2)).findAll();
+    }
+
+    @Test
+    void testInvalidacaoRemotaDescartaIndice() {
+        when(badgeRepository.findAll()).thenReturn(List.of(badge(1, 10)), List.of(badge(1, 10), badge(2, 50)));
+
+        assertEquals(1, badgeService.catalogo().tamanho());
+        assertEquals(1, badgeService.catalogo().tamanho());
+        badgeService.aoInvalidarCache(new InvalidacaoCacheEvent("outro-no", "badges", InvalidacaoCacheEvent.Tipo.TUDO, null));
+
+        assertEquals(2, badgeService.catalogo().tamanho());
+        verify(badgeRepository, times(2)).findAll();
+    }
+
+    private static Badge badge(int id, int pontos) {
+        return Badge.builder().idBadge(id).nomeBadge("Badge " + id).pontosRequeridos(pontos).build();
+    }
+}
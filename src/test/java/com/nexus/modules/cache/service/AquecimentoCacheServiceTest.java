@@ -0,0 +1,126 @@
+package com.nexus.modules.cache.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nexus.application.dto.HumorDTO;
+import com.nexus.messaging.events.InvalidacaoCacheEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AquecimentoCacheServiceTest {
+
+    @TempDir
+    Path pasta;
+
+    @Test
+    void testSnapshotGravadoNoDesligamentoVoltaNaSubida() throws Exception {
+        Path arquivo = pasta.resolve("snapshot.bin");
+        CaffeineCacheManager antes = gerenciador();
+        antes.getCache("humor-id").put(1, humor(1));
+        antes.getCache("humor-id").put(2, humor(2));
+        antes.getCache("humor-id").put(3, new Object()); // não serializável: fica de fora
+
+        assertEquals(2, servico(antes, arquivo, Duration.ofMinutes(15)).salvar());
+
+        CaffeineCacheManager depois = gerenciador();
+        Cache cache = depois.getCache("humor-id");
+        cache.put(2, humor(20)); // carregado depois da subida: o snapshot não sobrescreve
+
+        assertEquals(1, servico(depois, arquivo, Duration.ofMinutes(15)).carregar());
+        assertEquals(humor(1), cache.get(1).get());
+        assertEquals(humor(20), cache.get(2).get());
+        assertNull(cache.get(3));
+        assertFalse(Files.exists(arquivo), "o snapshot é apagado depois de lido");
+    }
+
+    @Test
+    void testSnapshotVelhoEDescartado() throws Exception {
+        Path arquivo = pasta.resolve("snapshot.bin");
+        CaffeineCacheManager antes = gerenciador();
+        antes.getCache("humor-id").put(1, humor(1));
+        servico(antes, arquivo, Duration.ZERO).salvar();
+        Thread.sleep(5);
+
+        CaffeineCacheManager depois = gerenciador();
+        assertEquals(0, servico(depois, arquivo, Duration.ZERO).carregar());
+        assertNull(depois.getCache("humor-id").get(1));
+    }
+
+    @Test
+    void testInvalidacaoDuranteAquecimentoVenceOSnapshot() throws Exception {
+        Path arquivo = pasta.resolve("snapshot.bin");
+        CaffeineCacheManager antes = gerenciador();
+        antes.getCache("humor-id").put(1, new LeituraLenta());
+        antes.getCache("humor-id").put(2, humor(2));
+        antes.getCache("humor-id").put(3, humor(3));
+        assertEquals(3, servico(antes, arquivo, Duration.ofMinutes(15)).salvar());
+
+        CaffeineCacheManager depois = gerenciador();
+        AquecimentoCacheService servico = servico(depois, arquivo, Duration.ofMinutes(15));
+        CompletableFuture<Integer> aquecimento = CompletableFuture.supplyAsync(() -> {
+            try {
+                return servico.carregar();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        // Com a leitura do snapshot parada no meio, as duas chaves são alteradas e invalidadas
+        assertTrue(LeituraLenta.LENDO.await(5, TimeUnit.SECONDS));
+        servico.aoInvalidarCache(new InvalidacaoCacheEvent("outro-no", "humor-id", InvalidacaoCacheEvent.Tipo.CHAVE, "1"));
+        servico.aoInvalidarCache(new InvalidacaoCacheEvent("outro-no", "humor-id", InvalidacaoCacheEvent.Tipo.PREFIXO, "2"));
+        LeituraLenta.LIBERAR.countDown();
+
+        aquecimento.get(5, TimeUnit.SECONDS);
+        Cache cache = depois.getCache("humor-id");
+        assertNull(cache.get(1), "entrada invalidada enquanto era relida não pode voltar");
+        assertNull(cache.get(2), "entrada invalidada durante o aquecimento não pode voltar");
+        assertEquals(humor(3), cache.get(3).get());
+    }
+
+    private static CaffeineCacheManager gerenciador() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager("humor-id");
+        cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(100));
+        return cacheManager;
+    }
+
+    private static AquecimentoCacheService servico(CaffeineCacheManager cacheManager, Path arquivo, Duration idadeMaxima) {
+        return new AquecimentoCacheService(cacheManager, arquivo, 500, idadeMaxima, Duration.ofSeconds(5));
+    }
+
+    private static HumorDTO humor(int id) {
+        return HumorDTO.builder().idHumor(id).idUsuario(1).dataRegistro(LocalDate.of(2026, 10, 17))
+                .nivelHumor(4).nivelEnergia(3).build();
+    }
+
+    /**
+     * Valor cuja desserialização (na leitura do snapshot) espera o teste liberar
+     */
+    private static class LeituraLenta implements Serializable {
+        private static final CountDownLatch LENDO = new CountDownLatch(1);
+        private static final CountDownLatch LIBERAR = new CountDownLatch(1);
+
+        private void readObject(ObjectInputStream entrada) throws IOException, ClassNotFoundException {
+            entrada.defaultReadObject();
+            LENDO.countDown();
+            try {
+                LIBERAR.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
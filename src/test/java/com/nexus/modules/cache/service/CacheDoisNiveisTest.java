@@ -0,0 +1,227 @@
+package com.nexus.modules.cache.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nexus.application.dto.HumorDTO;
+import com.nexus.infrastructure.repository.ArmazenamentoCacheL2Jdbc;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Dois "nós" com L1 próprio, o mesmo L2 (H2) e um barramento que entrega as invalidações a ambos
+ */
+class CacheDoisNiveisTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private final List<ArmazenamentoCacheL2Jdbc> armazenamentos = new CopyOnWriteArrayList<>();
+    private final List<CacheDoisNiveis> nos = new CopyOnWriteArrayList<>();
+    private CacheDoisNiveis noA;
+    private CacheDoisNiveis noB;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:cache_l2;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE t_mt_cache_l2 (" +
+                "id_entrada BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                "nome_cache VARCHAR(50) NOT NULL, chave VARCHAR(500) NOT NULL, valor BLOB NOT NULL, " +
+                "expira_em TIMESTAMP NOT NULL, CONSTRAINT uk_cache_l2_nome_chave UNIQUE (nome_cache, chave))");
+        BarramentoInvalidacaoCache barramento = evento -> nos.forEach(no -> no.aplicarRemota(evento));
+        noA = no("a", barramento);
+        noB = no("b", barramento);
+    }
+
+    @AfterEach
+    void tearDown() {
+        armazenamentos.forEach(ArmazenamentoCacheL2Jdbc::finalizar);
+        jdbcTemplate.execute("DROP TABLE t_mt_cache_l2");
+    }
+
+    @Test
+    void testSegundoNoLeDoL2EInvalidacaoChegaAosDois() throws Exception {
+        String chave = CacheService.chavePagina(1, PageRequest.of(0, 10));
+        AtomicInteger consultas = new AtomicInteger();
+
+        noA.get(chave, () -> pagina(consultas.incrementAndGet()));
+        aguardarL2(1);
+        Object lidoPorB = noB.get(chave, () -> pagina(consultas.incrementAndGet()));
+
+        assertEquals(1, consultas.get(), "o segundo nó deve usar o L2 em vez de consultar o banco");
+        assertEquals(pagina(1), lidoPorB);
+        assertNotNull(noB.get(chave));
+
+        noA.evictarPorPrefixo("1:");
+
+        assertNull(noA.get(chave));
+        assertNull(noB.get(chave), "a invalidação deve remover a cópia local do outro nó");
+        assertEquals(0, contarL2());
+    }
+
+    @Test
+    void testValorNaoSerializavelFicaSoNoL1() throws Exception {
+        noA.put("1:0:10:UNSORTED", new Object());
+        Thread.sleep(100);
+
+        assertNotNull(noA.get("1:0:10:UNSORTED"));
+        assertEquals(0, contarL2());
+        assertNull(noB.get("1:0:10:UNSORTED"));
+    }
+
+    @Test
+    void testFaltaConcorrenteExecutaUmaCargaSo() throws Exception {
+        String chave = CacheService.chavePagina(1, PageRequest.of(0, 10));
+        AtomicInteger consultas = new AtomicInteger();
+        CountDownLatch cargaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarCarga = new CountDownLatch(1);
+        int chamadores = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(chamadores);
+        try {
+            Future<Object> primeiro = pool.submit(() -> noA.get(chave, () -> {
+                cargaIniciada.countDown();
+                liberarCarga.await();
+                return pagina(consultas.incrementAndGet());
+            }));
+            assertTrue(cargaIniciada.await(5, TimeUnit.SECONDS));
+
+            List<Future<Object>> demais = new ArrayList<>();
+            for (int i = 1; i < chamadores; i++) {
+                demais.add(pool.submit(() -> noA.get(chave, () -> pagina(consultas.incrementAndGet()))));
+            }
+            Thread.sleep(200);
+            liberarCarga.countDown();
+
+            assertEquals(pagina(1), primeiro.get(5, TimeUnit.SECONDS));
+            for (Future<Object> resultado : demais) {
+                assertEquals(pagina(1), resultado.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, consultas.get(), "só o primeiro chamador deve consultar o banco");
+        assertEquals(chamadores - 1, noA.getCargasSuprimidas());
+    }
+
+    @Test
+    void testGravacaoNaFilaDescartadaQuandoEvictChegaAntes() throws Exception {
+        String chave = CacheService.chavePagina(1, PageRequest.of(0, 10));
+        ValorLento bloqueio = new ValorLento();
+        // Ocupa a única thread de gravação para que o put fique na fila
+        noA.put("2:0:10:UNSORTED", bloqueio);
+        assertTrue(bloqueio.serializando.await(5, TimeUnit.SECONDS));
+
+        noA.put(chave, pagina(1));
+        noA.evict(chave);
+        bloqueio.liberar.countDown();
+        aguardarL2(1);
+        Thread.sleep(100);
+
+        assertEquals(0, contarChaveL2(chave), "o evict posterior deve vencer a gravação que estava na fila");
+        assertNull(noB.get(chave));
+    }
+
+    @Test
+    void testEvictDuranteGravacaoApagaOValorAntigo() throws Exception {
+        String chave = CacheService.chavePagina(1, PageRequest.of(0, 10));
+        ValorLento antigo = new ValorLento();
+        // A gravação já passou pela verificação e está serializando quando o evict acontece
+        noA.put(chave, antigo);
+        assertTrue(antigo.serializando.await(5, TimeUnit.SECONDS));
+
+        noA.evict(chave);
+        antigo.liberar.countDown();
+        Thread.sleep(200);
+
+        assertEquals(0, contarChaveL2(chave), "o valor antigo não pode voltar ao L2 depois do evict");
+        assertNull(noB.get(chave));
+    }
+
+    @Test
+    void testEvictDeOutroNoDescartaGravacaoPendente() throws Exception {
+        String chave = CacheService.chavePagina(1, PageRequest.of(0, 10));
+        ValorLento bloqueio = new ValorLento();
+        noA.put("2:0:10:UNSORTED", bloqueio);
+        assertTrue(bloqueio.serializando.await(5, TimeUnit.SECONDS));
+
+        // Carga do nó A com o valor lido antes do commit do nó B, ainda na fila quando B invalida
+        noA.get(chave, () -> pagina(1));
+        noB.evictarPorPrefixo("1:");
+        bloqueio.liberar.countDown();
+        aguardarL2(1);
+        Thread.sleep(100);
+
+        assertEquals(0, contarChaveL2(chave), "a invalidação do outro nó deve vencer a gravação pendente");
+        assertNull(noA.get(chave));
+    }
+
+    private CacheDoisNiveis no(String origem, BarramentoInvalidacaoCache barramento) {
+        // Cada nó com a sua instância (e fila de gravação) sobre a mesma tabela
+        ArmazenamentoCacheL2Jdbc l2 = new ArmazenamentoCacheL2Jdbc(jdbcTemplate, DataSize.ofMegabytes(1), 1, 10,
+                Duration.ofSeconds(30));
+        armazenamentos.add(l2);
+        CacheDoisNiveis cache = new CacheDoisNiveis("humor", Caffeine.newBuilder().maximumSize(100).build(), true,
+                l2, Duration.ofMinutes(30), barramento, origem);
+        nos.add(cache);
+        return cache;
+    }
+
+    private static PageImpl<HumorDTO> pagina(int versao) {
+        HumorDTO humor = HumorDTO.builder().idHumor(versao).idUsuario(1).dataRegistro(LocalDate.of(2026, 10, 17))
+                .nivelHumor(4).nivelEnergia(3).build();
+        return new PageImpl<>(List.of(humor), PageRequest.of(0, 10), 1);
+    }
+
+    private int contarL2() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM t_mt_cache_l2", Integer.class);
+    }
+
+    private int contarChaveL2(String chave) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM t_mt_cache_l2 WHERE chave = ?", Integer.class, chave);
+    }
+
+    private void aguardarL2(int esperadas) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5000;
+        while (contarL2() < esperadas && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Valor cuja serialização (na thread de gravação do L2) espera o teste liberar
+     */
+    private static class ValorLento implements Serializable {
+        private final transient CountDownLatch serializando = new CountDownLatch(1);
+        private final transient CountDownLatch liberar = new CountDownLatch(1);
+
+        private void writeObject(ObjectOutputStream saida) throws IOException {
+            serializando.countDown();
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            saida.defaultWriteObject();
+        }
+    }
+}
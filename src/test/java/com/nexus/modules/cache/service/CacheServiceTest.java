@@ -0,0 +1,110 @@
+package com.nexus.modules.cache.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nexus.messaging.events.InvalidacaoCacheEvent;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheServiceTest {
+
+    private CaffeineCacheManager cacheManager;
+    private CacheService cacheService;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CaffeineCacheManager("humor", "humor-id");
+        cacheService = new CacheService(cacheManager);
+    }
+
+    @Test
+    void testChaveIncluiOrdenacao() {
+        String semOrdem = CacheService.chavePagina(1, PageRequest.of(0, 10));
+        String porData = CacheService.chavePagina(1, PageRequest.of(0, 10, Sort.by("dataRegistro").descending()));
+
+        assertNotEquals(semOrdem, porData);
+        assertNotEquals(CacheService.chavePagina(1, PageRequest.of(1, 10)), CacheService.chavePagina(11, PageRequest.of(0, 10)));
+        assertTrue(porData.startsWith("1:"));
+    }
+
+    @Test
+    void testEvictarPorUsuarioMantemPaginasDosDemais() {
+        Cache cache = cacheManager.getCache("humor");
+        cache.put(CacheService.chavePagina(1, PageRequest.of(0, 10)), "pagina 0 do usuário 1");
+        cache.put(CacheService.chavePagina(1, PageRequest.of(1, 10, Sort.by("dataRegistro"))), "pagina 1 do usuário 1");
+        cache.put(CacheService.chavePagina(11, PageRequest.of(0, 10)), "pagina 0 do usuário 11");
+
+        cacheService.evictarPorUsuario("humor", 1);
+
+        assertNull(cache.get(CacheService.chavePagina(1, PageRequest.of(0, 10))));
+        assertNull(cache.get(CacheService.chavePagina(1, PageRequest.of(1, 10, Sort.by("dataRegistro")))));
+        assertNotNull(cache.get(CacheService.chavePagina(11, PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void testInspecaoEInvalidacaoPorChave() {
+        Cache cache = cacheManager.getCache("humor");
+        String chave = CacheService.chavePagina(1, PageRequest.of(0, 10));
+        cache.put(chave, "pagina 0 do usuário 1");
+        cache.put(CacheService.chavePagina(2, PageRequest.of(0, 10)), "pagina 0 do usuário 2");
+
+        assertEquals(1, cacheService.listarEntradas("humor", "1:", 100).size());
+        assertEquals(2, cacheService.listarEntradas("humor", null, 100).size());
+        assertEquals("String", cacheService.inspecionar("humor", chave).orElseThrow().getTipoValor());
+        assertTrue(cacheService.inspecionar("humor", chave).orElseThrow().getPesoBytes() > 0);
+
+        assertTrue(cacheService.evictarChave("humor", chave));
+        assertFalse(cacheService.evictarChave("humor", chave));
+        assertTrue(cacheService.inspecionar("humor", chave).isEmpty());
+        assertThrows(RuntimeException.class, () -> cacheService.listarEntradas("inexistente", null, 10));
+    }
+
+    @Test
+    void testInvalidacaoPorChaveEmDoisNiveisValeMesmoSemCopiaLocal() {
+        List<InvalidacaoCacheEvent> publicadas = new ArrayList<>();
+        SimpleCacheManager doisNiveis = new SimpleCacheManager();
+        doisNiveis.setCaches(List.of(new CacheDoisNiveis("humor", Caffeine.newBuilder().build(), true,
+                null, null, publicadas::add, "a")));
+        doisNiveis.initializeCaches();
+        CacheService servico = new CacheService(doisNiveis);
+
+        // A chave pode estar em outros nós ou no L2: a invalidação é feita e publicada
+        assertTrue(servico.evictarChave("humor", "1:0:10:UNSORTED"));
+        assertEquals(1, publicadas.size());
+        assertEquals("1:0:10:UNSORTED", publicadas.get(0).getChave());
+    }
+
+    @Test
+    void testCachePorIdSoMudaDepoisDoCommit() {
+        Cache cache = cacheManager.getCache("humor-id");
+        cache.put(7, "versão anterior");
+        cache.put(8, "excluído");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cacheService.atualizarPorId("humor-id", 7, "versão nova");
+            cacheService.evictarPorId("humor-id", 8);
+
+            assertEquals("versão anterior", cache.get(7).get(), "antes do commit a leitura ainda vê a versão gravada");
+            assertNotNull(cache.get(8));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals("versão nova", cache.get(7).get());
+        assertNull(cache.get(8));
+    }
+}
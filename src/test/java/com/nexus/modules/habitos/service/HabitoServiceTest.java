@@ -1,10 +1,16 @@
 package com.nexus.modules.habitos.service;
 
+import com.nexus.application.dto.BadgeDTO;
 import com.nexus.application.dto.HabitoDTO;
+import com.nexus.application.dto.ProximoBadgeDTO;
 import com.nexus.domain.model.Habito;
 import com.nexus.domain.model.Usuario;
+import com.nexus.domain.model.UsuarioBadge;
+import com.nexus.domain.model.UsuarioBadgeId;
 import com.nexus.infrastructure.repository.HabitoRepository;
 import com.nexus.infrastructure.repository.UsuarioRepository;
+import com.nexus.modules.badges.service.BadgeService;
+import com.nexus.modules.badges.service.CatalogoBadges;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -39,6 +45,15 @@ class HabitoServiceTest {
     @Mock
     private com.nexus.application.mapper.HabitMapper habitMapper;
 
+    @Mock
+    private com.nexus.modules.cache.service.CacheService cacheService;
+
+    @Mock
+    private com.nexus.infrastructure.repository.UsuarioBadgeRepository usuarioBadgeRepository;
+
+    @Mock
+    private BadgeService badgeService;
+
     @InjectMocks
     private HabitoService habitoService;
 
@@ -74,7 +89,7 @@ class HabitoServiceTest {
     void testCriarHabito() {
         when(usuarioRepository.findById(anyInt())).thenReturn(Optional.of(usuario));
         when(habitMapper.toEntity(any(HabitoDTO.class))).thenReturn(habito);
-        when(badgeRepository.findByPontosRequeridosLessThanEqualOrderByPontosRequeridosAsc(anyInt())).thenReturn(List.of());
+        when(badgeService.catalogo()).thenReturn(CatalogoBadges.de(List.of()));
         when(habitoRepository.save(any(Habito.class))).thenReturn(habito);
         when(habitMapper.toDTO(any(Habito.class))).thenReturn(habitoDTO);
 
@@ -84,6 +99,7 @@ class HabitoServiceTest {
         assertEquals(habitoDTO.getTipoHabito(), result.getTipoHabito());
         assertEquals(habitoDTO.getPontuacao(), result.getPontuacao());
         verify(habitoRepository, times(1)).save(any(Habito.class));
+        verify(cacheService).evictarPorUsuario("habitos", 1);
     }
 
     @Test
@@ -121,7 +137,7 @@ class HabitoServiceTest {
         habito.setPontuacao(15);
 
         when(habitoRepository.findById(anyInt())).thenReturn(Optional.of(habito));
-        when(badgeRepository.findByPontosRequeridosLessThanEqualOrderByPontosRequeridosAsc(anyInt())).thenReturn(List.of());
+        when(badgeService.catalogo()).thenReturn(CatalogoBadges.de(List.of()));
         when(habitoRepository.save(any(Habito.class))).thenReturn(habito);
         when(habitMapper.toDTO(any(Habito.class))).thenReturn(habitoDTO);
 
@@ -136,9 +152,48 @@ class HabitoServiceTest {
     void testDeletarHabito() {
         when(habitoRepository.findById(anyInt())).thenReturn(Optional.of(habito));
         doNothing().when(habitoRepository).deleteById(anyInt());
+        when(badgeService.catalogo()).thenReturn(CatalogoBadges.de(List.of()));
 
         assertDoesNotThrow(() -> habitoService.deletar(1));
         verify(habitoRepository, times(1)).deleteById(anyInt());
     }
-}
 
+    @Test
+    void testAtribuiSoBadgesElegiveisAindaNaoConquistados() {
+        CatalogoBadges catalogo = CatalogoBadges.de(List.of(badge(1, 10), badge(2, 50), badge(3, 100)));
+        when(habitoRepository.findById(anyInt())).thenReturn(Optional.of(habito));
+        when(habitoRepository.save(any(Habito.class))).thenReturn(habito);
+        when(habitoRepository.calcularPontuacaoTotal(1)).thenReturn(60);
+        when(badgeService.catalogo()).thenReturn(catalogo);
+        when(usuarioBadgeRepository.findById_Usuario(1)).thenReturn(List.of(
+                UsuarioBadge.builder().id(new UsuarioBadgeId(1, 1)).build()));
+
+        habitoService.atualizar(1, habitoDTO);
+
+        // Badge 1 já conquistado, badge 3 exige 100 pontos: só o 2 é atribuído, sem consultar badges no banco
+        verify(usuarioBadgeRepository, times(1)).save(argThat(ub -> ub.getId().getBadge() == 2));
+        verify(badgeRepository, never()).findByPontosRequeridosLessThanEqualOrderByPontosRequeridosAsc(anyInt());
+    }
+
+    @Test
+    void testProximoBadge() {
+        when(badgeService.catalogo()).thenReturn(CatalogoBadges.de(List.of(badge(1, 10), badge(2, 50), badge(3, 50))));
+        when(habitoRepository.calcularPontuacaoTotal(1)).thenReturn(30);
+
+        ProximoBadgeDTO proximo = habitoService.obterProximoBadge(1);
+
+        assertEquals(50, proximo.getPontosRequeridos());
+        assertEquals(20, proximo.getPontosRestantes());
+        assertEquals(2, proximo.getBadges().size());
+
+        when(habitoRepository.calcularPontuacaoTotal(1)).thenReturn(80);
+        ProximoBadgeDTO todos = habitoService.obterProximoBadge(1);
+        assertNull(todos.getPontosRequeridos());
+        assertEquals(0, todos.getPontosRestantes());
+        assertTrue(todos.getBadges().isEmpty());
+    }
+
+    private static BadgeDTO badge(int id, int pontos) {
+        return BadgeDTO.builder().idBadge(id).nomeBadge("Badge " + id).pontosRequeridos(pontos).build();
+    }
+}
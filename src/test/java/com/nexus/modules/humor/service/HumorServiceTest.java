@@ -35,6 +35,9 @@ class HumorServiceTest {
     @Mock
     private com.nexus.application.mapper.MoodEntryMapper moodEntryMapper;
 
+    @Mock
+    private com.nexus.modules.cache.service.CacheService cacheService;
+
     @InjectMocks
     private HumorService humorService;
 
@@ -76,6 +79,7 @@ class HumorServiceTest {
 
         assertNotNull(result);
         verify(humorRepository, times(1)).save(any(Humor.class));
+        verify(cacheService).evictarPorUsuario("humor", 1);
     }
 
     @Test
@@ -0,0 +1,189 @@
+package com.nexus.modules.importacao.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexus.application.dto.ProgressoImportacaoDTO;
+import com.nexus.application.mapper.HabitMapper;
+import com.nexus.application.mapper.MoodEntryMapper;
+import com.nexus.application.mapper.SprintMapper;
+import com.nexus.domain.model.Humor;
+import com.nexus.domain.model.Sprint;
+import com.nexus.domain.model.Usuario;
+import com.nexus.infrastructure.repository.HabitoRepository;
+import com.nexus.infrastructure.repository.HumorRepository;
+import com.nexus.infrastructure.repository.SprintRepository;
+import com.nexus.infrastructure.repository.UsuarioRepository;
+import com.nexus.modules.cache.service.CacheService;
+import com.nexus.modules.habitos.service.HabitoService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidationException;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportacaoServiceTest {
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private HumorRepository humorRepository;
+
+    @Mock
+    private HabitoRepository habitoRepository;
+
+    @Mock
+    private SprintRepository sprintRepository;
+
+    @Mock
+    private HabitoService habitoService;
+
+    @Mock
+    private CacheService cacheService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ImportacaoService importacaoService;
+
+    @BeforeEach
+    void setUp() {
+        importacaoService = new ImportacaoService(new ObjectMapper().findAndRegisterModules(),
+                Validation.buildDefaultValidatorFactory().getValidator(), usuarioRepository, humorRepository,
+                habitoRepository, sprintRepository, Mappers.getMapper(MoodEntryMapper.class),
+                Mappers.getMapper(HabitMapper.class), Mappers.getMapper(SprintMapper.class),
+                habitoService, cacheService, transactionManager, 2, 100);
+        ReflectionTestUtils.setField(importacaoService, "entityManager", entityManager);
+        lenient().when(usuarioRepository.getReferenceById(any())).thenAnswer(invocation ->
+                Usuario.builder().idUsuario(invocation.getArgument(0)).build());
+    }
+
+    @Test
+    void testCsvGravaEmLotesERejeitaLinhasInvalidas() {
+        when(usuarioRepository.findIdsExistentes(anyCollection())).thenReturn(Set.of(1));
+        List<List<Humor>> lotes = new ArrayList<>();
+        when(humorRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            lotes.add(new ArrayList<>(invocation.getArgument(0)));
+            return invocation.getArgument(0);
+        });
+        String csv = "idUsuario;dataRegistro;nivelHumor;nivelEnergia;comentario\n" +
+                "1;2025-01-10;4;3;\"dia bom; produtivo\"\n" +
+                "1;2025-01-11;9;3;\n" +
+                "\n" +
+                "2;2025-01-12;3;3;\n" +
+                "1;2025-01-13;2;2;\n" +
+                "1;2025-01-14;5;5;\"sem fechar\n";
+
+        ProgressoImportacaoDTO resultado = importacaoService.importar(TipoImportacao.HUMOR,
+                LeitorLinhasImportacao.Formato.CSV, corpo(csv), "imp-1");
+
+        assertEquals("CONCLUIDA", resultado.getStatus());
+        assertEquals(5, resultado.getLinhasLidas());
+        assertEquals(2, resultado.getLinhasImportadas());
+        assertEquals(3, resultado.getLinhasRejeitadas());
+        assertEquals(2, resultado.getLotesGravados());
+        assertTrue(resultado.getErros().get(0).startsWith("linha 3: nivelHumor"));
+        assertTrue(resultado.getErros().stream().anyMatch(erro -> erro.startsWith("linha 5: idUsuario")));
+        assertTrue(resultado.getErros().stream().anyMatch(erro -> erro.startsWith("linha 7: aspas")));
+
+        assertEquals("dia bom; produtivo", lotes.get(0).get(0).getComentario());
+        assertEquals(LocalDate.of(2025, 1, 13), lotes.get(1).get(0).getDataRegistro());
+        verify(cacheService, times(2)).evictarPorUsuario("humor", 1);
+        verify(entityManager, times(2)).clear();
+        assertEquals(resultado, importacaoService.progresso("imp-1").orElseThrow());
+    }
+
+    @Test
+    void testNdjsonSprintsCalculaProdutividadeERejeitaNomeRepetido() {
+        when(usuarioRepository.findIdsExistentes(anyCollection())).thenReturn(Set.of(1));
+        when(sprintRepository.findChavesExistentes(anyCollection(), anyCollection())).thenReturn(Set.of("1:S0"));
+        String ndjson = "{\"idUsuario\":1,\"nomeSprint\":\"S1\",\"dataInicio\":\"2025-02-01\",\"tarefasConcluidas\":10,\"commits\":20}\n" +
+                "{\"idUsuario\":1,\"nomeSprint\":\"S1\",\"dataInicio\":\"2025-02-15\"}\n" +
+                "{isto não é json}\n" +
+                "{\"idUsuario\":1,\"nomeSprint\":\"S0\",\"dataInicio\":\"2025-01-15\"}\n";
+
+        ProgressoImportacaoDTO resultado = importacaoService.importar(TipoImportacao.SPRINTS,
+                LeitorLinhasImportacao.Formato.NDJSON, corpo(ndjson), null);
+
+        assertNotNull(resultado.getIdImportacao());
+        assertEquals(1, resultado.getLinhasImportadas());
+        assertEquals(3, resultado.getLinhasRejeitadas());
+        assertTrue(resultado.getErros().stream().anyMatch(erro -> erro.startsWith("linha 2: nomeSprint")));
+        assertTrue(resultado.getErros().stream().anyMatch(erro -> erro.startsWith("linha 3: JSON inválido")));
+        assertTrue(resultado.getErros().stream().anyMatch(erro -> erro.startsWith("linha 4: nomeSprint")),
+                "sprint já gravada no banco é rejeitada");
+        verify(sprintRepository, never()).existsByUsuario_IdUsuarioAndNomeSprint(any(), any());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Sprint>> gravadas = ArgumentCaptor.forClass(List.class);
+        verify(sprintRepository, times(2)).saveAll(gravadas.capture());
+        assertEquals(0, new BigDecimal("14.00").compareTo(gravadas.getAllValues().get(0).get(0).getProdutividade()));
+        assertTrue(gravadas.getAllValues().get(1).isEmpty());
+    }
+
+    @Test
+    void testLoteComErroNaoContaComoImportado() {
+        when(usuarioRepository.findIdsExistentes(anyCollection())).thenReturn(Set.of(1));
+        when(humorRepository.saveAll(anyList())).thenThrow(new RuntimeException("banco indisponível"));
+        String ndjson = "{\"idUsuario\":1,\"dataRegistro\":\"2025-01-10\",\"nivelHumor\":4}\n";
+
+        ProgressoImportacaoDTO resultado = importacaoService.importar(TipoImportacao.HUMOR,
+                LeitorLinhasImportacao.Formato.NDJSON, corpo(ndjson), null);
+
+        assertEquals(0, resultado.getLinhasImportadas());
+        assertEquals(1, resultado.getLinhasRejeitadas());
+        assertEquals(0, resultado.getLotesGravados());
+        assertTrue(resultado.getErros().get(0).startsWith("Lote com linhas 1-1 não gravado"));
+        verify(cacheService, never()).evictarPorUsuario(any(), any());
+    }
+
+    @Test
+    void testErroForaDoLoteMarcaFalhouEPermiteRefazer() {
+        Validator validatorComErro = mock(Validator.class);
+        when(validatorComErro.validate(any())).thenThrow(new ValidationException("validador indisponível"));
+        ImportacaoService comErro = new ImportacaoService(new ObjectMapper().findAndRegisterModules(), validatorComErro,
+                usuarioRepository, humorRepository, habitoRepository, sprintRepository,
+                Mappers.getMapper(MoodEntryMapper.class), Mappers.getMapper(HabitMapper.class),
+                Mappers.getMapper(SprintMapper.class), habitoService, cacheService, transactionManager, 2, 100);
+        String ndjson = "{\"idUsuario\":1,\"dataRegistro\":\"2025-01-10\",\"nivelHumor\":4}\n";
+
+        ProgressoImportacaoDTO resultado = comErro.importar(TipoImportacao.HUMOR,
+                LeitorLinhasImportacao.Formato.NDJSON, corpo(ndjson), "imp-2");
+
+        assertEquals("FALHOU", resultado.getStatus());
+        assertTrue(resultado.getErros().get(0).contains("validador indisponível"));
+        assertEquals("FALHOU", comErro.progresso("imp-2").orElseThrow().getStatus());
+        // Mesmo id pode ser reenviado
+        assertDoesNotThrow(() -> comErro.importar(TipoImportacao.HUMOR,
+                LeitorLinhasImportacao.Formato.NDJSON, corpo(ndjson), "imp-2"));
+    }
+
+    private static ByteArrayInputStream corpo(String texto) {
+        return new ByteArrayInputStream(texto.getBytes(StandardCharsets.UTF_8));
+    }
+}
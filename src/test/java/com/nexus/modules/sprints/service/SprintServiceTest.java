@@ -37,6 +37,9 @@ class SprintServiceTest {
     @Mock
     private com.nexus.application.mapper.SprintMapper sprintMapper;
 
+    @Mock
+    private com.nexus.modules.cache.service.CacheService cacheService;
+
     @InjectMocks
     private SprintService sprintService;
 
@@ -83,6 +86,7 @@ class SprintServiceTest {
         assertNotNull(result);
         assertEquals(sprintDTO.getProdutividade(), result.getProdutividade());
         verify(sprintRepository, times(1)).save(any(Sprint.class));
+        verify(cacheService).evictarPorUsuario("sprints", 1);
     }
 
     @Test
@@ -36,6 +36,9 @@ class UsuarioServiceTest {
     @Mock
     private com.nexus.security.CustomUserDetailsService userDetailsService;
 
+    @Mock
+    private com.nexus.modules.cache.service.CacheService cacheService;
+
     @InjectMocks
     private UsuarioService usuarioService;
 
@@ -73,6 +76,7 @@ class UsuarioServiceTest {
         assertNotNull(result);
         assertEquals(usuarioDTO.getEmail(), result.getEmail());
         verify(usuarioRepository, times(1)).save(any(Usuario.class));
+        verify(cacheService).atualizarPorId("usuarios", usuarioDTO.getIdUsuario(), usuarioDTO);
     }
 }
 